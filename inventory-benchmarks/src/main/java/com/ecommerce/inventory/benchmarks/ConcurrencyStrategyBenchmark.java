@@ -0,0 +1,107 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import com.ecommerce.inventory.domain.service.impl.concurrency.StockConcurrencyStrategies;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and abort rate of each {@link StockConcurrencyStrategy} against embedded H2, one
+ * thread alone and eight threads contending. The contention level is set by
+ * {@link InventoryServiceState#skuCount}: with one product every thread reserves the same row,
+ * {@code -p skuCount=1,10,1000} adds a middle ground.
+ *
+ * <p>Besides the score, every benchmark reports per operation how many calls {@code reserved}
+ * stock, how many were {@code rejected} because the strategy gave up or the database aborted the
+ * transaction, and how many transactions were {@code aborted} in total, including the ones the
+ * optimistic strategy retried.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcurrencyStrategyBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class StrategyState {
+
+        @Param({"pessimistic", "read-committed-row-lock", "optimistic", "atomic-update"})
+        public String strategy;
+
+        StockConcurrencyStrategy stockConcurrencyStrategy;
+
+        @Setup(Level.Trial)
+        public void setUp(InventoryServiceState service) {
+            stockConcurrencyStrategy = service.context.getBean(StockConcurrencyStrategies.class).named(strategy);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StockLock singleThread(InventoryServiceState service, StrategyState state, Outcomes outcomes) {
+        return lockStock(service, state, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public StockLock contended(InventoryServiceState service, StrategyState state, Outcomes outcomes) {
+        return lockStock(service, state, outcomes);
+    }
+
+    private static StockLock lockStock(InventoryServiceState service, StrategyState state, Outcomes outcomes) {
+        try {
+            StockLock lock = state.stockConcurrencyStrategy.lockStock(service.randomProductCode(), 1);
+            outcomes.record(lock);
+            return lock;
+        } catch (RuntimeException e) {
+            // A conflict the strategy could not resolve, or a transaction aborted by the database
+            outcomes.rejected++;
+            outcomes.aborted++;
+            return null;
+        }
+    }
+
+    /**
+     * Per-thread outcome counters, reported by JMH next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long reserved;
+        public long rejected;
+        public long aborted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reserved = 0;
+            rejected = 0;
+            aborted = 0;
+        }
+
+        void record(StockLock lock) {
+            if (lock.isLocked()) {
+                reserved++;
+            } else {
+                rejected++;
+            }
+            aborted += lock.attempts() - 1;
+        }
+    }
+}
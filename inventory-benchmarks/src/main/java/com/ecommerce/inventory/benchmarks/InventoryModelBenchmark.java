@@ -0,0 +1,78 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the stock checks on the {@link Inventory} entity itself, on one or on many products.
+ * The entity is not thread safe, so every benchmark thread works on its own products.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryModelBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE;
+
+    @Param({"1", "1024"})
+    public int skuCount;
+
+    private Inventory[] items;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        items = new Inventory[skuCount];
+        for (int i = 0; i < skuCount; i++) {
+            items[i] = Inventory.builder()
+                    .productCode("BENCH-SKU-" + i)
+                    .productName("Benchmark Product " + i)
+                    .quantity(INITIAL_STOCK)
+                    .build();
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public boolean hasStock() {
+        return nextItem().hasStock(1);
+    }
+
+    @Benchmark
+    public int reduceStock() {
+        Inventory item = nextItem();
+        item.reduceStock(1);
+        return item.getQuantity();
+    }
+
+    @Benchmark
+    public int checkAndReduceStock() {
+        Inventory item = nextItem();
+        if (item.hasStock(1)) {
+            item.reduceStock(1);
+        }
+        return item.getQuantity();
+    }
+
+    private Inventory nextItem() {
+        Inventory item = items[next];
+        next = next + 1 == skuCount ? 0 : next + 1;
+        return item;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.InventoryServiceApplication;
+import com.ecommerce.inventory.application.service.InventoryApplicationService;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The inventory service running in-process on an embedded H2 database, shared by all benchmark
+ * threads of a fork, with {@code skuCount} products in stock.
+ *
+ * <p>With a single product every thread contends for the same row; with many products the
+ * threads mostly work on different rows. Further service properties, such as
+ * {@code inventory.reservation.mode}, can be passed as {@code -jvmArgsAppend -D...}.
+ */
+@State(Scope.Benchmark)
+public class InventoryServiceState {
+
+    static final String SKU_PREFIX = "BENCH-SKU-";
+    static final int INITIAL_STOCK = 1_000_000_000;
+
+    @Param({"1", "1000"})
+    public int skuCount;
+
+    ConfigurableApplicationContext context;
+    InventoryDomainService inventoryDomainService;
+    InventoryApplicationService inventoryApplicationService;
+    private List<String> productCodes;
+
+    @Setup(Level.Trial)
+    public void startService() {
+        context = new SpringApplicationBuilder(InventoryServiceApplication.class)
+                .profiles("benchmark")
+                .run();
+        inventoryDomainService = context.getBean(InventoryDomainService.class);
+        inventoryApplicationService = context.getBean(InventoryApplicationService.class);
+
+        productCodes = new ArrayList<>(skuCount);
+        List<Inventory> items = new ArrayList<>(skuCount);
+        for (int i = 0; i < skuCount; i++) {
+            String productCode = SKU_PREFIX + i;
+            productCodes.add(productCode);
+            items.add(Inventory.builder()
+                    .productCode(productCode)
+                    .productName("Benchmark Product " + i)
+                    .quantity(INITIAL_STOCK)
+                    .build());
+        }
+        inventoryDomainService.importInventoryItems(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopService() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    /**
+     * Picks one of the products at random.
+     */
+    String randomProductCode() {
+        return skuCount == 1
+                ? productCodes.get(0)
+                : productCodes.get(ThreadLocalRandom.current().nextInt(skuCount));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.infrastructure.timer.HierarchicalTimingWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservation expiry with {@code liveTimers} reservations held, spread evenly over a 15 minute
+ * time to live and swept every second.
+ *
+ * <ul>
+ *     <li>{@code registerAndUnlock}: cancel the expiry of one reservation and schedule a new one,
+ *     what an unlock followed by a new reservation costs the timing wheel.</li>
+ *     <li>{@code wheelTick}: advance the timing wheel by one tick, hand out the reservations that
+ *     expired and schedule as many new ones, so the number of live timers stays the same.</li>
+ *     <li>{@code indexScan}: the former sweep, which walked every live reservation of the index
+ *     every second to find the expired ones.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReservationExpiryBenchmark {
+
+    private static final long TICK_MILLIS = 1_000;
+    private static final long TTL_MILLIS = 15 * 60 * 1_000;
+
+    @Param({"1000000"})
+    public int liveTimers;
+
+    private String[] lockReferenceIds;
+    private HierarchicalTimingWheel<String> wheel;
+    private Map<String, List<Reservation>> index;
+    private long now;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        now = System.currentTimeMillis();
+        lockReferenceIds = new String[liveTimers];
+        wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, now);
+        index = new ConcurrentHashMap<>(liveTimers * 2);
+
+        for (int i = 0; i < liveTimers; i++) {
+            String lockReferenceId = UUID.randomUUID().toString();
+            long expiresAt = now + ThreadLocalRandom.current().nextLong(TTL_MILLIS);
+            lockReferenceIds[i] = lockReferenceId;
+            wheel.schedule(lockReferenceId, expiresAt);
+            index.put(lockReferenceId, List.of(Reservation.builder()
+                    .lockReferenceId(lockReferenceId)
+                    .productCode("PROD-" + (i % 1000))
+                    .quantity(1)
+                    .expiresAt(Instant.ofEpochMilli(expiresAt))
+                    .build()));
+        }
+    }
+
+    @Benchmark
+    public boolean registerAndUnlock() {
+        String lockReferenceId = lockReferenceIds[next];
+        next = (next + 1) % liveTimers;
+        boolean cancelled = wheel.cancel(lockReferenceId);
+        wheel.schedule(lockReferenceId, now + TTL_MILLIS);
+        return cancelled;
+    }
+
+    @Benchmark
+    public int wheelTick() {
+        now += TICK_MILLIS;
+        List<String> expired = wheel.expire(now, Integer.MAX_VALUE);
+        for (String lockReferenceId : expired) {
+            wheel.schedule(lockReferenceId, now + TTL_MILLIS);
+        }
+        return expired.size();
+    }
+
+    @Benchmark
+    public boolean indexScan() {
+        Instant sweptAt = Instant.ofEpochMilli(now);
+        return index.values().removeIf(reservations -> reservations.get(0).isExpired(sweptAt));
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
+import com.ecommerce.inventory.domain.model.Inventory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the stock reservation path against embedded H2, one thread alone and eight
+ * threads contending, on one or many products (see {@link InventoryServiceState#skuCount}).
+ *
+ * <ul>
+ *   <li>{@code domain*}: {@code InventoryDomainService.validateAndLockStock}, the row-lock
+ *       transaction only.</li>
+ *   <li>{@code application*}: {@code InventoryApplicationService.validateStock} end to end,
+ *       including the product lookup and the reservation record.</li>
+ * </ul>
+ *
+ * <p>Besides the score, every benchmark reports how many operations {@code reserved} stock and how
+ * many were {@code rejected}, for example because the embedded database aborted a contended
+ * transaction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReservationPathBenchmark {
+
+    private static final String LOCK_REFERENCE_ID = "jmh-benchmark";
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Inventory> domainSingleThread(InventoryServiceState service, Outcomes outcomes) {
+        return validateAndLockStock(service, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<Inventory> domainContended(InventoryServiceState service, Outcomes outcomes) {
+        return validateAndLockStock(service, outcomes);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StockValidationResponse applicationSingleThread(InventoryServiceState service, Outcomes outcomes) {
+        return validateStock(service, outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public StockValidationResponse applicationContended(InventoryServiceState service, Outcomes outcomes) {
+        return validateStock(service, outcomes);
+    }
+
+    private static Optional<Inventory> validateAndLockStock(InventoryServiceState service, Outcomes outcomes) {
+        try {
+            Optional<Inventory> result = service.inventoryDomainService
+                    .validateAndLockStock(service.randomProductCode(), 1, LOCK_REFERENCE_ID);
+            outcomes.record(result.isPresent());
+            return result;
+        } catch (RuntimeException e) {
+            // A transaction aborted by the database surfaces as an exception on commit
+            outcomes.record(false);
+            return Optional.empty();
+        }
+    }
+
+    private static StockValidationResponse validateStock(InventoryServiceState service, Outcomes outcomes) {
+        StockValidationResponse response = service.inventoryApplicationService.validateStock(
+                StockValidationRequest.builder()
+                        .productCode(service.randomProductCode())
+                        .quantity(1)
+                        .build());
+        outcomes.record(response.locked());
+        return response;
+    }
+
+    /**
+     * Per-thread outcome counters, reported by JMH next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long reserved;
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            reserved = 0;
+            rejected = 0;
+        }
+
+        void record(boolean locked) {
+            if (locked) {
+                reserved++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.infrastructure.journal.StockJournal;
+import com.ecommerce.inventory.infrastructure.journal.StockMovement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The write-ahead stock journal of the in-memory engine.
+ *
+ * <ul>
+ *     <li>{@code append}: append a reservation to the mapped segment without waiting for the disk.</li>
+ *     <li>{@code appendDurable}: append a reservation and wait for the group commit that forces it
+ *     to disk, from 8 threads, so concurrent reservations share an fsync.</li>
+ *     <li>{@code recover}: open a journal of {@code records} movements after a restart and sum
+ *     them per product, what startup replays before the deltas are applied to the table.</li>
+ * </ul>
+ *
+ * <p>The journal is written to a temporary directory, set {@code -Djava.io.tmpdir} to measure
+ * another disk. Flushed segments are deleted after every iteration of the append benchmarks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockJournalBenchmark {
+
+    private static final int SEGMENT_BYTES = 16 * 1024 * 1024;
+    private static final int PRODUCTS = 1000;
+
+    @State(Scope.Benchmark)
+    public static class AppendState {
+
+        Path directory;
+        StockJournal journal;
+        String[] productCodes;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("stock-journal-append");
+            journal = new StockJournal(directory, SEGMENT_BYTES);
+            productCodes = productCodes();
+        }
+
+        @TearDown(Level.Iteration)
+        public void deleteFlushedSegments() {
+            journal.awaitDurable(journal.appendedPosition(), 60_000);
+            journal.deleteSegmentsBefore(journal.appendedPosition());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            journal.close();
+            deleteDirectory(directory);
+        }
+
+        String nextProductCode() {
+            return productCodes[ThreadLocalRandom.current().nextInt(PRODUCTS)];
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+
+        @Param({"1000000"})
+        public int records;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("stock-journal-recovery");
+            String[] productCodes = productCodes();
+            try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+                for (int i = 0; i < records; i++) {
+                    journal.append(i % 3 == 0 ? StockMovement.RELEASE : StockMovement.RESERVE,
+                            productCodes[i % PRODUCTS], 1 + i % 5);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Benchmark
+    public long append(AppendState state) {
+        return state.journal.append(StockMovement.RESERVE, state.nextProductCode(), 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean appendDurable(AppendState state) {
+        long position = state.journal.append(StockMovement.RESERVE, state.nextProductCode(), 1);
+        return state.journal.awaitDurable(position, 60_000);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Map<String, Integer> recover(RecoveryState state) throws IOException {
+        Map<String, Integer> deltas = new HashMap<>();
+        try (StockJournal journal = new StockJournal(state.directory, SEGMENT_BYTES)) {
+            journal.read(journal.firstPosition(), journal.appendedPosition(), (movement, productCode, quantity) ->
+                    deltas.merge(productCode, movement.delta(quantity), Integer::sum));
+        }
+        return deltas;
+    }
+
+    private static String[] productCodes() {
+        String[] productCodes = new String[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            productCodes[i] = String.format("PROD-%04d", i);
+        }
+        return productCodes;
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
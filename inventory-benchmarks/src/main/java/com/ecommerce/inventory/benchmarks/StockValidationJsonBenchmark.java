@@ -0,0 +1,103 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON round trip of the stock validation DTOs, as done by the controller for every request.
+ * The mapper is built with the same defaults Spring MVC applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StockValidationJsonBenchmark {
+
+    private ObjectWriter requestWriter;
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private ObjectReader responseReader;
+    private StockValidationRequest request;
+    private StockValidationResponse response;
+    private byte[] requestJson;
+    private byte[] responseJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestWriter = objectMapper.writerFor(StockValidationRequest.class);
+        requestReader = objectMapper.readerFor(StockValidationRequest.class);
+        responseWriter = objectMapper.writerFor(StockValidationResponse.class);
+        responseReader = objectMapper.readerFor(StockValidationResponse.class);
+
+        request = StockValidationRequest.builder()
+                .productCode("PROD-001")
+                .quantity(2)
+                .build();
+        response = StockValidationResponse.builder()
+                .productCode("PROD-001")
+                .inStock(true)
+                .locked(true)
+                .lockReferenceId("5f0c6d1e-8a4b-4a51-9a36-0d1c2b3e4f50")
+                .requestedQuantity(2)
+                .availableQuantity(98)
+                .build();
+        requestJson = requestWriter.writeValueAsBytes(request);
+        responseJson = responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeRequest() throws JsonProcessingException {
+        return requestWriter.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public StockValidationRequest readRequest() throws Exception {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public StockValidationResponse readResponse() throws Exception {
+        return responseReader.readValue(responseJson);
+    }
+
+    /**
+     * Request in and response out, the serialization work of one stock validation.
+     */
+    @Benchmark
+    public byte[] roundTrip() throws Exception {
+        StockValidationRequest received = requestReader.readValue(requestJson);
+        return responseWriter.writeValueAsBytes(StockValidationResponse.builder()
+                .productCode(received.productCode())
+                .inStock(true)
+                .locked(true)
+                .lockReferenceId(response.lockReferenceId())
+                .requestedQuantity(received.quantity())
+                .availableQuantity(response.availableQuantity())
+                .build());
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.inventory.benchmarks;
+
+import com.ecommerce.inventory.application.service.InventoryApplicationService;
+import com.ecommerce.inventory.domain.service.impl.InventoryDomainServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging overhead per {@code validateStock} call, measured on the calling thread: the correlation
+ * id in the MDC and the two INFO statements of a successful row-lock reservation, logged through the
+ * loggers of the classes that emit them.
+ *
+ * <p>{@code asyncGarbageFree} uses the logging setup of the service, asynchronous loggers with
+ * JsonTemplateLayout and no location capture. {@code synchronousWithLocation} is the former setup,
+ * synchronous loggers with JsonLayout and location capture. Both write to {@code /dev/null} unless
+ * {@code -Dbenchmark.log.file} names a file; the {@code gc.alloc.rate.norm} of the GC profiler
+ * shows the garbage each call leaves behind.
+ *
+ * <p>The benchmark logs back to back, so the asynchronous score is bounded by how fast the
+ * background thread drains the ring buffer; with the gaps of real requests between calls the
+ * calling thread only pays for the enqueue.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Thread)
+public class ValidateStockLoggingBenchmark {
+
+    private static final Logger applicationLog = LoggerFactory.getLogger(InventoryApplicationService.class);
+    private static final Logger domainLog = LoggerFactory.getLogger(InventoryDomainServiceImpl.class);
+
+    private final String productCode = "PROD-001";
+    private final String correlationId = "7d1f5a3e-corr";
+    private final String lockReferenceId = "1b4e28ba-2fa1-11d2-883f-0016d3cca427";
+    private final int quantity = 1;
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        org.apache.logging.log4j.LogManager.shutdown();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-benchmark-async.xml")
+    public void asyncGarbageFree() {
+        logValidateStock();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {
+            "-Dlog4j.configurationFile=log4j2-benchmark-sync.xml",
+            "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector",
+            "-Dlog4j2.enableThreadlocals=false",
+            "-Dlog4j2.enableDirectEncoders=false",
+            "-Dlog4j2.garbagefreeThreadContextMap=false"})
+    public void synchronousWithLocation() {
+        logValidateStock();
+    }
+
+    private void logValidateStock() {
+        MDC.put("correlationId", correlationId);
+        try {
+            applicationLog.info("Validating and locking stock for product: {} with quantity: {}",
+                    productCode, quantity);
+            domainLog.info("Locking stock for product {}: quantity={}, reference={}",
+                    productCode, quantity, lockReferenceId);
+        } finally {
+            MDC.remove("correlationId");
+        }
+    }
+}
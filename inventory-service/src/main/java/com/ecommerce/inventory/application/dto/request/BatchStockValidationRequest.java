@@ -0,0 +1,68 @@
+package com.ecommerce.inventory.application.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Record representing a stock validation request for several lines of a cart.
+ * Lines for the same product code are merged before the stock is reserved, and the merged
+ * quantity of a product must fit an {@code int}. The batch is locked as a whole, so its lines
+ * cannot carry idempotency keys of their own.
+ */
+public record BatchStockValidationRequest(
+        @NotEmpty(message = "At least one item is required")
+        @Size(max = 100, message = "At most 100 items can be validated in one batch")
+        List<@Valid StockValidationRequest> items
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    @JsonIgnore
+    @AssertTrue(message = "Idempotency keys are not supported on the lines of a batch")
+    public boolean isWithoutIdempotencyKeys() {
+        return items == null || items.stream()
+                .allMatch(item -> item == null || item.idempotencyKey() == null);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "The total quantity of a product must be at most " + Integer.MAX_VALUE)
+    public boolean isMergedQuantityInRange() {
+        return items == null || items.stream()
+                .filter(item -> item != null && item.productCode() != null)
+                .collect(Collectors.groupingBy(StockValidationRequest::productCode,
+                        Collectors.summingLong(StockValidationRequest::quantity)))
+                .values().stream()
+                .allMatch(quantity -> quantity <= Integer.MAX_VALUE);
+    }
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<StockValidationRequest> items = new ArrayList<>();
+
+        public Builder item(StockValidationRequest item) {
+            this.items.add(item);
+            return this;
+        }
+
+        public Builder items(List<StockValidationRequest> items) {
+            this.items.addAll(items);
+            return this;
+        }
+
+        public BatchStockValidationRequest build() {
+            return new BatchStockValidationRequest(List.copyOf(items));
+        }
+    }
+}
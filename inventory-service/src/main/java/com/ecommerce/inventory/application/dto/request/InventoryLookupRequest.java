@@ -0,0 +1,43 @@
+package com.ecommerce.inventory.application.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record representing a lookup of several inventory items at once.
+ * The maximum number of product codes is configured with {@code inventory.lookup.max-batch-size}.
+ */
+public record InventoryLookupRequest(
+        @NotEmpty(message = "At least one product code is required")
+        List<@NotBlank(message = "Product code is required") String> productCodes
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final List<String> productCodes = new ArrayList<>();
+
+        public Builder productCode(String productCode) {
+            this.productCodes.add(productCode);
+            return this;
+        }
+
+        public Builder productCodes(List<String> productCodes) {
+            this.productCodes.addAll(productCodes);
+            return this;
+        }
+
+        public InventoryLookupRequest build() {
+            return new InventoryLookupRequest(List.copyOf(productCodes));
+        }
+    }
+}
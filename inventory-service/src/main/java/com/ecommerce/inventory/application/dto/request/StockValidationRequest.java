@@ -2,16 +2,21 @@ package com.ecommerce.inventory.application.dto.request;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * Record representing a stock validation request.
+ * Requests that carry the same idempotency key are applied once; repeats get the original response.
  */
 public record StockValidationRequest(
         @NotBlank(message = "Product code is required")
         String productCode,
 
         @Min(value = 1, message = "Quantity must be at least 1")
-        int quantity
+        int quantity,
+
+        @Size(max = 128, message = "Idempotency key must be at most 128 characters")
+        String idempotencyKey
 ) {
     // Records already provide equals, hashCode, toString, and constructor
 
@@ -25,6 +30,7 @@ public record StockValidationRequest(
     public static class Builder {
         private String productCode;
         private int quantity;
+        private String idempotencyKey;
 
         public Builder productCode(String productCode) {
             this.productCode = productCode;
@@ -36,8 +42,13 @@ public record StockValidationRequest(
             return this;
         }
 
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
         public StockValidationRequest build() {
-            return new StockValidationRequest(productCode, quantity);
+            return new StockValidationRequest(productCode, quantity, idempotencyKey);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.ecommerce.inventory.application.dto.respose;
+
+import java.util.List;
+
+/**
+ * Record representing a batch stock validation response.
+ * The batch is reserved all-or-nothing, a single lock reference covers every line.
+ */
+public record BatchStockValidationResponse(
+        boolean inStock,
+        boolean locked,
+        String lockReferenceId,
+        List<StockValidationResponse> items,
+        String errorMessage
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private boolean inStock;
+        private boolean locked;
+        private String lockReferenceId;
+        private List<StockValidationResponse> items = List.of();
+        private String errorMessage;
+
+        public Builder inStock(boolean inStock) {
+            this.inStock = inStock;
+            return this;
+        }
+
+        public Builder locked(boolean locked) {
+            this.locked = locked;
+            return this;
+        }
+
+        public Builder lockReferenceId(String lockReferenceId) {
+            this.lockReferenceId = lockReferenceId;
+            return this;
+        }
+
+        public Builder items(List<StockValidationResponse> items) {
+            this.items = items;
+            return this;
+        }
+
+        public Builder errorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public BatchStockValidationResponse build() {
+            return new BatchStockValidationResponse(inStock, locked, lockReferenceId, items, errorMessage);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.inventory.application.dto.respose;
+
+import java.util.List;
+
+/**
+ * Record representing the outcome of a bulk inventory import.
+ * At most a configured number of row errors is reported, further errors are only counted.
+ */
+public record InventoryImportResponse(
+        long rowsRead,
+        long rowsImported,
+        long rowsFailed,
+        long batches,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * A row that could not be imported, identified by its line number in the uploaded file.
+     */
+    public record RowError(long line, String productCode, String message) {
+    }
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsFailed;
+        private long batches;
+        private long elapsedMillis;
+        private double rowsPerSecond;
+        private List<RowError> errors = List.of();
+        private boolean errorsTruncated;
+
+        public Builder rowsRead(long rowsRead) {
+            this.rowsRead = rowsRead;
+            return this;
+        }
+
+        public Builder rowsImported(long rowsImported) {
+            this.rowsImported = rowsImported;
+            return this;
+        }
+
+        public Builder rowsFailed(long rowsFailed) {
+            this.rowsFailed = rowsFailed;
+            return this;
+        }
+
+        public Builder batches(long batches) {
+            this.batches = batches;
+            return this;
+        }
+
+        public Builder elapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+            return this;
+        }
+
+        public Builder rowsPerSecond(double rowsPerSecond) {
+            this.rowsPerSecond = rowsPerSecond;
+            return this;
+        }
+
+        public Builder errors(List<RowError> errors) {
+            this.errors = errors;
+            return this;
+        }
+
+        public Builder errorsTruncated(boolean errorsTruncated) {
+            this.errorsTruncated = errorsTruncated;
+            return this;
+        }
+
+        public InventoryImportResponse build() {
+            return new InventoryImportResponse(rowsRead, rowsImported, rowsFailed, batches,
+                    elapsedMillis, rowsPerSecond, errors, errorsTruncated);
+        }
+    }
+}
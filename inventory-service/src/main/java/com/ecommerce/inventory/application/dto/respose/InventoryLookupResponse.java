@@ -0,0 +1,49 @@
+package com.ecommerce.inventory.application.dto.respose;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record representing the result of a lookup of several inventory items.
+ * Every requested product code is a key of {@code items}; codes that do not exist have the
+ * status {@code NOT_FOUND} and are listed in {@code missingProductCodes} as well.
+ */
+public record InventoryLookupResponse(
+        Map<String, InventoryItemResponse> items,
+        List<String> missingProductCodes,
+        String errorMessage
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Map<String, InventoryItemResponse> items = Map.of();
+        private List<String> missingProductCodes = List.of();
+        private String errorMessage;
+
+        public Builder items(Map<String, InventoryItemResponse> items) {
+            this.items = items;
+            return this;
+        }
+
+        public Builder missingProductCodes(List<String> missingProductCodes) {
+            this.missingProductCodes = missingProductCodes;
+            return this;
+        }
+
+        public Builder errorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public InventoryLookupResponse build() {
+            return new InventoryLookupResponse(items, missingProductCodes, errorMessage);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.inventory.application.dto.respose;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Record representing the products without available stock at a point in time.
+ * Callers keep it as a local snapshot to reject sold out products without a validation call.
+ * The version is also sent as the ETag, so a caller whose snapshot is still current gets a 304 without a body.
+ */
+public record SoldOutProductsResponse(
+        Instant asOf,
+        List<String> productCodes,
+        String version,
+        String errorMessage
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Instant asOf;
+        private List<String> productCodes = List.of();
+        private String version;
+        private String errorMessage;
+
+        public Builder asOf(Instant asOf) {
+            this.asOf = asOf;
+            return this;
+        }
+
+        public Builder productCodes(List<String> productCodes) {
+            this.productCodes = productCodes;
+            return this;
+        }
+
+        public Builder version(String version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder errorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public SoldOutProductsResponse build() {
+            return new SoldOutProductsResponse(asOf, productCodes, version, errorMessage);
+        }
+    }
+}
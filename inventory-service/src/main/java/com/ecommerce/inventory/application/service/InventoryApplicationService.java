@@ -1,42 +1,72 @@
 package com.ecommerce.inventory.application.service;
 
+import com.ecommerce.inventory.application.dto.request.BatchStockValidationRequest;
 import com.ecommerce.inventory.application.dto.request.InventoryItemRequest;
+import com.ecommerce.inventory.application.dto.request.InventoryLookupRequest;
 import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.BatchStockValidationResponse;
 import com.ecommerce.inventory.application.dto.respose.InventoryItemResponse;
+import com.ecommerce.inventory.application.dto.respose.InventoryLookupResponse;
+import com.ecommerce.inventory.application.dto.respose.SoldOutProductsResponse;
 import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
 import com.ecommerce.inventory.domain.exception.InventoryNotFoundException;
 import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.model.StockReservation;
 import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationDomainService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Isolation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryApplicationService {
 
+    private static final String CONDITIONAL_UPDATE_MODE = "conditional-update";
+    private static final String NOT_FOUND_STATUS = "NOT_FOUND";
+
     private final InventoryDomainService inventoryDomainService;
+    private final ReservationDomainService reservationDomainService;
+    private final Optional<ReservationCoalescer> reservationCoalescer;
+    private final ReservationIdempotencyCache reservationIdempotencyCache;
+
+    @Value("${inventory.reservation.mode:row-lock}")
+    private String reservationMode;
 
-    // Thread-safe concurrent map for lock registry, replace this with distributed storage for resiliency
-    private final Map<String, StockLockInfo> lockRegistry = new ConcurrentHashMap<>();
+    @Value("${inventory.lookup.max-batch-size:200}")
+    private int maxLookupBatchSize;
 
     public InventoryItemResponse addOrUpdateInventory(InventoryItemRequest request) {
         Inventory savedItem = Optional.ofNullable(request.productCode())
                 .flatMap(inventoryDomainService::getInventoryItemByProductCode)
                 .map(existingItem -> {
-                    // Update existing item
-                    existingItem.setProductName(request.productName());
-                    existingItem.setQuantity(request.quantity());
-                    existingItem.setDescription(request.description());
-                    return inventoryDomainService.addInventoryItem(existingItem);
+                    // Update existing item, the looked up instance may be shared through the cache
+                    Inventory updatedItem = Inventory.builder()
+                            .id(existingItem.getId())
+                            .productCode(existingItem.getProductCode())
+                            .productName(request.productName())
+                            .quantity(request.quantity())
+                            .description(request.description())
+                            .version(existingItem.getVersion())
+                            .build();
+                    return inventoryDomainService.addInventoryItem(updatedItem);
                 })
                 .orElseGet(() -> {
                     // Create new inventory item
@@ -72,19 +102,84 @@ public class InventoryApplicationService {
                 .orElseThrow(() -> new IllegalArgumentException("Product code cannot be null"));
     }
 
+    /**
+     * Looks up several products at once.
+     * Every distinct requested product code is a key of the result, in request order; codes that do not
+     * exist are flagged with the {@code NOT_FOUND} status. Requests above {@code inventory.lookup.max-batch-size}
+     * distinct codes are rejected with an error message.
+     */
+    public InventoryLookupResponse getInventoryByProductCodes(InventoryLookupRequest request) {
+        Set<String> productCodes = new LinkedHashSet<>(request.productCodes());
+        if (productCodes.size() > maxLookupBatchSize) {
+            return InventoryLookupResponse.builder()
+                    .errorMessage("At most " + maxLookupBatchSize + " product codes can be looked up at once")
+                    .build();
+        }
+
+        Map<String, Inventory> found = inventoryDomainService.getInventoryItemsByProductCodes(productCodes);
+        Map<String, InventoryItemResponse> items = new LinkedHashMap<>();
+        productCodes.forEach(productCode -> items.put(productCode, Optional.ofNullable(found.get(productCode))
+                .map(this::mapToResponse)
+                .orElseGet(() -> InventoryItemResponse.builder()
+                        .productCode(productCode)
+                        .quantity(0)
+                        .status(NOT_FOUND_STATUS)
+                        .build())));
+
+        return InventoryLookupResponse.builder()
+                .items(items)
+                .missingProductCodes(productCodes.stream()
+                        .filter(productCode -> !found.containsKey(productCode))
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Returns the products without available stock.
+     * The time is taken before the products are read, so the snapshot is never reported as newer than it is.
+     * The version is a digest of the product codes, equal for every snapshot with the same products.
+     */
+    public SoldOutProductsResponse getSoldOutProducts() {
+        Instant asOf = Instant.now();
+        List<String> productCodes = inventoryDomainService.getSoldOutProductCodes();
+        return SoldOutProductsResponse.builder()
+                .asOf(asOf)
+                .productCodes(productCodes)
+                .version("\"" + DigestUtils.md5DigestAsHex(
+                        String.join("\n", productCodes).getBytes(StandardCharsets.UTF_8)) + "\"")
+                .build();
+    }
+
     /**
      * Validates and locks stock for a product.
-     * Using SERIALIZABLE isolation level to prevent dirty reads, non-repeatable
-     * reads, and phantom reads.
-     * This ensures that concurrent transactions don't interfere with each other.
+     * The isolation level is owned by the domain service: in {@code row-lock} mode the row is
+     * locked inside a SERIALIZABLE transaction, in {@code conditional-update} mode the stock is
+     * reserved with a single guarded update and no row lock is held between statements.
+     * When coalescing is enabled, concurrent requests for the same product are applied together
+     * in one transaction instead.
+     * A request repeating the idempotency key of an earlier one gets the earlier response and
+     * reserves nothing.
      */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public StockValidationResponse validateStock(StockValidationRequest request) {
         log.info("Validating and locking stock for product: {} with quantity: {}",
                 request.productCode(), request.quantity());
 
+        return reservationIdempotencyCache.getOrValidate(request, () -> lockStock(request));
+    }
+
+    private StockValidationResponse lockStock(StockValidationRequest request) {
         String lockReferenceId = UUID.randomUUID().toString();
 
+        if (reservationCoalescer.isPresent()) {
+            return validateStockWithReservation(request, lockReferenceId, () -> reservationCoalescer.get()
+                    .reserveStock(request.productCode(), request.quantity(), lockReferenceId));
+        }
+
+        if (CONDITIONAL_UPDATE_MODE.equals(reservationMode)) {
+            return validateStockWithReservation(request, lockReferenceId, () -> inventoryDomainService
+                    .reserveStock(request.productCode(), request.quantity(), lockReferenceId));
+        }
+
         try {
             // Get product to check available quantity
             Inventory item = inventoryDomainService.getInventoryItemByProductCode(request.productCode())
@@ -98,9 +193,7 @@ public class InventoryApplicationService {
                             lockReferenceId)
                     .map(updatedItem -> {
                         // Stock was successfully locked
-                        lockRegistry.put(lockReferenceId, new StockLockInfo(
-                                request.productCode(),
-                                request.quantity()));
+                        registerReservation(lockReferenceId, Map.of(request.productCode(), request.quantity()));
 
                         return StockValidationResponse.builder()
                                 .productCode(request.productCode())
@@ -132,51 +225,176 @@ public class InventoryApplicationService {
                     .lockReferenceId(null)
                     .requestedQuantity(request.quantity())
                     .availableQuantity(0)
+                    .errorMessage(e.getMessage())
+                    .build();
+        }
+    }
+
+    private StockValidationResponse validateStockWithReservation(StockValidationRequest request,
+                                                                String lockReferenceId,
+                                                                Supplier<StockReservation> reserve) {
+        try {
+            StockReservation reservation = reserve.get();
+
+            if (reservation.isReserved()) {
+                registerReservation(lockReferenceId, Map.of(request.productCode(), request.quantity()));
+            }
+
+            return StockValidationResponse.builder()
+                    .productCode(request.productCode())
+                    .inStock(reservation.isReserved())
+                    .locked(reservation.isReserved())
+                    .lockReferenceId(reservation.isReserved() ? lockReferenceId : null)
+                    .requestedQuantity(request.quantity())
+                    .availableQuantity(reservation.availableQuantity())
+                    .build();
+        } catch (Exception e) {
+            log.error("Error validating and locking stock: {}", e.getMessage());
+            return StockValidationResponse.builder()
+                    .productCode(request.productCode())
+                    .inStock(false)
+                    .locked(false)
+                    .lockReferenceId(null)
+                    .requestedQuantity(request.quantity())
+                    .availableQuantity(0)
+                    .errorMessage(e.getMessage())
                     .build();
         }
     }
 
+    /**
+     * Validates and locks stock for every line of a cart in one transaction, all-or-nothing.
+     * Lines for the same product are merged, and a single lock reference is returned for the batch.
+     */
+    public BatchStockValidationResponse validateStockBatch(BatchStockValidationRequest request) {
+        Map<String, Integer> quantitiesByProductCode = request.items().stream()
+                .collect(Collectors.toMap(StockValidationRequest::productCode,
+                        StockValidationRequest::quantity, Math::addExact, TreeMap::new));
+        log.info("Validating and locking stock for batch of {} products", quantitiesByProductCode.size());
+
+        String lockReferenceId = UUID.randomUUID().toString();
+
+        try {
+            List<StockReservation> reservations =
+                    inventoryDomainService.reserveStockBatch(quantitiesByProductCode, lockReferenceId);
+            boolean locked = reservations.stream().allMatch(StockReservation::isReserved);
+
+            if (locked) {
+                registerReservation(lockReferenceId, quantitiesByProductCode);
+            }
+
+            return BatchStockValidationResponse.builder()
+                    .inStock(locked)
+                    .locked(locked)
+                    .lockReferenceId(locked ? lockReferenceId : null)
+                    .items(reservations.stream()
+                            .map(reservation -> StockValidationResponse.builder()
+                                    .productCode(reservation.productCode())
+                                    .inStock(reservation.isInStock())
+                                    .locked(locked)
+                                    .lockReferenceId(locked ? lockReferenceId : null)
+                                    .requestedQuantity(reservation.requestedQuantity())
+                                    .availableQuantity(reservation.availableQuantity())
+                                    .build())
+                            .toList())
+                    .build();
+        } catch (Exception e) {
+            log.error("Error validating and locking stock for batch: {}", e.getMessage());
+            return BatchStockValidationResponse.builder()
+                    .inStock(false)
+                    .locked(false)
+                    .lockReferenceId(null)
+                    .items(quantitiesByProductCode.entrySet().stream()
+                            .map(line -> StockValidationResponse.builder()
+                                    .productCode(line.getKey())
+                                    .inStock(false)
+                                    .locked(false)
+                                    .requestedQuantity(line.getValue())
+                                    .availableQuantity(0)
+                                    .build())
+                            .toList())
+                    .errorMessage(e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Records the reserved lines so they are released on unlock or once their time to live passes.
+     * If the reservation cannot be recorded the stock is returned straight away, since nothing
+     * would ever release it.
+     */
+    private void registerReservation(String lockReferenceId, Map<String, Integer> quantitiesByProductCode) {
+        try {
+            reservationDomainService.register(lockReferenceId, quantitiesByProductCode);
+        } catch (RuntimeException e) {
+            quantitiesByProductCode.forEach((productCode, quantity) ->
+                    inventoryDomainService.releaseStock(productCode, quantity, lockReferenceId));
+            throw e;
+        }
+    }
+
     /**
      * Unlocks previously locked stock.
-     * Using SERIALIZABLE isolation to ensure consistent updates.
+     * Every line covered by the lock reference is released; lines that could not be released
+     * are stored again so the unlock can be retried.
      */
-    @Transactional(isolation = Isolation.SERIALIZABLE)
     public boolean unlockStock(String lockReferenceId) {
         log.info("Unlocking stock with reference ID: {}", lockReferenceId);
 
-        return Optional.ofNullable(lockRegistry.remove(lockReferenceId))
-                .map(lockInfo -> {
-                    try {
-                        return inventoryDomainService.validateAndLockStock(
-                                        lockInfo.productCode, 0, "unlock-" + lockReferenceId)
-                                .map(item -> {
-                                    // Increase the stock
-                                    item.increaseStock(lockInfo.quantity);
-                                    inventoryDomainService.addInventoryItem(item);
-
-                                    log.info("Successfully unlocked stock for product: {} with quantity: {}",
-                                            lockInfo.productCode, lockInfo.quantity);
-                                    return true;
-                                })
-                                .orElseGet(() -> {
-                                    // If we couldn't get a lock on the item, put the lock info back
-                                    lockRegistry.put(lockReferenceId, lockInfo);
-                                    log.error("Could not obtain lock for product {} to unlock stock", lockInfo.productCode);
-                                    return false;
-                                });
-                    } catch (Exception e) {
-                        // If unlocking fails, put the lock info back in the registry
-                        lockRegistry.put(lockReferenceId, lockInfo);
-                        log.error("Error unlocking stock: {}", e.getMessage());
-                        return false;
-                    }
-                })
-                .orElseGet(() -> {
-                    log.warn("No lock found with reference ID: {}", lockReferenceId);
-                    return false;
-                });
+        List<Reservation> reservations = reservationDomainService.claim(lockReferenceId);
+        if (reservations.isEmpty()) {
+            log.warn("No lock found with reference ID: {}", lockReferenceId);
+            return false;
+        }
+        // A repeat of the request that took the lock must not replay it once it is released
+        reservationIdempotencyCache.forgetLockReference(lockReferenceId);
+
+        List<Reservation> notReleased = reservations.stream()
+                .filter(reservation -> !releaseStock(reservation))
+                .toList();
+
+        if (notReleased.isEmpty()) {
+            return true;
+        }
+
+        // If we couldn't release all the stock, put the remaining lines back
+        reservationDomainService.restore(notReleased);
+        return false;
     }
 
-    private record StockLockInfo(String productCode, int quantity) {
+    /**
+     * Commits previously locked stock once the sale has gone through.
+     * Every line covered by the lock reference is claimed without releasing its stock, so neither
+     * an unlock nor expiry can put the sold stock back on sale afterwards.
+     */
+    public boolean commitStock(String lockReferenceId) {
+        log.info("Committing stock with reference ID: {}", lockReferenceId);
+
+        List<Reservation> reservations = reservationDomainService.commit(lockReferenceId);
+        if (reservations.isEmpty()) {
+            log.warn("No lock found with reference ID: {}", lockReferenceId);
+            return false;
+        }
+
+        reservations.forEach(reservation -> log.info("Committed stock for product: {} with quantity: {}",
+                reservation.getProductCode(), reservation.getQuantity()));
+        return true;
+    }
+
+    private boolean releaseStock(Reservation reservation) {
+        try {
+            if (inventoryDomainService.releaseStock(
+                    reservation.getProductCode(), reservation.getQuantity(), reservation.getLockReferenceId())) {
+                log.info("Successfully unlocked stock for product: {} with quantity: {}",
+                        reservation.getProductCode(), reservation.getQuantity());
+                return true;
+            }
+
+            log.error("Could not release stock for product {}", reservation.getProductCode());
+            return false;
+        } catch (Exception e) {
+            log.error("Error unlocking stock: {}", e.getMessage());
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
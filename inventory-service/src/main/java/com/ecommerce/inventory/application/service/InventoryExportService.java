@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams the whole inventory catalog as NDJSON, one item per line in ascending id order.
+ *
+ * <p>The table is walked with keyset pagination in pages of {@code inventory.export.page-size}
+ * rows, read with a JDBC fetch size of {@code inventory.export.fetch-size}. Every item is written
+ * to the output as soon as it is read, so memory use does not grow with the size of the table.
+ */
+@Service
+@Slf4j
+public class InventoryExportService {
+
+    private final InventoryDomainService inventoryDomainService;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+    private final int fetchSize;
+
+    public InventoryExportService(
+            InventoryDomainService inventoryDomainService,
+            ObjectMapper objectMapper,
+            @Value("${inventory.export.page-size:10000}") int pageSize,
+            @Value("${inventory.export.fetch-size:1000}") int fetchSize) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.objectMapper = objectMapper;
+        this.pageSize = Math.max(1, pageSize);
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Writes every inventory item to the output stream, one JSON object per line.
+     *
+     * @return The number of items written
+     */
+    public long exportInventory(OutputStream outputStream) throws IOException {
+        long startNanos = System.nanoTime();
+        long rows;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // Lines are terminated explicitly instead of separated by the default root value separator
+            generator.setRootValueSeparator(null);
+            rows = inventoryDomainService.forEachInventoryItem(pageSize, fetchSize, item -> write(generator, item));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("Inventory export finished: rows={}, elapsedMillis={}, rowsPerSecond={}",
+                rows, elapsedMillis, elapsedMillis == 0 ? rows : rows * 1000 / elapsedMillis);
+        return rows;
+    }
+
+    private void write(JsonGenerator generator, Inventory item) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("id", item.getId());
+            generator.writeStringField("productCode", item.getProductCode());
+            generator.writeStringField("productName", item.getProductName());
+            generator.writeNumberField("quantity", item.getQuantity());
+            generator.writeStringField("description", item.getDescription());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            // Aborts the walk, typically because the client went away
+            throw new UncheckedIOException(e);
+        }
+    }
+}
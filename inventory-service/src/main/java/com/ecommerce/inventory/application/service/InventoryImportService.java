@@ -0,0 +1,314 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.application.dto.request.InventoryItemRequest;
+import com.ecommerce.inventory.application.dto.respose.InventoryImportResponse;
+import com.ecommerce.inventory.domain.exception.InvalidOperationException;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a bulk inventory import from an NDJSON or CSV body.
+ *
+ * <p>The body is read line by line and valid rows are upserted in JDBC batches of
+ * {@code inventory.import.batch-size}, so memory use depends on the batch size and not on the
+ * size of the file. Invalid rows and rows of a failed batch are reported with their line number;
+ * at most {@code inventory.import.max-reported-errors} of them are kept, the rest are only counted.
+ */
+@Service
+@Slf4j
+public class InventoryImportService {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private static final Set<String> REQUIRED_CSV_COLUMNS = Set.of("productcode", "productname", "quantity");
+
+    private final InventoryDomainService inventoryDomainService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+    private final Counter importedRows;
+    private final Counter failedRows;
+
+    public InventoryImportService(
+            InventoryDomainService inventoryDomainService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.import.batch-size:1000}") int batchSize,
+            @Value("${inventory.import.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${inventory.import.progress-interval:100000}") long progressInterval) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+        this.progressInterval = Math.max(1, progressInterval);
+        this.importedRows = Counter.builder("inventory.import.rows")
+                .description("Rows processed by bulk imports")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("inventory.import.rows")
+                .description("Rows processed by bulk imports")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports every row of the body, in the format given by the content type.
+     */
+    public InventoryImportResponse importInventory(InputStream body, MediaType contentType) throws IOException {
+        boolean csv = TEXT_CSV.isCompatibleWith(contentType);
+        if (!csv && !APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            throw new InvalidOperationException("Unsupported import format: " + contentType);
+        }
+
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> csvColumns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (csv && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            run.rowsRead++;
+            try {
+                InventoryItemRequest request = csv ? parseCsvRow(line, csvColumns) : parseJsonRow(line);
+                String violations = validate(request);
+                if (violations != null) {
+                    run.fail(lineNumber, request.productCode(), violations);
+                } else {
+                    run.add(lineNumber, request);
+                }
+            } catch (IllegalArgumentException e) {
+                run.fail(lineNumber, null, e.getMessage());
+            }
+
+            if (run.pending.size() >= batchSize) {
+                run.flush();
+            }
+            if (run.rowsRead % progressInterval == 0) {
+                log.info("Inventory import progress: read={}, imported={}, failed={}, rowsPerSecond={}",
+                        run.rowsRead, run.rowsImported, run.rowsFailed, Math.round(run.rowsPerSecond()));
+            }
+        }
+        run.flush();
+
+        InventoryImportResponse response = run.toResponse();
+        log.info("Inventory import finished: read={}, imported={}, failed={}, batches={}, elapsedMillis={}, rowsPerSecond={}",
+                response.rowsRead(), response.rowsImported(), response.rowsFailed(), response.batches(),
+                response.elapsedMillis(), Math.round(response.rowsPerSecond()));
+        return response;
+    }
+
+    private InventoryItemRequest parseJsonRow(String line) {
+        try {
+            InventoryItemRequest request = objectMapper.readValue(line, InventoryItemRequest.class);
+            if (request == null) {
+                throw new IllegalArgumentException("Row must be a JSON object");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.keySet().containsAll(REQUIRED_CSV_COLUMNS)) {
+            throw new InvalidOperationException("CSV header must contain the columns productCode, productName and quantity");
+        }
+        return columns;
+    }
+
+    private InventoryItemRequest parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        String quantity = column(values, columns, "quantity");
+        try {
+            return InventoryItemRequest.builder()
+                    .productCode(column(values, columns, "productcode"))
+                    .productName(column(values, columns, "productname"))
+                    .quantity(quantity == null ? 0 : Integer.parseInt(quantity.trim()))
+                    .description(column(values, columns, "description"))
+                    .build();
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid quantity: " + quantity);
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits a single CSV line on commas; fields may be enclosed in double quotes, with a doubled
+     * quote standing for a literal one. Quoted fields cannot span several lines.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String validate(InventoryItemRequest request) {
+        Set<ConstraintViolation<InventoryItemRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Counters and the pending batch of a single import.
+     */
+    private final class ImportRun {
+
+        private final long startNanos = System.nanoTime();
+        private final List<Inventory> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingLines = new ArrayList<>(batchSize);
+        private final List<InventoryImportResponse.RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsFailed;
+        private long batches;
+
+        void add(long line, InventoryItemRequest request) {
+            pending.add(Inventory.builder()
+                    .productCode(request.productCode())
+                    .productName(request.productName())
+                    .quantity(request.quantity())
+                    .description(request.description())
+                    .build());
+            pendingLines.add(line);
+        }
+
+        void fail(long line, String productCode, String message) {
+            rowsFailed++;
+            failedRows.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new InventoryImportResponse.RowError(line, productCode, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            batches++;
+            try {
+                int written = inventoryDomainService.importInventoryItems(List.copyOf(pending));
+                rowsImported += written;
+                importedRows.increment(written);
+            } catch (RuntimeException e) {
+                // Retry the rows one by one so that only the offending rows are reported
+                log.warn("Error importing batch of {} rows starting at line {}, retrying row by row: {}",
+                        pending.size(), pendingLines.get(0), e.getMessage());
+                for (int i = 0; i < pending.size(); i++) {
+                    importRow(pendingLines.get(i), pending.get(i));
+                }
+            }
+            pending.clear();
+            pendingLines.clear();
+        }
+
+        private void importRow(long line, Inventory item) {
+            try {
+                int written = inventoryDomainService.importInventoryItems(List.of(item));
+                rowsImported += written;
+                importedRows.increment(written);
+            } catch (RuntimeException e) {
+                fail(line, item.getProductCode(), e.getMessage());
+            }
+        }
+
+        double rowsPerSecond() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000d / elapsedNanos;
+        }
+
+        InventoryImportResponse toResponse() {
+            return InventoryImportResponse.builder()
+                    .rowsRead(rowsRead)
+                    .rowsImported(rowsImported)
+                    .rowsFailed(rowsFailed)
+                    .batches(batches)
+                    .elapsedMillis((System.nanoTime() - startNanos) / 1_000_000)
+                    .rowsPerSecond(rowsPerSecond())
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(rowsFailed > errors.size())
+                    .build();
+        }
+    }
+}
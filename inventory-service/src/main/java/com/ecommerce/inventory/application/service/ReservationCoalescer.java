@@ -0,0 +1,289 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.exception.StockUpdateException;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SequencedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent reservations for the same product into a single transaction.
+ *
+ * <p>Requests are queued per product. The first request of a batch opens a window of
+ * {@code window-ms}; the batch is applied when the window closes or as soon as
+ * {@code max-batch-size} requests are queued, whichever comes first. Every batch is applied with
+ * {@link InventoryDomainService#reserveStockInOrder}, which grants the requests in arrival order
+ * until the stock runs out. At most one batch per product is in flight, and a product queue never
+ * holds more than {@code max-queue-depth} requests; further requests are rejected straight away.
+ * A product queue is removed once its last batch is applied and nothing is pending, so only
+ * products with reservations in flight hold a queue.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation.coalescing", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReservationCoalescer {
+
+    private final InventoryDomainService inventoryDomainService;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final int maxQueueDepth;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, ProductQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter rejectedCounter;
+    private final Timer waitTimer;
+
+    public ReservationCoalescer(
+            InventoryDomainService inventoryDomainService,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.reservation.coalescing.window-ms:2}") long windowMillis,
+            @Value("${inventory.reservation.coalescing.max-batch-size:64}") int maxBatchSize,
+            @Value("${inventory.reservation.coalescing.max-queue-depth:1024}") int maxQueueDepth,
+            @Value("${inventory.reservation.coalescing.timeout-ms:5000}") long timeoutMillis,
+            @Value("${inventory.reservation.coalescing.threads:4}") int threads) {
+        this.inventoryDomainService = inventoryDomainService;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.maxQueueDepth = maxQueueDepth;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newScheduledThreadPool(threads);
+
+        Gauge.builder("inventory.reservation.coalescer.window", () -> windowMillis)
+                .description("Time a batch is held open for further requests")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.coalescer.max.batch.size", () -> maxBatchSize)
+                .description("Maximum number of requests applied in one transaction")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.coalescer.max.queue.depth", () -> maxQueueDepth)
+                .description("Maximum number of requests queued per product")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reservation.coalescer.queued", queued, AtomicInteger::get)
+                .description("Requests waiting for their batch, across all products")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("inventory.reservation.coalescer.batch.size")
+                .description("Number of requests applied in one transaction")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("inventory.reservation.coalescer.rejected")
+                .description("Requests rejected because the product queue was full")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("inventory.reservation.coalescer.wait")
+                .description("Time from queueing a request until its batch was applied")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a reservation and waits for its batch to be applied.
+     * If the batch is not applied within {@code timeout-ms} the caller gives up, and the stock is
+     * released again once the batch eventually reserves it.
+     */
+    public StockReservation reserveStock(String productCode, int quantity, String lockReferenceId) {
+        CompletableFuture<StockReservation> result = reserve(productCode, quantity, lockReferenceId);
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.thenAccept(reservation -> {
+                if (reservation.isReserved()) {
+                    inventoryDomainService.releaseStock(productCode, quantity, lockReferenceId);
+                }
+            });
+            throw new StockUpdateException(productCode, "reservation timed out", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new StockUpdateException(productCode, "reservation failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StockUpdateException(productCode, "interrupted while waiting for reservation", e);
+        }
+    }
+
+    /**
+     * Queues a reservation; the returned future completes once its batch has been applied.
+     */
+    public CompletableFuture<StockReservation> reserve(String productCode, int quantity, String lockReferenceId) {
+        PendingReservation pending = new PendingReservation(lockReferenceId, quantity, System.nanoTime(),
+                new CompletableFuture<>());
+        while (!queues.computeIfAbsent(productCode, ProductQueue::new).submit(pending)) {
+            // The queue was removed as idle after it was looked up, submit to its successor
+        }
+        return pending.result();
+    }
+
+    int queueCount() {
+        return queues.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        queues.values().forEach(ProductQueue::failPending);
+    }
+
+    private record PendingReservation(String lockReferenceId, int quantity, long queuedAt,
+                                      CompletableFuture<StockReservation> result) {
+    }
+
+    /**
+     * Queue of one product. All state transitions happen under the queue lock, the batch
+     * itself is applied outside of it. A {@link ReentrantLock} is used instead of the object
+     * monitor so that a virtual thread waiting for the queue unmounts instead of pinning its carrier.
+     */
+    private final class ProductQueue {
+
+        private final String productCode;
+        private final Queue<PendingReservation> pending = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean scheduled;
+        private boolean removed;
+        private ScheduledFuture<?> windowFlush;
+
+        ProductQueue(String productCode) {
+            this.productCode = productCode;
+        }
+
+        /**
+         * @return false if the queue has been removed as idle and the reservation was not taken
+         */
+        boolean submit(PendingReservation reservation) {
+            lock.lock();
+            try {
+                if (removed) {
+                    return false;
+                }
+                if (pending.size() >= maxQueueDepth) {
+                    rejectedCounter.increment();
+                    reservation.result().completeExceptionally(
+                            new StockUpdateException(productCode, "too many concurrent reservations"));
+                    return true;
+                }
+
+                pending.add(reservation);
+                queued.incrementAndGet();
+
+                if (!scheduled) {
+                    scheduled = true;
+                    windowFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                } else if (pending.size() >= maxBatchSize && windowFlush != null && windowFlush.cancel(false)) {
+                    // Batch is full, no need to wait for the window to close
+                    windowFlush = null;
+                    scheduler.execute(this::flush);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flush() {
+            List<PendingReservation> batch = new ArrayList<>(maxBatchSize);
+            lock.lock();
+            try {
+                windowFlush = null;
+                while (batch.size() < maxBatchSize && !pending.isEmpty()) {
+                    batch.add(pending.poll());
+                }
+                queued.addAndGet(-batch.size());
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                apply(batch);
+            } finally {
+                lock.lock();
+                try {
+                    if (pending.isEmpty()) {
+                        scheduled = false;
+                        removeIfIdle();
+                    } else {
+                        // Requests that arrived while the batch was applied already waited long enough
+                        scheduler.execute(this::flush);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void apply(List<PendingReservation> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            batchSizeSummary.record(batch.size());
+
+            SequencedMap<String, Integer> quantitiesByLockReferenceId = new LinkedHashMap<>();
+            batch.forEach(reservation ->
+                    quantitiesByLockReferenceId.put(reservation.lockReferenceId(), reservation.quantity()));
+
+            try {
+                List<StockReservation> results =
+                        inventoryDomainService.reserveStockInOrder(productCode, quantitiesByLockReferenceId);
+                long now = System.nanoTime();
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingReservation reservation = batch.get(i);
+                    waitTimer.record(now - reservation.queuedAt(), TimeUnit.NANOSECONDS);
+                    reservation.result().complete(results.get(i));
+                }
+            } catch (Exception e) {
+                log.error("Error applying reservation batch for product {}: size={}, error={}",
+                        productCode, batch.size(), e.getMessage());
+                batch.forEach(reservation -> reservation.result().completeExceptionally(e));
+            }
+        }
+
+        /**
+         * Removes the queue from the map while holding its lock, so a concurrent submit either
+         * lands before the removal or sees {@code removed} and retries with a new queue.
+         */
+        private void removeIfIdle() {
+            queues.computeIfPresent(productCode, (code, queue) -> {
+                if (queue != this || scheduled || !pending.isEmpty()) {
+                    return queue;
+                }
+                removed = true;
+                return null;
+            });
+        }
+
+        void failPending() {
+            lock.lock();
+            try {
+                pending.forEach(reservation -> reservation.result().completeExceptionally(
+                        new StockUpdateException(productCode, "service is shutting down")));
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
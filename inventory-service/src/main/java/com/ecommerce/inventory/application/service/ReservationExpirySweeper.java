@@ -0,0 +1,105 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationDomainService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Releases the stock of reservations whose time to live has passed.
+ *
+ * <p>Expired reservations are claimed in batches. Within a batch the quantities are summed per
+ * product, so the stock of every product is released with a single update, and the claim and the
+ * release commit in the same transaction. Batches are claimed until one comes back empty.
+ */
+@Component
+@Slf4j
+public class ReservationExpirySweeper {
+
+    static final String EXPIRED_LOCK_REFERENCE = "expired";
+
+    private final ReservationDomainService reservationDomainService;
+    private final InventoryDomainService inventoryDomainService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter expiredCounter;
+    private final Timer sweepTimer;
+
+    public ReservationExpirySweeper(
+            ReservationDomainService reservationDomainService,
+            InventoryDomainService inventoryDomainService,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${inventory.reservation.expiry.batch-size:500}") int batchSize) {
+        this.reservationDomainService = reservationDomainService;
+        this.inventoryDomainService = inventoryDomainService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        Gauge.builder("inventory.reservations.live", reservationDomainService,
+                        ReservationDomainService::liveReservations)
+                .description("Reservations held and not yet expired")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("inventory.reservations.expired")
+                .description("Reservations released because their time to live passed")
+                .register(meterRegistry);
+        this.sweepTimer = Timer.builder("inventory.reservations.sweep")
+                .description("Time taken to release all expired reservations")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.expiry.sweep-interval-ms:1000}")
+    public void sweepExpiredReservations() {
+        sweepTimer.record(() -> {
+            Instant now = Instant.now();
+            try {
+                int claimed;
+                do {
+                    claimed = transactionTemplate.execute(status -> releaseBatch(now));
+                } while (claimed > 0);
+            } catch (Exception e) {
+                // The failed batch was rolled back and is retried on the next run
+                log.error("Error releasing expired reservations: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return the number of lock references claimed in this batch
+     */
+    private int releaseBatch(Instant now) {
+        List<Reservation> expired = reservationDomainService.claimExpired(now, batchSize);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Integer> quantitiesByProductCode = expired.stream()
+                .collect(Collectors.toMap(Reservation::getProductCode, Reservation::getQuantity,
+                        Integer::sum, TreeMap::new));
+        quantitiesByProductCode.forEach((productCode, quantity) -> {
+            if (!inventoryDomainService.releaseStock(productCode, quantity, EXPIRED_LOCK_REFERENCE)) {
+                log.warn("Could not release expired stock for product {}: quantity={}", productCode, quantity);
+            }
+        });
+
+        int lockReferences = (int) expired.stream().map(Reservation::getLockReferenceId).distinct().count();
+        expiredCounter.increment(lockReferences);
+        log.info("Released {} expired reservations for {} products", lockReferences, quantitiesByProductCode.size());
+        return lockReferences;
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring record of the stock validations made with an idempotency key.
+ *
+ * <p>A repeat of a request, such as a retry or a hedged request, gets the response of the first
+ * request and reserves nothing. A repeat that arrives while the first request is still running
+ * waits for it instead of reserving a second time. Responses carrying an error message are
+ * forgotten as soon as they complete, so a retry after a failure runs again. Reusing a key for a
+ * different product or quantity is rejected. Once the stock of a response is unlocked, its key is
+ * forgotten too, so a repeat reserves again instead of replaying a lock that no longer exists.
+ *
+ * <p>Entries expire after {@code ttl}, which must be shorter than the reservation time to live,
+ * and at most {@code maximum-size} keys are kept. Replays and rejected keys are counted by
+ * {@code inventory.reservation.idempotency}, and the size is published as the {@code cache.*}
+ * metrics of the {@code reservation.idempotency} cache.
+ */
+@Component
+@Slf4j
+public class ReservationIdempotencyCache {
+
+    static final String CACHE_NAME = "reservation.idempotency";
+
+    /**
+     * The request a key was first used for, and its response once it is known.
+     */
+    private record Entry(String productCode, int quantity, CompletableFuture<StockValidationResponse> response) {
+
+        boolean matches(StockValidationRequest request) {
+            return productCode.equals(request.productCode()) && quantity == request.quantity();
+        }
+
+        String lockReferenceId() {
+            StockValidationResponse completed = response.getNow(null);
+            return completed != null && completed.locked() ? completed.lockReferenceId() : null;
+        }
+    }
+
+    private final boolean enabled;
+    private final Cache<String, Entry> cache;
+    private final Map<String, String> keysByLockReferenceId = new ConcurrentHashMap<>();
+    private final Counter replays;
+    private final Counter conflicts;
+
+    public ReservationIdempotencyCache(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.reservation.idempotency.enabled:true}") boolean enabled,
+            @Value("${inventory.reservation.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${inventory.reservation.idempotency.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (entry != null && entry.lockReferenceId() != null) {
+                        keysByLockReferenceId.remove(entry.lockReferenceId(), key);
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.replays = meterRegistry.counter("inventory.reservation.idempotency", "result", "replayed");
+        this.conflicts = meterRegistry.counter("inventory.reservation.idempotency", "result", "conflict");
+    }
+
+    /**
+     * Returns the response already given for the idempotency key of the request, or validates the
+     * request with {@code validate} and remembers its response.
+     *
+     * @param request  The request, validated directly if it has no idempotency key
+     * @param validate Validates and locks the stock, never throws
+     * @return The response of the first request with the same key
+     */
+    public StockValidationResponse getOrValidate(StockValidationRequest request,
+                                                 Supplier<StockValidationResponse> validate) {
+        String key = request.idempotencyKey();
+        if (!enabled || key == null || key.isBlank()) {
+            return validate.get();
+        }
+
+        Entry entry = new Entry(request.productCode(), request.quantity(), new CompletableFuture<>());
+        Entry existing = cache.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            return replay(key, existing, request);
+        }
+
+        StockValidationResponse response;
+        try {
+            response = validate.get();
+        } catch (RuntimeException e) {
+            cache.asMap().remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+        if (response.errorMessage() != null) {
+            cache.asMap().remove(key, entry);
+        } else if (response.locked() && response.lockReferenceId() != null) {
+            keysByLockReferenceId.put(response.lockReferenceId(), key);
+        }
+        entry.response().complete(response);
+        return response;
+    }
+
+    /**
+     * Forgets the key whose response locked the stock under {@code lockReferenceId}, called once
+     * that stock has been unlocked.
+     *
+     * @param lockReferenceId The lock reference that was unlocked
+     */
+    public void forgetLockReference(String lockReferenceId) {
+        String key = keysByLockReferenceId.remove(lockReferenceId);
+        if (key != null) {
+            cache.asMap().computeIfPresent(key, (k, entry) ->
+                    lockReferenceId.equals(entry.lockReferenceId()) ? null : entry);
+        }
+    }
+
+    private StockValidationResponse replay(String key, Entry existing, StockValidationRequest request) {
+        if (!existing.matches(request)) {
+            conflicts.increment();
+            log.warn("Idempotency key {} was already used for product {}: quantity={}",
+                    key, existing.productCode(), existing.quantity());
+            return StockValidationResponse.builder()
+                    .productCode(request.productCode())
+                    .inStock(false)
+                    .locked(false)
+                    .lockReferenceId(null)
+                    .requestedQuantity(request.quantity())
+                    .availableQuantity(0)
+                    .errorMessage("Idempotency key was already used for a different request")
+                    .build();
+        }
+
+        replays.increment();
+        log.info("Replaying stock validation for idempotency key {}", key);
+        return existing.response().join();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.inventory.domain.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A sub-bucket of the stock of a hot product.
+ * The available quantity of a sharded product is the inventory row quantity plus the sum of its shards.
+ */
+@Entity
+@Table(name = "inventory_shard")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String productCode;
+
+    private int shardNo;
+
+    @Min(value = 0, message = "Quantity cannot be negative")
+    private int quantity;
+
+    @Version
+    private Long version;
+}
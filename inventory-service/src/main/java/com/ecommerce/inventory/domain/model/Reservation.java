@@ -0,0 +1,40 @@
+package com.ecommerce.inventory.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A single reserved line of a lock reference.
+ * The stock stays reserved until the line is unlocked or its expiry time has passed.
+ */
+@Entity
+@Table(name = "reservation")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Reservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String lockReferenceId;
+
+    private String productCode;
+
+    private int quantity;
+
+    private Instant createdAt;
+
+    private Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.domain.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Position of a stock journal up to which its movements have been applied to the inventory table.
+ * Written in the same transaction as the quantities, so every movement is applied exactly once.
+ */
+@Entity
+@Table(name = "stock_journal_checkpoint")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockJournalCheckpoint {
+
+    @Id
+    private String journalName;
+
+    private long flushedPosition;
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.inventory.domain.model;
+
+/**
+ * Outcome of checking and reducing the stock of a product under a stock concurrency strategy.
+ *
+ * @param status   whether the stock was reserved, never {@link StockReservation.Status#AVAILABLE}
+ * @param item     the item after the reservation, or as read when the stock was insufficient; null if not found
+ * @param attempts the number of transactions it took, more than one when conflicting attempts were retried
+ */
+public record StockLock(
+        StockReservation.Status status,
+        Inventory item,
+        int attempts
+) {
+
+    public static StockLock locked(Inventory item, int attempts) {
+        return new StockLock(StockReservation.Status.RESERVED, item, attempts);
+    }
+
+    public static StockLock insufficientStock(Inventory item, int attempts) {
+        return new StockLock(StockReservation.Status.INSUFFICIENT_STOCK, item, attempts);
+    }
+
+    public static StockLock notFound(int attempts) {
+        return new StockLock(StockReservation.Status.NOT_FOUND, null, attempts);
+    }
+
+    public boolean isLocked() {
+        return status == StockReservation.Status.RESERVED;
+    }
+}
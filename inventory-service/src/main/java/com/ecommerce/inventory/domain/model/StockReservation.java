@@ -0,0 +1,64 @@
+package com.ecommerce.inventory.domain.model;
+
+/**
+ * Outcome of a stock reservation that was applied without loading the inventory entity.
+ *
+ * @param productCode       the product code
+ * @param status            whether the stock was reserved
+ * @param requestedQuantity the quantity requested
+ * @param availableQuantity the quantity available before the reservation
+ * @param remainingQuantity the quantity left after the reservation
+ */
+public record StockReservation(
+        String productCode,
+        Status status,
+        int requestedQuantity,
+        int availableQuantity,
+        int remainingQuantity
+) {
+
+    public enum Status {
+        RESERVED,
+        /**
+         * Enough stock was available, but the line was not reserved because another line
+         * of the same batch could not be reserved.
+         */
+        AVAILABLE,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+
+    public static StockReservation reserved(String productCode, int requestedQuantity, int remainingQuantity) {
+        return new StockReservation(productCode, Status.RESERVED, requestedQuantity,
+                remainingQuantity + requestedQuantity, remainingQuantity);
+    }
+
+    public static StockReservation available(String productCode, int requestedQuantity, int availableQuantity) {
+        return new StockReservation(productCode, Status.AVAILABLE, requestedQuantity,
+                availableQuantity, availableQuantity);
+    }
+
+    public static StockReservation insufficientStock(String productCode, int requestedQuantity, int availableQuantity) {
+        return new StockReservation(productCode, Status.INSUFFICIENT_STOCK, requestedQuantity,
+                availableQuantity, availableQuantity);
+    }
+
+    public static StockReservation notFound(String productCode, int requestedQuantity) {
+        return new StockReservation(productCode, Status.NOT_FOUND, requestedQuantity, 0, 0);
+    }
+
+    public boolean isReserved() {
+        return status == Status.RESERVED;
+    }
+
+    public boolean isInStock() {
+        return status == Status.RESERVED || status == Status.AVAILABLE;
+    }
+
+    /**
+     * The same line reported as available but not reserved, used when a batch is abandoned.
+     */
+    public StockReservation withdrawn() {
+        return isReserved() ? available(productCode, requestedQuantity, availableQuantity) : this;
+    }
+}
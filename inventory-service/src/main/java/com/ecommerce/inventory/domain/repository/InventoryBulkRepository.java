@@ -0,0 +1,48 @@
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+/**
+ * Bulk reads and writes of inventory items that bypass the persistence context.
+ */
+public interface InventoryBulkRepository {
+
+    /**
+     * Insert or update several inventory items by product code in a single JDBC batch.
+     * Existing rows are updated in place without being read first; their version is bumped so
+     * that entity based writers still detect the change.
+     *
+     * @param items The items to write, identified by product code
+     * @return The number of items written
+     */
+    int upsertAll(List<Inventory> items);
+
+    /**
+     * Take stock with a single guarded {@code UPDATE ... WHERE quantity >= ?} that also reports the quantity it left.
+     * The update stores the new quantity with {@code LAST_INSERT_ID(expr)}, which is read back with
+     * {@code SELECT LAST_INSERT_ID()} on the same connection; the value is private to the session, so no other
+     * writer can change it in between. Outside a transaction the update commits on its own.
+     *
+     * @param productCode The product to take stock from
+     * @param quantity    The quantity to take
+     * @return The quantity left, or empty if the product is missing or has less stock than requested
+     */
+    OptionalInt decrementQuantityReturningRemaining(String productCode, int quantity);
+
+    /**
+     * Walk every inventory item in ascending id order, one row at a time.
+     * The table is read in pages of {@code WHERE id > lastId ORDER BY id LIMIT pageSize}, each page
+     * streamed with the given JDBC fetch size, so no page is ever materialised and every page costs
+     * the same however far into the table it is. The quantity includes the stock held in shards.
+     *
+     * @param pageSize  The number of rows per keyset page
+     * @param fetchSize The JDBC fetch size used while reading a page
+     * @param consumer  Receives every item, in id order
+     * @return The number of items read
+     */
+    long forEachInIdOrder(int pageSize, int fetchSize, Consumer<Inventory> consumer);
+}
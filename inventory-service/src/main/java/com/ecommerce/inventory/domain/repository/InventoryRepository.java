@@ -4,14 +4,18 @@ import com.ecommerce.inventory.domain.model.Inventory;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<Inventory, Long> {
+public interface InventoryRepository extends JpaRepository<Inventory, Long>, InventoryBulkRepository {
 
     Optional<Inventory> findByProductCode(String productCode);
 
@@ -27,5 +31,71 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Query("SELECT i FROM Inventory i WHERE i.productCode = :productCode")
     Optional<Inventory> findByProductCodeWithLock(@Param("productCode") String productCode);
 
+    /**
+     * Find several inventory items with a pessimistic write lock, in ascending product code order.
+     * The rows are scanned and therefore locked in the order of the unique product code index,
+     * so two transactions locking overlapping sets of products cannot deadlock each other.
+     *
+     * @param productCodes The product codes to find
+     * @return The inventory items found, ordered by product code
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Inventory i WHERE i.productCode IN :productCodes ORDER BY i.productCode")
+    List<Inventory> findAllByProductCodeInWithLock(@Param("productCodes") Collection<String> productCodes);
+
+    /**
+     * Find several inventory items with a single IN-list query, without locking them.
+     *
+     * @param productCodes The product codes to find
+     * @return The inventory items found, in no particular order
+     */
+    List<Inventory> findAllByProductCodeIn(Collection<String> productCodes);
+
     boolean existsByProductCode(String productCode);
-} 
\ No newline at end of file
+
+    /**
+     * Apply a relative change to the stored quantity in a single statement.
+     * The version is bumped so that entity based writers still detect the change.
+     *
+     * @param productCode The product code to update
+     * @param delta       The amount to add (negative to subtract)
+     * @return The number of rows updated, 0 if the product does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity + :delta, i.version = i.version + 1 " +
+            "WHERE i.productCode = :productCode")
+    int adjustQuantity(@Param("productCode") String productCode, @Param("delta") int delta);
+
+    /**
+     * Check and decrement the stored quantity in a single guarded statement.
+     * No row is read or locked before the update, the database only applies it when enough stock is left.
+     *
+     * @param productCode The product code to update
+     * @param quantity    The quantity to reserve
+     * @return 1 if the stock was reserved, 0 if the product does not exist or has insufficient stock
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Inventory i SET i.quantity = i.quantity - :quantity, i.version = i.version + 1 " +
+            "WHERE i.productCode = :productCode AND i.quantity >= :quantity")
+    int decrementQuantityIfAvailable(@Param("productCode") String productCode, @Param("quantity") int quantity);
+
+    /**
+     * Read only the quantity column of an inventory item, without loading the entity.
+     *
+     * @param productCode The product code to find
+     * @return The stored quantity if the product exists
+     */
+    @Query("SELECT i.quantity FROM Inventory i WHERE i.productCode = :productCode")
+    Optional<Integer> findQuantityByProductCode(@Param("productCode") String productCode);
+
+    /**
+     * Find the product codes of every inventory item without stock left.
+     * Served by a range scan of the quantity index.
+     *
+     * @return The product codes with a quantity of zero, ordered by product code
+     */
+    @Query("SELECT i.productCode FROM Inventory i WHERE i.quantity <= 0 ORDER BY i.productCode")
+    List<String> findSoldOutProductCodes();
+}
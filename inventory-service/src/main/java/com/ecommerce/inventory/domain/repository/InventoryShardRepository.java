@@ -0,0 +1,83 @@
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.inventory.domain.model.InventoryShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface InventoryShardRepository extends JpaRepository<InventoryShard, Long> {
+
+    /**
+     * Find every shard of a product with a pessimistic write lock, in shard order.
+     *
+     * @param productCode The product code to find
+     * @return The shards of the product, ordered by shard number
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryShard s WHERE s.productCode = :productCode ORDER BY s.shardNo")
+    List<InventoryShard> findByProductCodeWithLock(@Param("productCode") String productCode);
+
+    /**
+     * Sum the quantity of every shard of a product.
+     *
+     * @param productCode The product code to sum
+     * @return The total quantity held in shards, 0 if the product has no shards
+     */
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM InventoryShard s WHERE s.productCode = :productCode")
+    int sumQuantityByProductCode(@Param("productCode") String productCode);
+
+    boolean existsByProductCode(String productCode);
+
+    /**
+     * Find the product codes that have shards.
+     *
+     * @return The distinct product codes of every shard
+     */
+    @Query("SELECT DISTINCT s.productCode FROM InventoryShard s ORDER BY s.productCode")
+    List<String> findShardedProductCodes();
+
+    /**
+     * Check and decrement the quantity of a single shard in one guarded statement.
+     *
+     * @param productCode The product code to update
+     * @param shardNo     The shard to take the stock from
+     * @param quantity    The quantity to reserve
+     * @return 1 if the stock was reserved, 0 if the shard does not exist or has insufficient stock
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryShard s SET s.quantity = s.quantity - :quantity, s.version = s.version + 1 " +
+            "WHERE s.productCode = :productCode AND s.shardNo = :shardNo AND s.quantity >= :quantity")
+    int decrementQuantityIfAvailable(@Param("productCode") String productCode,
+                                     @Param("shardNo") int shardNo,
+                                     @Param("quantity") int quantity);
+
+    /**
+     * Apply a relative change to the quantity of a single shard.
+     *
+     * @param productCode The product code to update
+     * @param shardNo     The shard to update
+     * @param delta       The amount to add (negative to subtract)
+     * @return The number of rows updated, 0 if the shard does not exist
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryShard s SET s.quantity = s.quantity + :delta, s.version = s.version + 1 " +
+            "WHERE s.productCode = :productCode AND s.shardNo = :shardNo")
+    int adjustQuantity(@Param("productCode") String productCode,
+                       @Param("shardNo") int shardNo,
+                       @Param("delta") int delta);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM InventoryShard s WHERE s.productCode = :productCode")
+    int deleteByProductCode(@Param("productCode") String productCode);
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+
+    List<Reservation> findByLockReferenceId(String lockReferenceId);
+
+    /**
+     * Find the lock references with the oldest expired lines, using the expiry index.
+     *
+     * @param now      The current time
+     * @param pageable The maximum number of lock references to return
+     * @return The expired lock references, oldest first
+     */
+    @Query("SELECT r.lockReferenceId FROM Reservation r WHERE r.expiresAt <= :now " +
+            "GROUP BY r.lockReferenceId ORDER BY MIN(r.expiresAt)")
+    List<String> findExpiredLockReferenceIds(@Param("now") Instant now, Pageable pageable);
+
+    List<Reservation> findByLockReferenceIdIn(Collection<String> lockReferenceIds);
+
+    /**
+     * Delete every line of a lock reference.
+     * Only the caller that actually deletes the rows may release the reserved stock,
+     * which makes unlock and expiry mutually exclusive even across service instances.
+     *
+     * @param lockReferenceId The lock reference to delete
+     * @return The number of lines deleted, 0 if the reference was already unlocked or expired
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Reservation r WHERE r.lockReferenceId = :lockReferenceId")
+    int deleteByLockReferenceId(@Param("lockReferenceId") String lockReferenceId);
+}
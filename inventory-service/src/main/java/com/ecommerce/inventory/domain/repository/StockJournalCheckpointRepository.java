@@ -0,0 +1,9 @@
+package com.ecommerce.inventory.domain.repository;
+
+import com.ecommerce.inventory.domain.model.StockJournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockJournalCheckpointRepository extends JpaRepository<StockJournalCheckpoint, String> {
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.inventory.domain.repository.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryBulkRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link InventoryBulkRepository}, picked up by Spring Data as a fragment
+ * of {@link com.ecommerce.inventory.domain.repository.InventoryRepository}.
+ */
+@RequiredArgsConstructor
+public class InventoryBulkRepositoryImpl implements InventoryBulkRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO inventory (product_code, product_name, quantity, description) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE product_name = VALUES(product_name), quantity = VALUES(quantity), " +
+            "description = VALUES(description), version = version + 1";
+
+    private static final String DECREMENT_RETURNING_SQL =
+            "UPDATE inventory SET quantity = LAST_INSERT_ID(quantity - ?), version = version + 1 " +
+            "WHERE product_code = ? AND quantity >= ?";
+
+    private static final String LAST_INSERT_ID_SQL = "SELECT LAST_INSERT_ID()";
+
+    /**
+     * Hot products keep their stock in shards, so the shard total is added to the row quantity.
+     */
+    private static final String PAGE_SQL =
+            "SELECT i.id, i.product_code, i.product_name, i.description, i.version, i.quantity + " +
+            "COALESCE((SELECT SUM(s.quantity) FROM inventory_shard s WHERE s.product_code = i.product_code), 0) AS quantity " +
+            "FROM inventory i WHERE i.id > ? ORDER BY i.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int upsertAll(List<Inventory> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, items, items.size(), (statement, item) -> {
+            statement.setString(1, item.getProductCode());
+            statement.setString(2, item.getProductName());
+            statement.setInt(3, item.getQuantity());
+            statement.setString(4, item.getDescription());
+        });
+        return items.size();
+    }
+
+    @Override
+    public OptionalInt decrementQuantityReturningRemaining(String productCode, int quantity) {
+        return jdbcTemplate.execute((ConnectionCallback<OptionalInt>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(DECREMENT_RETURNING_SQL)) {
+                update.setInt(1, quantity);
+                update.setString(2, productCode);
+                update.setInt(3, quantity);
+                // LAST_INSERT_ID() keeps its previous value when no row matched, so it is only read after an update
+                if (update.executeUpdate() == 0) {
+                    return OptionalInt.empty();
+                }
+            }
+
+            try (Statement select = connection.createStatement();
+                 ResultSet resultSet = select.executeQuery(LAST_INSERT_ID_SQL)) {
+                resultSet.next();
+                return OptionalInt.of(resultSet.getInt(1));
+            }
+        });
+    }
+
+    @Override
+    public long forEachInIdOrder(int pageSize, int fetchSize, Consumer<Inventory> consumer) {
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            long afterId = lastId;
+            PageCursor page = new PageCursor(afterId);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        PAGE_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                statement.setLong(1, afterId);
+                statement.setInt(2, pageSize);
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                Inventory item = Inventory.builder()
+                        .id(resultSet.getLong("id"))
+                        .productCode(resultSet.getString("product_code"))
+                        .productName(resultSet.getString("product_name"))
+                        .quantity(resultSet.getInt("quantity"))
+                        .description(resultSet.getString("description"))
+                        .version(resultSet.getLong("version"))
+                        .build();
+                consumer.accept(item);
+                page.advance(item.getId());
+            });
+
+            total += page.rows;
+            if (page.rows < pageSize) {
+                return total;
+            }
+            lastId = page.lastId;
+        }
+    }
+
+    /**
+     * Position of the keyset walk within a single page.
+     */
+    private static final class PageCursor {
+
+        private long lastId;
+        private int rows;
+
+        PageCursor(long lastId) {
+            this.lastId = lastId;
+        }
+
+        void advance(long id) {
+            lastId = id;
+            rows++;
+        }
+    }
+}
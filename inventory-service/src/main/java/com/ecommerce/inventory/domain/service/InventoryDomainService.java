@@ -1,8 +1,14 @@
 package com.ecommerce.inventory.domain.service;
 
 import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockReservation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.function.Consumer;
 
 /**
  * Domain service for inventory operations using functional programming paradigm.
@@ -15,15 +21,65 @@ public interface InventoryDomainService {
      */
     Inventory addInventoryItem(Inventory inventory);
 
+    /**
+     * Add or update several inventory items by product code in one batch, without reading them first
+     * Returns the number of items written
+     */
+    int importInventoryItems(List<Inventory> items);
+
     /**
      * Find an inventory item by product code
      * Returns the item or throws InventoryNotFoundException if not found
      */
     Optional<Inventory> getInventoryItemByProductCode(String productCode);
 
+    /**
+     * Find several inventory items by product code at once
+     * Returns the items found keyed by product code, product codes that do not exist are left out
+     */
+    Map<String, Inventory> getInventoryItemsByProductCodes(Collection<String> productCodes);
+
+    /**
+     * Walk every inventory item in ascending id order with keyset pagination, without collecting them
+     * Returns the number of items passed to the consumer
+     */
+    long forEachInventoryItem(int pageSize, int fetchSize, Consumer<Inventory> consumer);
+
     /**
      * Validate and lock stock in one atomic operation
      * Returns Optional with the updated item if successful, empty Optional otherwise
      */
     Optional<Inventory> validateAndLockStock(String productCode, int quantity, String lockReferenceId);
-}
\ No newline at end of file
+
+    /**
+     * Reserve stock with a single check-and-decrement, without loading or locking the entity
+     * Returns the outcome together with the available and remaining quantity
+     */
+    StockReservation reserveStock(String productCode, int quantity, String lockReferenceId);
+
+    /**
+     * Reserve stock for several products in one atomic operation, all-or-nothing
+     * Products are reserved in ascending product code order so concurrent batches cannot deadlock
+     * Returns one outcome per product in that order; if any line is not reserved, no stock is reserved
+     */
+    List<StockReservation> reserveStockBatch(Map<String, Integer> quantitiesByProductCode, String lockReferenceId);
+
+    /**
+     * Reserve stock for several requests on the same product in one atomic operation
+     * Requests are granted in iteration order until the stock runs out, every later request is rejected
+     * Returns one outcome per lock reference in the same order
+     */
+    List<StockReservation> reserveStockInOrder(String productCode, SequencedMap<String, Integer> quantitiesByLockReferenceId);
+
+    /**
+     * Return previously locked stock to the available quantity
+     * Returns true if the stock was released, false if the product could not be found
+     */
+    boolean releaseStock(String productCode, int quantity, String lockReferenceId);
+
+    /**
+     * Find the product codes without any available stock
+     * Returns the product codes in ascending order
+     */
+    List<String> getSoldOutProductCodes();
+}
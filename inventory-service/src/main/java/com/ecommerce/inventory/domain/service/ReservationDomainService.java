@@ -0,0 +1,49 @@
+package com.ecommerce.inventory.domain.service;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Domain service for the reservations held under a lock reference.
+ * A reservation is claimed exactly once, by an unlock, a commit or expiry, and only the
+ * claimer may return the reserved stock.
+ */
+public interface ReservationDomainService {
+
+    /**
+     * Record the reserved lines of a lock reference with the configured time to live
+     * Returns the stored lines
+     */
+    List<Reservation> register(String lockReferenceId, Map<String, Integer> quantitiesByProductCode);
+
+    /**
+     * Claim every line of a lock reference so its stock can be released
+     * Returns an empty list if the reference is unknown or was already unlocked or expired
+     */
+    List<Reservation> claim(String lockReferenceId);
+
+    /**
+     * Claim every line of a lock reference whose sale went through, so its stock is never released
+     * Returns an empty list if the reference is unknown or was already unlocked, committed or expired
+     */
+    List<Reservation> commit(String lockReferenceId);
+
+    /**
+     * Store claimed lines again, keeping their original expiry, after their stock could not be released
+     */
+    void restore(List<Reservation> reservations);
+
+    /**
+     * Claim the lines of at most batchSize lock references that expired at or before now
+     * Returns the claimed lines
+     */
+    List<Reservation> claimExpired(Instant now, int batchSize);
+
+    /**
+     * Number of lock references that are held and not yet expired
+     */
+    int liveReservations();
+}
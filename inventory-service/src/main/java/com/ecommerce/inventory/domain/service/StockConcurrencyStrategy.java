@@ -0,0 +1,22 @@
+package com.ecommerce.inventory.domain.service;
+
+import com.ecommerce.inventory.domain.model.StockLock;
+
+/**
+ * How the database engine keeps concurrent reservations of the same product from overselling.
+ * Each strategy checks and reduces the stock in transactions of its own, so it owns the isolation
+ * level, the locking and the retry policy.
+ */
+public interface StockConcurrencyStrategy {
+
+    /**
+     * Name used to select the strategy in configuration
+     */
+    String name();
+
+    /**
+     * Check and reduce the stock of a product
+     * Throws when a locking conflict or database failure could not be resolved
+     */
+    StockLock lockStock(String productCode, int quantity);
+}
@@ -0,0 +1,581 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.infrastructure.journal.StockLedger;
+import com.ecommerce.inventory.infrastructure.journal.StockMovement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory reservation engine.
+ *
+ * <p>The available quantity of every product that has been touched is kept in memory and is
+ * authoritative for reservations:
+ * <ul>
+ *   <li>Reservations and releases are lock-free compare-and-set operations on the counter</li>
+ *   <li>Loading a product and admin writes are serialised through a fixed set of striped locks</li>
+ *   <li>Changes are persisted asynchronously as relative deltas by {@link #flushPendingDeltas()}</li>
+ * </ul>
+ *
+ * <p>With {@code inventory.reservation.in-memory.journal.enabled=true} every reservation and
+ * release is also written to the {@link StockLedger} journal and confirmed only once the journal
+ * is on disk, so no change is lost if the service crashes before the deltas are flushed. The
+ * deltas are then flushed from the journal rather than from the counters.
+ *
+ * <p>Because the counters are authoritative, only one service instance may run this engine
+ * against a given inventory database.
+ */
+@Service
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "engine", havingValue = "in-memory")
+@Slf4j
+public class InMemoryInventoryDomainServiceImpl implements InventoryDomainService {
+
+    private final InventoryRepository inventoryRepository;
+    private final Map<String, StockCounter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final Optional<StockLedger> stockLedger;
+
+    public InMemoryInventoryDomainServiceImpl(
+            InventoryRepository inventoryRepository,
+            @Value("${inventory.reservation.in-memory.lock-stripes:64}") int lockStripes,
+            Optional<StockLedger> stockLedger) {
+        this.inventoryRepository = inventoryRepository;
+        this.stockLedger = stockLedger;
+        // Round up to a power of two so the stripe can be selected with a mask
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Writes the item through to the database and replaces the in-memory counter.
+     * The stored row is re-read so the write is applied on top of the latest flushed version;
+     * deltas still pending on the old counter are superseded by the absolute quantity.
+     * With the journal, the movements of the old counter are flushed before the write instead.
+     */
+    @Override
+    public Inventory addInventoryItem(Inventory inventory) {
+        String productCode = inventory.getProductCode();
+        ReentrantLock lock = stripeFor(productCode);
+        lock.lock();
+        try {
+            StockCounter existing = counters.get(productCode);
+            if (existing != null) {
+                existing.retire();
+            }
+
+            try {
+                stockLedger.ifPresent(StockLedger::flush);
+                Inventory toSave = Optional.ofNullable(inventory.getId())
+                        .flatMap(inventoryRepository::findById)
+                        .map(stored -> {
+                            stored.setProductName(inventory.getProductName());
+                            stored.setQuantity(inventory.getQuantity());
+                            stored.setDescription(inventory.getDescription());
+                            return stored;
+                        })
+                        .orElse(inventory);
+
+                Inventory saved = inventoryRepository.save(toSave);
+                StockCounter counter = new StockCounter(saved);
+                counters.put(productCode, counter);
+                return counter.snapshot(saved.getQuantity());
+            } catch (RuntimeException e) {
+                // Keep the reservations made so far and reload the counter on next access
+                if (existing != null) {
+                    counters.remove(productCode, existing);
+                    flush(productCode, existing);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the items through to the database in one batch while holding the stripe locks of
+     * every product in the batch, then drops their counters so they are reloaded on next access.
+     * As with {@link #addInventoryItem(Inventory)}, pending deltas are superseded by the absolute quantities.
+     */
+    @Override
+    public int importInventoryItems(List<Inventory> items) {
+        // Stripes are always taken in index order, so concurrent imports cannot deadlock each other
+        SortedSet<Integer> stripeIndexes = items.stream()
+                .map(item -> stripeIndexFor(item.getProductCode()))
+                .collect(Collectors.toCollection(TreeSet::new));
+        stripeIndexes.forEach(index -> stripes[index].lock());
+        try {
+            Map<String, StockCounter> retired = new HashMap<>();
+            items.forEach(item -> Optional.ofNullable(counters.remove(item.getProductCode()))
+                    .ifPresent(counter -> {
+                        counter.retire();
+                        retired.put(item.getProductCode(), counter);
+                    }));
+
+            try {
+                stockLedger.ifPresent(StockLedger::flush);
+                return inventoryRepository.upsertAll(items);
+            } catch (RuntimeException e) {
+                // Keep the reservations made so far, the counters are reloaded on next access
+                retired.forEach(this::flush);
+                throw e;
+            }
+        } finally {
+            stripeIndexes.forEach(index -> stripes[index].unlock());
+        }
+    }
+
+    @Override
+    public Optional<Inventory> getInventoryItemByProductCode(String productCode) {
+        return counterFor(productCode)
+                .map(counter -> counter.snapshot(counter.available()));
+    }
+
+    /**
+     * Products with a live counter are read from memory, all others with a single query.
+     * Products that have never been touched have no pending deltas, so their stored row is current.
+     */
+    @Override
+    public Map<String, Inventory> getInventoryItemsByProductCodes(Collection<String> productCodes) {
+        Map<String, Inventory> items = new HashMap<>();
+        List<String> notLoaded = new ArrayList<>();
+        for (String productCode : new LinkedHashSet<>(productCodes)) {
+            StockCounter counter = counters.get(productCode);
+            if (counter != null && !counter.isRetired()) {
+                items.put(productCode, counter.snapshot(counter.available()));
+            } else {
+                notLoaded.add(productCode);
+            }
+        }
+
+        if (!notLoaded.isEmpty()) {
+            inventoryRepository.findAllByProductCodeIn(notLoaded)
+                    .forEach(item -> items.put(item.getProductCode(), item));
+        }
+        return items;
+    }
+
+    /**
+     * Walks the stored rows and replaces the quantity of products with a live counter, which may be
+     * ahead of the row until its deltas are flushed.
+     */
+    @Override
+    public long forEachInventoryItem(int pageSize, int fetchSize, Consumer<Inventory> consumer) {
+        return inventoryRepository.forEachInIdOrder(pageSize, fetchSize, item -> {
+            StockCounter counter = counters.get(item.getProductCode());
+            consumer.accept(counter != null && !counter.isRetired() ? counter.snapshot(counter.available()) : item);
+        });
+    }
+
+    @Override
+    public Optional<Inventory> validateAndLockStock(String productCode, int quantity, String lockReferenceId) {
+        StockReservation reservation = reserveStock(productCode, quantity, lockReferenceId);
+        if (!reservation.isReserved()) {
+            return Optional.empty();
+        }
+
+        return counterFor(productCode)
+                .map(counter -> counter.snapshot(reservation.remainingQuantity()));
+    }
+
+    @Override
+    public StockReservation reserveStock(String productCode, int quantity, String lockReferenceId) {
+        while (true) {
+            Optional<StockCounter> counter = counterFor(productCode);
+            if (counter.isEmpty()) {
+                log.warn("Product not found in inventory: {}", productCode);
+                return StockReservation.notFound(productCode, quantity);
+            }
+
+            int remaining = reserve(counter.get(), productCode, quantity);
+            if (remaining == StockCounter.RETIRED) {
+                // Counter was replaced by an admin write, retry against the new one
+                continue;
+            }
+            if (remaining == StockCounter.INSUFFICIENT) {
+                int available = counter.get().available();
+                log.warn("Insufficient stock for product {}: requested={}, available={}",
+                        productCode, quantity, available);
+                return StockReservation.insufficientStock(productCode, quantity, available);
+            }
+
+            log.info("Locking stock for product {}: quantity={}, reference={}",
+                    productCode, quantity, lockReferenceId);
+            return StockReservation.reserved(productCode, quantity, remaining);
+        }
+    }
+
+    /**
+     * Reserves the lines one by one in product code order and releases the lines already
+     * reserved as soon as one of them fails. Concurrent readers may briefly observe a partial
+     * batch, but the outcome is all-or-nothing.
+     */
+    @Override
+    public List<StockReservation> reserveStockBatch(Map<String, Integer> quantitiesByProductCode,
+                                                    String lockReferenceId) {
+        SortedMap<String, Integer> lines = new TreeMap<>(quantitiesByProductCode);
+        List<StockReservation> reservations = new ArrayList<>(lines.size());
+        try {
+            lines.forEach((productCode, quantity) ->
+                    reservations.add(reserveStock(productCode, quantity, lockReferenceId)));
+        } catch (RuntimeException e) {
+            // The journal could not record a line, give back the lines already reserved
+            releaseReserved(reservations, lockReferenceId);
+            throw e;
+        }
+
+        if (reservations.stream().allMatch(StockReservation::isReserved)) {
+            return reservations;
+        }
+
+        releaseReserved(reservations, lockReferenceId);
+        return reservations.stream().map(StockReservation::withdrawn).toList();
+    }
+
+    private void releaseReserved(List<StockReservation> reservations, String lockReferenceId) {
+        reservations.stream()
+                .filter(StockReservation::isReserved)
+                .forEach(reservation -> releaseStock(
+                        reservation.productCode(), reservation.requestedQuantity(), lockReferenceId));
+    }
+
+    @Override
+    public List<StockReservation> reserveStockInOrder(String productCode,
+                                                      SequencedMap<String, Integer> quantitiesByLockReferenceId) {
+        List<StockReservation> reservations = new ArrayList<>(quantitiesByLockReferenceId.size());
+        boolean exhausted = false;
+        for (Map.Entry<String, Integer> request : quantitiesByLockReferenceId.entrySet()) {
+            StockReservation reservation = exhausted
+                    ? StockReservation.insufficientStock(productCode, request.getValue(),
+                            reservations.get(reservations.size() - 1).availableQuantity())
+                    : reserveStock(productCode, request.getValue(), request.getKey());
+            exhausted = !reservation.isReserved();
+            reservations.add(reservation);
+        }
+        return reservations;
+    }
+
+    @Override
+    public boolean releaseStock(String productCode, int quantity, String lockReferenceId) {
+        while (true) {
+            Optional<StockCounter> counter = counterFor(productCode);
+            if (counter.isEmpty()) {
+                log.warn("Product not found in inventory while releasing stock: {}", productCode);
+                return false;
+            }
+
+            if (release(counter.get(), productCode, quantity)) {
+                log.info("Released stock for product {}: quantity={}, reference={}",
+                        productCode, quantity, lockReferenceId);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reads the sold out products from the database and corrects them with the live counters,
+     * which are ahead of the stored quantities until their deltas are flushed.
+     */
+    @Override
+    public List<String> getSoldOutProductCodes() {
+        SortedSet<String> soldOut = new TreeSet<>(inventoryRepository.findSoldOutProductCodes());
+        counters.forEach((productCode, counter) -> {
+            if (counter.isRetired()) {
+                return;
+            }
+            if (counter.available() == 0) {
+                soldOut.add(productCode);
+            } else {
+                soldOut.remove(productCode);
+            }
+        });
+        return List.copyOf(soldOut);
+    }
+
+    /**
+     * Persists the accumulated deltas of every counter, or the journaled movements when the journal is enabled.
+     * A failed write is put back on the counter and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${inventory.reservation.in-memory.flush-interval-ms:100}")
+    public void flushPendingDeltas() {
+        if (stockLedger.isPresent()) {
+            try {
+                stockLedger.get().flush();
+            } catch (Exception e) {
+                log.error("Error flushing stock journal: {}", e.getMessage());
+            }
+            return;
+        }
+
+        counters.forEach((productCode, counter) -> {
+            if (counter.pendingDelta.get() == 0) {
+                return;
+            }
+
+            ReentrantLock lock = stripeFor(productCode);
+            lock.lock();
+            try {
+                if (!counter.isRetired()) {
+                    flush(productCode, counter);
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("Flushing in-memory stock counters before shutdown");
+        flushPendingDeltas();
+    }
+
+    private void flush(String productCode, StockCounter counter) {
+        if (stockLedger.isPresent()) {
+            // The journal holds the movements of the counter, they are flushed from there
+            return;
+        }
+
+        int delta = counter.pendingDelta.getAndSet(0);
+        if (delta == 0) {
+            return;
+        }
+
+        try {
+            inventoryRepository.adjustQuantity(productCode, delta);
+        } catch (Exception e) {
+            counter.pendingDelta.addAndGet(delta);
+            log.error("Error persisting stock delta for product {}: delta={}, error={}",
+                    productCode, delta, e.getMessage());
+        }
+    }
+
+    /**
+     * Reserves on the counter and, with the journal, records the reservation and waits until it is
+     * durable. A reservation that cannot be made durable is given back and fails.
+     *
+     * @return the remaining quantity, {@link StockCounter#INSUFFICIENT} or {@link StockCounter#RETIRED}
+     */
+    private int reserve(StockCounter counter, String productCode, int quantity) {
+        if (stockLedger.isEmpty()) {
+            return counter.reserve(quantity);
+        }
+
+        int remaining;
+        long position;
+        counter.enter();
+        try {
+            remaining = counter.reserve(quantity);
+            if (remaining < 0) {
+                return remaining;
+            }
+            try {
+                position = stockLedger.get().record(StockMovement.RESERVE, productCode, quantity);
+            } catch (RuntimeException e) {
+                counter.release(quantity);
+                throw e;
+            }
+        } finally {
+            counter.exit();
+        }
+
+        if (!stockLedger.get().awaitDurable(position)) {
+            // A retired counter needs no release, the admin write has already superseded it
+            release(counter, productCode, quantity);
+            throw new IllegalStateException("Stock journal is not durable, reservation withdrawn for product " + productCode);
+        }
+        return remaining;
+    }
+
+    /**
+     * Releases on the counter and, with the journal, records the release. A release that is not
+     * durable in time is still confirmed: losing it in a crash can only understate the stock.
+     *
+     * @return false if the counter was retired and the caller has to retry
+     */
+    private boolean release(StockCounter counter, String productCode, int quantity) {
+        if (stockLedger.isEmpty()) {
+            return counter.release(quantity);
+        }
+
+        long position;
+        counter.enter();
+        try {
+            if (!counter.release(quantity)) {
+                return false;
+            }
+            try {
+                position = stockLedger.get().record(StockMovement.RELEASE, productCode, quantity);
+            } catch (RuntimeException e) {
+                counter.reserve(quantity);
+                throw e;
+            }
+        } finally {
+            counter.exit();
+        }
+
+        if (!stockLedger.get().awaitDurable(position)) {
+            log.warn("Stock journal is not durable yet for a release of product {}: quantity={}", productCode, quantity);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the live counter for a product, loading it from the database on first access.
+     */
+    private Optional<StockCounter> counterFor(String productCode) {
+        StockCounter counter = counters.get(productCode);
+        if (counter != null && !counter.isRetired()) {
+            return Optional.of(counter);
+        }
+
+        ReentrantLock lock = stripeFor(productCode);
+        lock.lock();
+        try {
+            StockCounter current = counters.get(productCode);
+            if (current != null && !current.isRetired()) {
+                return Optional.of(current);
+            }
+
+            return inventoryRepository.findByProductCode(productCode)
+                    .map(item -> {
+                        StockCounter loaded = new StockCounter(item);
+                        counters.put(productCode, loaded);
+                        return loaded;
+                    });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripeFor(String productCode) {
+        return stripes[stripeIndexFor(productCode)];
+    }
+
+    private int stripeIndexFor(String productCode) {
+        int hash = productCode.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    /**
+     * Available quantity of a single product plus the delta not yet written to the database.
+     * With the journal, {@code inFlight} counts the reservations and releases that have changed
+     * the counter but may not be journaled yet.
+     */
+    private static final class StockCounter {
+
+        static final int RETIRED = Integer.MIN_VALUE;
+        static final int INSUFFICIENT = -1;
+
+        private final Inventory catalog;
+        private final AtomicInteger available;
+        private final AtomicInteger pendingDelta = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        StockCounter(Inventory item) {
+            this.catalog = item;
+            this.available = new AtomicInteger(item.getQuantity());
+        }
+
+        int available() {
+            return Math.max(0, available.get());
+        }
+
+        boolean isRetired() {
+            return available.get() == RETIRED;
+        }
+
+        /**
+         * Stops the counter and waits for the movements in flight, so every movement of a retired
+         * counter is in the journal before the admin write that replaces it.
+         */
+        void retire() {
+            available.set(RETIRED);
+            while (inFlight.get() != 0) {
+                Thread.yield();
+            }
+        }
+
+        void enter() {
+            inFlight.incrementAndGet();
+        }
+
+        void exit() {
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * @return the remaining quantity, {@link #INSUFFICIENT} or {@link #RETIRED}
+         */
+        int reserve(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current == RETIRED) {
+                    return RETIRED;
+                }
+                if (current < quantity) {
+                    return INSUFFICIENT;
+                }
+                if (available.compareAndSet(current, current - quantity)) {
+                    pendingDelta.addAndGet(-quantity);
+                    return current - quantity;
+                }
+            }
+        }
+
+        /**
+         * @return false if the counter was retired and the caller has to retry
+         */
+        boolean release(int quantity) {
+            while (true) {
+                int current = available.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+                if (available.compareAndSet(current, current + quantity)) {
+                    pendingDelta.addAndGet(quantity);
+                    return true;
+                }
+            }
+        }
+
+        Inventory snapshot(int quantity) {
+            return Inventory.builder()
+                    .id(catalog.getId())
+                    .productCode(catalog.getProductCode())
+                    .productName(catalog.getProductName())
+                    .quantity(quantity)
+                    .description(catalog.getDescription())
+                    .version(catalog.getVersion())
+                    .build();
+        }
+    }
+}
@@ -1,75 +1,333 @@
 package com.ecommerce.inventory.domain.service.impl;
 
 import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.model.StockReservation;
 import com.ecommerce.inventory.domain.repository.InventoryRepository;
 import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import com.ecommerce.inventory.domain.service.impl.concurrency.StockConcurrencyStrategies;
+import com.ecommerce.inventory.infrastructure.config.CacheConfig;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SequencedMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Database backed reservation engine; this is the default engine.
+ * How a reservation is protected from concurrent ones is decided per product by {@link StockConcurrencyStrategies}.
+ */
 @Service
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "engine", havingValue = "database", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryDomainServiceImpl implements InventoryDomainService {
 
+    /**
+     * Upper bound on the number of product codes bound into a single IN-list query.
+     */
+    static final int IN_LIST_CHUNK_SIZE = 500;
+
     private final InventoryRepository inventoryRepository;
+    private final CacheManager cacheManager;
+    private final ReservationMetrics reservationMetrics;
+    private final StockConcurrencyStrategies stockConcurrencyStrategies;
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#inventory.productCode")
     public Inventory addInventoryItem(Inventory inventory) {
         return inventoryRepository.save(inventory);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    public int importInventoryItems(List<Inventory> items) {
+        int written = inventoryRepository.upsertAll(items);
+        evictCachedItems(items.stream().map(Inventory::getProductCode).toList());
+        return written;
+    }
+
+    /**
+     * Read-through cached lookup, unknown product codes are cached as well.
+     * Every write below evicts the entries of the products it touches.
+     * Not read-only, so the read that fills the cache goes to the primary: a replica read could be
+     * older than the write whose eviction caused the miss, and would stay cached until the next write.
+     */
+    @Override
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#productCode")
     public Optional<Inventory> getInventoryItemByProductCode(String productCode) {
         return inventoryRepository.findByProductCode(productCode);
     }
 
     /**
-     * Validates and locks stock in a single atomic operation.
-     * Using SERIALIZABLE isolation and pessimistic locking to prevent concurrent transactions.
-     * The combination of:
-     * 1. SERIALIZABLE isolation
-     * 2. Pessimistic locking with SELECT FOR UPDATE
-     * 3. Optimistic locking via @Version
-     * ensures the highest level of concurrency control.
+     * Serves what it can from the item cache and loads the remaining products with IN-list queries
+     * of at most {@link #IN_LIST_CHUNK_SIZE} codes. Loaded products, and the codes that do not
+     * exist, are put in the cache the same way single lookups are, so they are read from the primary too.
      */
     @Override
-    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @Transactional
+    public Map<String, Inventory> getInventoryItemsByProductCodes(Collection<String> productCodes) {
+        Optional<Cache> cache = Optional.ofNullable(cacheManager.getCache(CacheConfig.INVENTORY_ITEMS));
+        Map<String, Inventory> items = new HashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String productCode : new LinkedHashSet<>(productCodes)) {
+            Cache.ValueWrapper cached = cache.map(c -> c.get(productCode)).orElse(null);
+            if (cached == null) {
+                uncached.add(productCode);
+            } else if (cached.get() instanceof Inventory item) {
+                items.put(productCode, item);
+            }
+        }
+
+        for (int from = 0; from < uncached.size(); from += IN_LIST_CHUNK_SIZE) {
+            List<String> chunk = uncached.subList(from, Math.min(from + IN_LIST_CHUNK_SIZE, uncached.size()));
+            Map<String, Inventory> loaded = inventoryRepository.findAllByProductCodeIn(chunk).stream()
+                    .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+            items.putAll(loaded);
+            cache.ifPresent(c -> chunk.forEach(productCode -> c.putIfAbsent(productCode, loaded.get(productCode))));
+        }
+        return items;
+    }
+
+    /**
+     * Reads straight from the table, bypassing the item cache; every page runs in its own statement
+     * so no transaction is held open for the whole walk.
+     */
+    @Override
+    public long forEachInventoryItem(int pageSize, int fetchSize, Consumer<Inventory> consumer) {
+        return inventoryRepository.forEachInIdOrder(pageSize, fetchSize, consumer);
+    }
+
+    /**
+     * Validates and locks stock with the {@link StockConcurrencyStrategy} of the product, which
+     * runs its own transaction: SERIALIZABLE with a row lock and {@code @Version} by default, or
+     * optimistic retries, a single guarded update or READ COMMITTED with a row lock when configured.
+     *
+     * <p>The row lock wait, the save and the whole call are timed by {@link ReservationMetrics}.
+     * Conflicts the strategy could not resolve are counted as locking failures.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#productCode")
     public Optional<Inventory> validateAndLockStock(String productCode, int quantity, String lockReferenceId) {
+        StockConcurrencyStrategy strategy = stockConcurrencyStrategies.forProduct(productCode);
+        Timer.Sample sample = reservationMetrics.startValidation();
         try {
-            // Using functional approach with flatMap
-            return inventoryRepository.findByProductCodeWithLock(productCode)
-                    .flatMap(item -> {
-                        // Check if we have sufficient stock
-                        if (!item.hasStock(quantity)) {
-                            log.warn("Insufficient stock for product {}: requested={}, available={}",
-                                    productCode, quantity, item.getQuantity());
-                            return Optional.empty();
-                        }
-
-                        // Lock the stock by reducing the quantity
-                        item.reduceStock(quantity);
-                        log.info("Locking stock for product {}: quantity={}, reference={}",
-                                productCode, quantity, lockReferenceId);
-
-                        // Save will update the version due to @Version annotation
-                        return Optional.of(inventoryRepository.save(item));
-                    })
-                    .or(() -> {
-                        // Handle case when product code not found
-                        log.warn("Product not found in inventory: {}", productCode);
-                        return Optional.empty();
-                    });
+            StockLock lock = strategy.lockStock(productCode, quantity);
+            switch (lock.status()) {
+                case NOT_FOUND -> {
+                    // Handle case when product code not found
+                    log.warn("Product not found in inventory: {}", productCode);
+                    reservationMetrics.recordOutcome(sample, ReservationMetrics.Outcome.NOT_FOUND);
+                    return Optional.empty();
+                }
+                case RESERVED -> {
+                    log.info("Locking stock for product {}: quantity={}, reference={}, strategy={}",
+                            productCode, quantity, lockReferenceId, strategy.name());
+                    reservationMetrics.recordOutcome(sample, ReservationMetrics.Outcome.LOCKED);
+                    return Optional.of(lock.item());
+                }
+                default -> {
+                    log.warn("Insufficient stock for product {}: requested={}, available={}",
+                            productCode, quantity, lock.item().getQuantity());
+                    reservationMetrics.recordOutcome(sample, ReservationMetrics.Outcome.INSUFFICIENT);
+                    return Optional.empty();
+                }
+            }
         } catch (Exception e) {
-            log.error("Error while locking stock for product {}: {}",
-                    productCode, e.getMessage());
+            log.error("Error while locking stock for product {}: strategy={}, error={}",
+                    productCode, strategy.name(), e.getMessage());
+            reservationMetrics.recordFailure(e);
+            reservationMetrics.recordOutcome(sample, ReservationMetrics.Outcome.ERROR);
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reserves stock with one guarded UPDATE ... WHERE quantity >= ? statement, committed on its own,
+     * so the row is only locked for that one round trip. The update also reports the quantity it left.
+     * When nothing was updated, the quantity is read afterwards, outside the writing transaction,
+     * to tell a missing product from insufficient stock.
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#productCode")
+    public StockReservation reserveStock(String productCode, int quantity, String lockReferenceId) {
+        OptionalInt remaining = reservationMetrics.timeLockWait(productCode, 1,
+                () -> inventoryRepository.decrementQuantityReturningRemaining(productCode, quantity));
+
+        if (remaining.isPresent()) {
+            log.info("Locking stock for product {}: quantity={}, remaining={}, reference={}",
+                    productCode, quantity, remaining.getAsInt(), lockReferenceId);
+            return StockReservation.reserved(productCode, quantity, remaining.getAsInt());
+        }
+
+        Optional<Integer> currentQuantity = inventoryRepository.findQuantityByProductCode(productCode);
+        if (currentQuantity.isEmpty()) {
+            log.warn("Product not found in inventory: {}", productCode);
+            return StockReservation.notFound(productCode, quantity);
+        }
+
+        log.warn("Insufficient stock for product {}: requested={}, available={}",
+                productCode, quantity, currentQuantity.get());
+        return StockReservation.insufficientStock(productCode, quantity, currentQuantity.get());
+    }
+
+    /**
+     * Reserves every line of a batch inside one transaction.
+     * All rows are locked with a single ordered SELECT ... FOR UPDATE before any quantity is
+     * checked, so the locks are always taken in product code order. The entities are only
+     * modified once every line is known to have enough stock, so a failed batch writes nothing.
+     */
+    @Override
+    @Transactional
+    public List<StockReservation> reserveStockBatch(Map<String, Integer> quantitiesByProductCode,
+                                                    String lockReferenceId) {
+        SortedMap<String, Integer> lines = new TreeMap<>(quantitiesByProductCode);
+        evictCachedItems(lines.keySet());
+        Map<String, Inventory> items = inventoryRepository.findAllByProductCodeInWithLock(List.copyOf(lines.keySet())).stream()
+                .collect(Collectors.toMap(Inventory::getProductCode, Function.identity()));
+
+        List<StockReservation> reservations = lines.entrySet().stream()
+                .map(line -> Optional.ofNullable(items.get(line.getKey()))
+                        .map(item -> item.hasStock(line.getValue())
+                                ? StockReservation.reserved(item.getProductCode(), line.getValue(),
+                                        item.getQuantity() - line.getValue())
+                                : StockReservation.insufficientStock(item.getProductCode(), line.getValue(),
+                                        item.getQuantity()))
+                        .orElseGet(() -> StockReservation.notFound(line.getKey(), line.getValue())))
+                .toList();
+
+        if (!reservations.stream().allMatch(StockReservation::isReserved)) {
+            log.warn("Batch {} not reserved: {}", lockReferenceId, reservations.stream()
+                    .filter(reservation -> !reservation.isReserved())
+                    .map(reservation -> reservation.productCode() + "=" + reservation.status())
+                    .collect(Collectors.joining(", ")));
+            return reservations.stream().map(StockReservation::withdrawn).toList();
+        }
+
+        reservations.forEach(reservation -> items.get(reservation.productCode())
+                .reduceStock(reservation.requestedQuantity()));
+        inventoryRepository.saveAll(items.values());
+        log.info("Locking stock for batch {}: lines={}", lockReferenceId, reservations.size());
+        return reservations;
+    }
+
+    /**
+     * Grants several requests for the same product under a single row lock and a single save.
+     * Uses the same SERIALIZABLE isolation and pessimistic lock as the default pessimistic strategy.
+     */
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#productCode")
+    public List<StockReservation> reserveStockInOrder(String productCode,
+                                                      SequencedMap<String, Integer> quantitiesByLockReferenceId) {
+        Optional<Inventory> item = reservationMetrics.timeLockWait(productCode, quantitiesByLockReferenceId.size(),
+                () -> inventoryRepository.findByProductCodeWithLock(productCode));
+        if (item.isEmpty()) {
+            log.warn("Product not found in inventory: {}", productCode);
+            return quantitiesByLockReferenceId.values().stream()
+                    .map(quantity -> StockReservation.notFound(productCode, quantity))
+                    .toList();
+        }
+
+        Inventory inventory = item.get();
+        List<StockReservation> reservations = new ArrayList<>(quantitiesByLockReferenceId.size());
+        boolean exhausted = false;
+        for (Map.Entry<String, Integer> request : quantitiesByLockReferenceId.entrySet()) {
+            int quantity = request.getValue();
+            exhausted = exhausted || !inventory.hasStock(quantity);
+            if (exhausted) {
+                reservations.add(StockReservation.insufficientStock(productCode, quantity, inventory.getQuantity()));
+                continue;
+            }
+
+            inventory.reduceStock(quantity);
+            reservations.add(StockReservation.reserved(productCode, quantity, inventory.getQuantity()));
+        }
+
+        long granted = reservations.stream().filter(StockReservation::isReserved).count();
+        if (granted > 0) {
+            inventoryRepository.save(inventory);
+        }
+        log.info("Locking stock for product {}: granted={}, rejected={}",
+                productCode, granted, reservations.size() - granted);
+        return reservations;
+    }
+
+    /**
+     * Releases stock with a single relative update, so no row needs to be read or locked upfront.
+     * The cached item is evicted once the outermost transaction commits, which for the expiry
+     * sweeper is the batch transaction and not this method.
+     */
+    @Override
+    @Transactional
+    public boolean releaseStock(String productCode, int quantity, String lockReferenceId) {
+        evictCachedItems(List.of(productCode));
+        int updated = inventoryRepository.adjustQuantity(productCode, quantity);
+        if (updated == 0) {
+            log.warn("Product not found in inventory while releasing stock: {}", productCode);
+            return false;
+        }
+
+        log.info("Released stock for product {}: quantity={}, reference={}",
+                productCode, quantity, lockReferenceId);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getSoldOutProductCodes() {
+        return inventoryRepository.findSoldOutProductCodes();
+    }
+
+    /**
+     * Evicts the cached items once the current transaction has committed, like {@code @CacheEvict}
+     * does for single-item writes. Evicting earlier would let a concurrent cache miss reload and
+     * cache the rows as they were before the commit.
+     */
+    private void evictCachedItems(Collection<String> productCodes) {
+        List<String> evicted = List.copyOf(productCodes);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(evicted);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(evicted);
+            }
+        });
+    }
+
+    private void evictNow(Collection<String> productCodes) {
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.INVENTORY_ITEMS))
+                .ifPresent(cache -> productCodes.forEach(cache::evict));
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.InventoryShard;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.InventoryShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves the stock of products that are no longer hot out of their shards and back into the inventory row.
+ *
+ * <p>Runs with the database engine whether or not any product is configured as hot, so removing the
+ * last product from {@code inventory.reservation.sharding.hot-skus} folds its shards back as well.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "engine", havingValue = "database", matchIfMissing = true)
+@Slf4j
+public class InventoryShardReconciler {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardRepository inventoryShardRepository;
+    private final Set<String> hotSkus;
+
+    public InventoryShardReconciler(
+            InventoryRepository inventoryRepository,
+            InventoryShardRepository inventoryShardRepository,
+            @Value("${inventory.reservation.sharding.hot-skus:}") Set<String> hotSkus) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryShardRepository = inventoryShardRepository;
+        this.hotSkus = Set.copyOf(hotSkus);
+    }
+
+    /**
+     * Adds the shard quantities of every product that has shards but is no longer hot to its
+     * inventory row and deletes the shards. The row and the shards are locked first, so an
+     * instance still running with the old configuration cannot reserve from a shard being folded.
+     *
+     * @return The number of products folded back
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public int foldRetiredShards() {
+        List<String> retired = inventoryShardRepository.findShardedProductCodes().stream()
+                .filter(productCode -> !hotSkus.contains(productCode))
+                .toList();
+
+        retired.forEach(productCode -> inventoryRepository.findByProductCodeWithLock(productCode)
+                .ifPresentOrElse(item -> {
+                    int quantity = inventoryShardRepository.findByProductCodeWithLock(productCode).stream()
+                            .mapToInt(InventoryShard::getQuantity)
+                            .sum();
+                    item.increaseStock(quantity);
+                    inventoryRepository.saveAndFlush(item);
+                    inventoryShardRepository.deleteByProductCode(productCode);
+                    log.info("Folded shards of product {} back into inventory: quantity={}", productCode, quantity);
+                }, () -> {
+                    inventoryShardRepository.deleteByProductCode(productCode);
+                    log.warn("Deleted shards of product {} without an inventory item", productCode);
+                }));
+        return retired.size();
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.repository.ReservationRepository;
+import com.ecommerce.inventory.domain.service.ReservationDomainService;
+import com.ecommerce.inventory.infrastructure.timer.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reservation store backed by the {@code reservation} table.
+ *
+ * <p>The table is the source of truth: a lock reference is claimed by deleting its rows, and
+ * only a delete that removed rows grants the right to release the stock. The lines registered
+ * by this instance are also indexed in memory by lock reference, so an unlock does not need to
+ * read the table and the number of live reservations can be reported without a query.
+ *
+ * <p>The expiry of every indexed lock reference is tracked by a timing wheel that ticks at the
+ * sweep interval, so finding the expired references takes time in proportion to their number
+ * rather than to the number of live reservations, and an unlock or a commit cancels its expiry
+ * in constant time. References known only to the table, registered by another instance that stopped, are
+ * found with a query at most once per {@code orphan-sweep-interval}.
+ */
+@Service
+@Slf4j
+public class ReservationDomainServiceImpl implements ReservationDomainService {
+
+    private final ReservationRepository reservationRepository;
+    private final Duration timeToLive;
+    private final Duration orphanSweepInterval;
+    private final Map<String, List<Reservation>> index = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<String> expiryWheel;
+    private volatile Instant nextOrphanSweep = Instant.MIN;
+
+    public ReservationDomainServiceImpl(
+            ReservationRepository reservationRepository,
+            @Value("${inventory.reservation.ttl:15m}") Duration timeToLive,
+            @Value("${inventory.reservation.expiry.sweep-interval-ms:1000}") long tickMillis,
+            @Value("${inventory.reservation.expiry.orphan-sweep-interval:1m}") Duration orphanSweepInterval) {
+        this.reservationRepository = reservationRepository;
+        this.timeToLive = timeToLive;
+        this.orphanSweepInterval = orphanSweepInterval;
+        this.expiryWheel = new HierarchicalTimingWheel<>(tickMillis, Instant.now().toEpochMilli());
+    }
+
+    /**
+     * Rebuilds the index from the reservations that survived a restart.
+     */
+    @PostConstruct
+    public void loadIndex() {
+        reservationRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Reservation::getLockReferenceId))
+                .forEach(this::track);
+        log.info("Loaded {} live reservations", index.size());
+    }
+
+    private void track(String lockReferenceId, List<Reservation> reservations) {
+        index.put(lockReferenceId, reservations);
+        expiryWheel.schedule(lockReferenceId, reservations.get(0).getExpiresAt().toEpochMilli());
+    }
+
+    private void untrack(String lockReferenceId) {
+        index.remove(lockReferenceId);
+        expiryWheel.cancel(lockReferenceId);
+    }
+
+    @Override
+    @Transactional
+    public List<Reservation> register(String lockReferenceId, Map<String, Integer> quantitiesByProductCode) {
+        Instant now = Instant.now();
+        List<Reservation> reservations = reservationRepository.saveAll(quantitiesByProductCode.entrySet().stream()
+                .map(line -> Reservation.builder()
+                        .lockReferenceId(lockReferenceId)
+                        .productCode(line.getKey())
+                        .quantity(line.getValue())
+                        .createdAt(now)
+                        .expiresAt(now.plus(timeToLive))
+                        .build())
+                .toList());
+
+        track(lockReferenceId, List.copyOf(reservations));
+        return reservations;
+    }
+
+    @Override
+    @Transactional
+    public List<Reservation> claim(String lockReferenceId) {
+        List<Reservation> reservations = index.remove(lockReferenceId);
+        expiryWheel.cancel(lockReferenceId);
+        if (reservations == null) {
+            // Registered by another instance or already pruned from the index
+            reservations = reservationRepository.findByLockReferenceId(lockReferenceId);
+        }
+
+        if (reservations.isEmpty() || reservationRepository.deleteByLockReferenceId(lockReferenceId) == 0) {
+            return List.of();
+        }
+        return reservations;
+    }
+
+    @Override
+    @Transactional
+    public List<Reservation> commit(String lockReferenceId) {
+        List<Reservation> reservations = index.remove(lockReferenceId);
+        expiryWheel.cancel(lockReferenceId);
+        if (reservations == null) {
+            reservations = reservationRepository.findByLockReferenceId(lockReferenceId);
+        }
+
+        if (reservations.isEmpty() || reservationRepository.deleteByLockReferenceId(lockReferenceId) == 0) {
+            return List.of();
+        }
+        return reservations;
+    }
+
+    @Override
+    @Transactional
+    public void restore(List<Reservation> reservations) {
+        List<Reservation> restored = reservationRepository.saveAll(reservations.stream()
+                .map(reservation -> Reservation.builder()
+                        .lockReferenceId(reservation.getLockReferenceId())
+                        .productCode(reservation.getProductCode())
+                        .quantity(reservation.getQuantity())
+                        .createdAt(reservation.getCreatedAt())
+                        .expiresAt(reservation.getExpiresAt())
+                        .build())
+                .toList());
+
+        restored.stream()
+                .collect(Collectors.groupingBy(Reservation::getLockReferenceId))
+                .forEach(this::track);
+    }
+
+    /**
+     * Claims expired lock references one by one, so a reference unlocked concurrently by
+     * another caller is skipped instead of being released twice. The references come from the
+     * expiry wheel, topped up from the table when an orphan sweep is due. They leave the index
+     * only once the claim has committed, see {@link #untrackAfterCompletion}.
+     */
+    @Override
+    @Transactional
+    public List<Reservation> claimExpired(Instant now, int batchSize) {
+        List<Reservation> claimed = new ArrayList<>();
+        List<String> expired = expiryWheel.expire(now.toEpochMilli(), batchSize);
+        for (String lockReferenceId : expired) {
+            List<Reservation> reservations = index.get(lockReferenceId);
+            if (reservations != null && reservationRepository.deleteByLockReferenceId(lockReferenceId) > 0) {
+                claimed.addAll(reservations);
+            }
+        }
+
+        List<String> settled = new ArrayList<>(expired);
+        int remaining = batchSize - expired.size();
+        if (remaining > 0 && !now.isBefore(nextOrphanSweep)) {
+            List<String> orphaned = claimExpiredFromTable(now, remaining, claimed);
+            settled.addAll(orphaned);
+            if (orphaned.size() < remaining) {
+                nextOrphanSweep = now.plus(orphanSweepInterval);
+            }
+        }
+        untrackAfterCompletion(settled, expired);
+        return claimed;
+    }
+
+    /**
+     * Claims expired lock references found in the table, including the ones no instance tracks.
+     *
+     * @return The expired lock references found, claimed or not
+     */
+    private List<String> claimExpiredFromTable(Instant now, int batchSize, List<Reservation> claimed) {
+        List<String> lockReferenceIds =
+                reservationRepository.findExpiredLockReferenceIds(now, PageRequest.of(0, batchSize));
+        if (lockReferenceIds.isEmpty()) {
+            return lockReferenceIds;
+        }
+
+        Map<String, List<Reservation>> reservationsByLockReferenceId =
+                reservationRepository.findByLockReferenceIdIn(lockReferenceIds).stream()
+                        .collect(Collectors.groupingBy(Reservation::getLockReferenceId));
+
+        lockReferenceIds.forEach(lockReferenceId -> {
+            if (reservationRepository.deleteByLockReferenceId(lockReferenceId) > 0) {
+                claimed.addAll(reservationsByLockReferenceId.getOrDefault(lockReferenceId, List.of()));
+            }
+        });
+        return lockReferenceIds;
+    }
+
+    /**
+     * Drops the settled lock references from the index and the wheel once the claim has committed.
+     * If it rolled back the rows are still stored, so the references the wheel handed out are put
+     * back on it and expire again on the next sweep.
+     */
+    private void untrackAfterCompletion(List<String> settled, List<String> dequeued) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settled.forEach(this::untrack);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    settled.forEach(ReservationDomainServiceImpl.this::untrack);
+                    return;
+                }
+                dequeued.forEach(lockReferenceId -> {
+                    List<Reservation> reservations = index.get(lockReferenceId);
+                    if (reservations != null) {
+                        expiryWheel.schedule(lockReferenceId, reservations.get(0).getExpiresAt().toEpochMilli());
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public int liveReservations() {
+        return index.size();
+    }
+}
@@ -0,0 +1,397 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.InventoryShard;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.InventoryShardRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.infrastructure.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Sharded stock counters for designated hot products, in front of the database engine.
+ *
+ * <p>The stock of a hot product is split across {@code inventory.reservation.sharding.shards}
+ * rows of the {@code inventory_shard} table. A reservation starts at a random shard and falls
+ * back to the other shards when that one runs out, so concurrent reservations contend on N rows
+ * instead of one. A reservation larger than any single shard locks all shards of the product
+ * in ascending shard order and takes the stock from several of them. Every other product is
+ * handled by {@link InventoryDomainServiceImpl} unchanged.
+ *
+ * <p>Reservations of hot products run under READ COMMITTED, so a guarded shard update that
+ * matches nothing does not keep its row lock. A reservation therefore holds at most the one
+ * shard it took the stock from, or all shards taken in order, and two reservations visiting
+ * the shards in different orders cannot deadlock.
+ *
+ * <p>The available quantity of a hot product is the inventory row quantity plus the sum of its
+ * shards; the row quantity is moved into the shards at startup and on every admin write.
+ * {@link InventoryShardReconciler} moves it back when the product is no longer hot.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "inventory.reservation", name = "engine", havingValue = "database", matchIfMissing = true)
+@ConditionalOnExpression("!'${inventory.reservation.sharding.hot-skus:}'.isBlank()")
+@Slf4j
+public class ShardedInventoryDomainServiceImpl implements InventoryDomainService {
+
+    private final InventoryDomainServiceImpl delegate;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryShardRepository inventoryShardRepository;
+    private final Set<String> hotSkus;
+    private final int shards;
+    private final TransactionTemplate readCommitted;
+
+    public ShardedInventoryDomainServiceImpl(
+            InventoryDomainServiceImpl delegate,
+            InventoryRepository inventoryRepository,
+            InventoryShardRepository inventoryShardRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reservation.sharding.hot-skus:}") Set<String> hotSkus,
+            @Value("${inventory.reservation.sharding.shards:8}") int shards) {
+        this.delegate = delegate;
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryShardRepository = inventoryShardRepository;
+        this.hotSkus = Set.copyOf(hotSkus);
+        this.shards = Math.max(1, shards);
+        this.readCommitted = new TransactionTemplate(transactionManager);
+        this.readCommitted.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Moves the row quantity of every hot product that has no shards yet into its shards.
+     *
+     * <p>The inventory row is locked before the shards are checked, so when several instances
+     * start together only the first one moves the stock and the others find the shards in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void shardHotSkus() {
+        hotSkus.forEach(productCode -> inventoryRepository.findByProductCodeWithLock(productCode)
+                .filter(item -> !inventoryShardRepository.existsByProductCode(productCode))
+                .ifPresent(item -> {
+                    int quantity = item.getQuantity();
+                    item.setQuantity(0);
+                    inventoryRepository.saveAndFlush(item);
+                    distribute(productCode, quantity);
+                    log.info("Sharded stock of hot product {}: quantity={}, shards={}",
+                            productCode, quantity, shards);
+                }));
+    }
+
+    /**
+     * Stores a hot product with a zero row quantity and spreads the quantity evenly over its shards.
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.INVENTORY_ITEMS, key = "#inventory.productCode")
+    public Inventory addInventoryItem(Inventory inventory) {
+        if (!isHot(inventory.getProductCode())) {
+            return delegate.addInventoryItem(inventory);
+        }
+
+        int quantity = inventory.getQuantity();
+        Inventory saved = inventoryRepository.saveAndFlush(withQuantity(inventory, 0));
+        distribute(saved.getProductCode(), quantity);
+        return withQuantity(saved, quantity);
+    }
+
+    /**
+     * Imports hot products with a zero row quantity and spreads their quantity over their shards.
+     */
+    @Override
+    @Transactional
+    public int importInventoryItems(List<Inventory> items) {
+        Map<Boolean, List<Inventory>> byHotness = items.stream()
+                .collect(Collectors.partitioningBy(item -> isHot(item.getProductCode())));
+        List<Inventory> hotItems = byHotness.get(true);
+        if (hotItems.isEmpty()) {
+            return delegate.importInventoryItems(items);
+        }
+
+        int written = delegate.importInventoryItems(byHotness.get(false));
+        written += delegate.importInventoryItems(hotItems.stream().map(item -> withQuantity(item, 0)).toList());
+        hotItems.forEach(item -> distribute(item.getProductCode(), item.getQuantity()));
+        return written;
+    }
+
+    // Fills the item cache through the delegate, so it reads from the primary like the delegate
+    @Override
+    @Transactional
+    public Optional<Inventory> getInventoryItemByProductCode(String productCode) {
+        Optional<Inventory> item = delegate.getInventoryItemByProductCode(productCode);
+        if (!isHot(productCode)) {
+            return item;
+        }
+
+        return item.map(i -> withQuantity(i,
+                i.getQuantity() + inventoryShardRepository.sumQuantityByProductCode(productCode)));
+    }
+
+    // Fills the item cache through the delegate, so it reads from the primary like the delegate
+    @Override
+    @Transactional
+    public Map<String, Inventory> getInventoryItemsByProductCodes(Collection<String> productCodes) {
+        Map<String, Inventory> items = new HashMap<>(delegate.getInventoryItemsByProductCodes(productCodes));
+        items.replaceAll((productCode, item) -> isHot(productCode)
+                ? withQuantity(item, item.getQuantity() + inventoryShardRepository.sumQuantityByProductCode(productCode))
+                : item);
+        return items;
+    }
+
+    /**
+     * The database walk already adds the shard totals to the row quantities.
+     */
+    @Override
+    public long forEachInventoryItem(int pageSize, int fetchSize, Consumer<Inventory> consumer) {
+        return delegate.forEachInventoryItem(pageSize, fetchSize, consumer);
+    }
+
+    @Override
+    public Optional<Inventory> validateAndLockStock(String productCode, int quantity, String lockReferenceId) {
+        if (!isHot(productCode)) {
+            return delegate.validateAndLockStock(productCode, quantity, lockReferenceId);
+        }
+
+        return readCommitted.execute(status -> {
+            StockReservation reservation = reserveFromShards(productCode, quantity, lockReferenceId);
+            if (!reservation.isReserved()) {
+                return Optional.empty();
+            }
+            return inventoryRepository.findByProductCode(productCode)
+                    .map(item -> withQuantity(item, item.getQuantity() + reservation.remainingQuantity()));
+        });
+    }
+
+    @Override
+    public StockReservation reserveStock(String productCode, int quantity, String lockReferenceId) {
+        if (!isHot(productCode)) {
+            return delegate.reserveStock(productCode, quantity, lockReferenceId);
+        }
+        return readCommitted.execute(status -> reserveFromShards(productCode, quantity, lockReferenceId));
+    }
+
+    /**
+     * Reserves the regular lines through the database engine first and the hot lines from their
+     * shards afterwards, in one transaction. If a hot line fails, the transaction is rolled back
+     * so the regular lines are not reserved either.
+     */
+    @Override
+    public List<StockReservation> reserveStockBatch(Map<String, Integer> quantitiesByProductCode,
+                                                    String lockReferenceId) {
+        Map<String, Integer> regularLines = new TreeMap<>();
+        Map<String, Integer> hotLines = new TreeMap<>();
+        quantitiesByProductCode.forEach((productCode, quantity) ->
+                (isHot(productCode) ? hotLines : regularLines).put(productCode, quantity));
+        if (hotLines.isEmpty()) {
+            return delegate.reserveStockBatch(regularLines, lockReferenceId);
+        }
+
+        return readCommitted.execute(status -> {
+            List<StockReservation> reservations = new ArrayList<>(regularLines.isEmpty()
+                    ? List.of()
+                    : delegate.reserveStockBatch(regularLines, lockReferenceId));
+            boolean reserved = reservations.stream().allMatch(StockReservation::isReserved);
+
+            for (Map.Entry<String, Integer> line : hotLines.entrySet()) {
+                reservations.add(reserved
+                        ? reserveFromShards(line.getKey(), line.getValue(), lockReferenceId)
+                        : checkShards(line.getKey(), line.getValue()));
+                reserved &= reservations.get(reservations.size() - 1).isReserved();
+            }
+            reservations.sort(Comparator.comparing(StockReservation::productCode));
+
+            if (reserved) {
+                return reservations;
+            }
+
+            status.setRollbackOnly();
+            return reservations.stream().map(StockReservation::withdrawn).toList();
+        });
+    }
+
+    /**
+     * Locks all shards of a hot product in ascending shard order once and serves the requests
+     * from them in order. Taking a single shard per request instead would leave the transaction
+     * holding shards in random order while it waits for the next one.
+     */
+    @Override
+    public List<StockReservation> reserveStockInOrder(String productCode,
+                                                      SequencedMap<String, Integer> quantitiesByLockReferenceId) {
+        if (!isHot(productCode)) {
+            return delegate.reserveStockInOrder(productCode, quantitiesByLockReferenceId);
+        }
+
+        return readCommitted.execute(status -> {
+            List<InventoryShard> lockedShards = inventoryShardRepository.findByProductCodeWithLock(productCode);
+            if (lockedShards.isEmpty()) {
+                log.warn("Product not found in inventory: {}", productCode);
+                return quantitiesByLockReferenceId.values().stream()
+                        .map(quantity -> StockReservation.notFound(productCode, quantity))
+                        .toList();
+            }
+
+            int available = lockedShards.stream().mapToInt(InventoryShard::getQuantity).sum();
+            List<StockReservation> reservations = new ArrayList<>(quantitiesByLockReferenceId.size());
+            boolean exhausted = false;
+            for (Map.Entry<String, Integer> request : quantitiesByLockReferenceId.entrySet()) {
+                int quantity = request.getValue();
+                exhausted |= available < quantity;
+                if (exhausted) {
+                    reservations.add(StockReservation.insufficientStock(productCode, quantity, available));
+                    continue;
+                }
+
+                takeFromShards(lockedShards, quantity);
+                available -= quantity;
+                log.info("Locking stock for product {}: quantity={}, reference={}",
+                        productCode, quantity, request.getKey());
+                reservations.add(StockReservation.reserved(productCode, quantity, available));
+            }
+            inventoryShardRepository.saveAll(lockedShards);
+            return reservations;
+        });
+    }
+
+    @Override
+    public boolean releaseStock(String productCode, int quantity, String lockReferenceId) {
+        if (!isHot(productCode)) {
+            return delegate.releaseStock(productCode, quantity, lockReferenceId);
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        boolean released = Boolean.TRUE.equals(readCommitted.execute(status -> IntStream.range(0, shards)
+                .map(i -> (start + i) % shards)
+                .anyMatch(shardNo -> inventoryShardRepository.adjustQuantity(productCode, shardNo, quantity) == 1)));
+        if (!released) {
+            log.warn("Product not found in inventory while releasing stock: {}", productCode);
+            return false;
+        }
+
+        log.info("Released stock for product {}: quantity={}, reference={}",
+                productCode, quantity, lockReferenceId);
+        return true;
+    }
+
+    /**
+     * Hot products keep a zero row quantity, so they are sold out only when their shards are empty too.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getSoldOutProductCodes() {
+        List<String> soldOut = new ArrayList<>(delegate.getSoldOutProductCodes());
+        soldOut.removeIf(this::isHot);
+        hotSkus.stream()
+                .filter(productCode -> inventoryRepository.findQuantityByProductCode(productCode)
+                        .map(quantity -> quantity + inventoryShardRepository.sumQuantityByProductCode(productCode) <= 0)
+                        .orElse(false))
+                .forEach(soldOut::add);
+        soldOut.sort(Comparator.naturalOrder());
+        return soldOut;
+    }
+
+    boolean isHot(String productCode) {
+        return hotSkus.contains(productCode);
+    }
+
+    private StockReservation reserveFromShards(String productCode, int quantity, String lockReferenceId) {
+        int start = ThreadLocalRandom.current().nextInt(shards);
+        for (int i = 0; i < shards; i++) {
+            if (inventoryShardRepository.decrementQuantityIfAvailable(productCode, (start + i) % shards, quantity) == 1) {
+                log.info("Locking stock for product {}: quantity={}, reference={}",
+                        productCode, quantity, lockReferenceId);
+                return StockReservation.reserved(productCode, quantity,
+                        inventoryShardRepository.sumQuantityByProductCode(productCode));
+            }
+        }
+
+        // No single shard has enough stock left, take it from several shards at once
+        List<InventoryShard> lockedShards = inventoryShardRepository.findByProductCodeWithLock(productCode);
+        if (lockedShards.isEmpty()) {
+            log.warn("Product not found in inventory: {}", productCode);
+            return StockReservation.notFound(productCode, quantity);
+        }
+
+        int available = lockedShards.stream().mapToInt(InventoryShard::getQuantity).sum();
+        if (available < quantity) {
+            log.warn("Insufficient stock for product {}: requested={}, available={}",
+                    productCode, quantity, available);
+            return StockReservation.insufficientStock(productCode, quantity, available);
+        }
+
+        takeFromShards(lockedShards, quantity);
+        inventoryShardRepository.saveAll(lockedShards);
+        log.info("Locking stock for product {} across shards: quantity={}, reference={}",
+                productCode, quantity, lockReferenceId);
+        return StockReservation.reserved(productCode, quantity, available - quantity);
+    }
+
+    private void takeFromShards(List<InventoryShard> lockedShards, int quantity) {
+        int outstanding = quantity;
+        for (InventoryShard shard : lockedShards) {
+            int taken = Math.min(shard.getQuantity(), outstanding);
+            shard.setQuantity(shard.getQuantity() - taken);
+            outstanding -= taken;
+        }
+    }
+
+    private StockReservation checkShards(String productCode, int quantity) {
+        if (!inventoryShardRepository.existsByProductCode(productCode)) {
+            return StockReservation.notFound(productCode, quantity);
+        }
+
+        int available = inventoryShardRepository.sumQuantityByProductCode(productCode);
+        return available >= quantity
+                ? StockReservation.available(productCode, quantity, available)
+                : StockReservation.insufficientStock(productCode, quantity, available);
+    }
+
+    private void distribute(String productCode, int quantity) {
+        inventoryShardRepository.deleteByProductCode(productCode);
+        inventoryShardRepository.saveAll(IntStream.range(0, shards)
+                .mapToObj(shardNo -> InventoryShard.builder()
+                        .productCode(productCode)
+                        .shardNo(shardNo)
+                        .quantity(quantity / shards + (shardNo < quantity % shards ? 1 : 0))
+                        .build())
+                .toList());
+    }
+
+    private Inventory withQuantity(Inventory item, int quantity) {
+        return Inventory.builder()
+                .id(item.getId())
+                .productCode(item.getProductCode())
+                .productName(item.getProductName())
+                .quantity(quantity)
+                .description(item.getDescription())
+                .version(item.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * A single guarded {@code UPDATE ... SET quantity = quantity - ? WHERE quantity >= ?} at the default
+ * isolation level. The row is only locked by the update itself and the updated item is read back
+ * in the same short transaction.
+ */
+@Component
+public class AtomicUpdateStockConcurrencyStrategy implements StockConcurrencyStrategy {
+
+    public static final String NAME = "atomic-update";
+
+    private final InventoryRepository inventoryRepository;
+    private final ReservationMetrics reservationMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public AtomicUpdateStockConcurrencyStrategy(InventoryRepository inventoryRepository,
+                                                ReservationMetrics reservationMetrics,
+                                                PlatformTransactionManager transactionManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationMetrics = reservationMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public StockLock lockStock(String productCode, int quantity) {
+        return transactionTemplate.execute(status -> {
+            int updated = reservationMetrics.timeLockWait(productCode, 1,
+                    () -> inventoryRepository.decrementQuantityIfAvailable(productCode, quantity));
+            Optional<Inventory> item = inventoryRepository.findByProductCode(productCode);
+            if (item.isEmpty()) {
+                return StockLock.notFound(1);
+            }
+            return updated == 0 ? StockLock.insufficientStock(item.get(), 1) : StockLock.locked(item.get(), 1);
+        });
+    }
+}
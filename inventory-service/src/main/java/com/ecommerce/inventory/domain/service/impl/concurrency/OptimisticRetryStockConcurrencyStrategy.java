@@ -0,0 +1,82 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * READ COMMITTED isolation without a row lock: the row is read, checked and saved with the
+ * {@code @Version} check only. A save that loses to a concurrent one is retried in a new
+ * transaction after a backoff drawn at random between zero and an exponentially growing cap
+ * (full jitter), so the conflicting requests spread out instead of colliding again.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryStockConcurrencyStrategy extends RowStockConcurrencyStrategy {
+
+    public static final String NAME = "optimistic";
+
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public OptimisticRetryStockConcurrencyStrategy(
+            InventoryRepository inventoryRepository,
+            ReservationMetrics reservationMetrics,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reservation.concurrency.optimistic.max-attempts:5}") int maxAttempts,
+            @Value("${inventory.reservation.concurrency.optimistic.base-backoff:5ms}") Duration baseBackoff,
+            @Value("${inventory.reservation.concurrency.optimistic.max-backoff:100ms}") Duration maxBackoff) {
+        super(inventoryRepository, reservationMetrics, transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffNanos = Math.max(1, baseBackoff.toNanos());
+        this.maxBackoffNanos = Math.max(baseBackoffNanos, maxBackoff.toNanos());
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    protected Optional<Inventory> load(String productCode) {
+        return inventoryRepository.findByProductCode(productCode);
+    }
+
+    @Override
+    public StockLock lockStock(String productCode, int quantity) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return lockOnce(productCode, quantity, attempt);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                reservationMetrics.recordFailure(e);
+                log.debug("Version conflict locking stock for product {}, retrying: attempt={}", productCode, attempt);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long cap = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Optional;
+
+/**
+ * SERIALIZABLE isolation, a {@code PESSIMISTIC_WRITE} row lock and the {@code @Version} check,
+ * the highest level of concurrency control and the default strategy. A deadlock or lock wait
+ * timeout fails the reservation.
+ */
+@Component
+public class PessimisticStockConcurrencyStrategy extends RowStockConcurrencyStrategy {
+
+    public static final String NAME = "pessimistic";
+
+    public PessimisticStockConcurrencyStrategy(InventoryRepository inventoryRepository,
+                                               ReservationMetrics reservationMetrics,
+                                               PlatformTransactionManager transactionManager) {
+        super(inventoryRepository, reservationMetrics, transactionManager, TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    protected Optional<Inventory> load(String productCode) {
+        return inventoryRepository.findByProductCodeWithLock(productCode);
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Optional;
+
+/**
+ * READ COMMITTED isolation with a {@code PESSIMISTIC_WRITE} row lock. The row lock alone
+ * serialises reservations of a product, without the range locks and serialization failures of
+ * SERIALIZABLE.
+ */
+@Component
+public class ReadCommittedRowLockStockConcurrencyStrategy extends RowStockConcurrencyStrategy {
+
+    public static final String NAME = "read-committed-row-lock";
+
+    public ReadCommittedRowLockStockConcurrencyStrategy(InventoryRepository inventoryRepository,
+                                                        ReservationMetrics reservationMetrics,
+                                                        PlatformTransactionManager transactionManager) {
+        super(inventoryRepository, reservationMetrics, transactionManager, TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    protected Optional<Inventory> load(String productCode) {
+        return inventoryRepository.findByProductCodeWithLock(productCode);
+    }
+}
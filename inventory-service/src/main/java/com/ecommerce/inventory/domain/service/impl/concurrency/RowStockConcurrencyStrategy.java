@@ -0,0 +1,64 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * Strategies that read the inventory entity, check the quantity and save it reduced, within one
+ * transaction of the given isolation level. They differ in how the row is read.
+ */
+abstract class RowStockConcurrencyStrategy implements StockConcurrencyStrategy {
+
+    protected final InventoryRepository inventoryRepository;
+    protected final ReservationMetrics reservationMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    RowStockConcurrencyStrategy(InventoryRepository inventoryRepository,
+                                ReservationMetrics reservationMetrics,
+                                PlatformTransactionManager transactionManager,
+                                int isolationLevel) {
+        this.inventoryRepository = inventoryRepository;
+        this.reservationMetrics = reservationMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(isolationLevel);
+    }
+
+    /**
+     * Reads the row the quantity is checked on, with or without a lock.
+     */
+    protected abstract Optional<Inventory> load(String productCode);
+
+    @Override
+    public StockLock lockStock(String productCode, int quantity) {
+        return lockOnce(productCode, quantity, 1);
+    }
+
+    /**
+     * Checks and reduces the stock in one transaction. The save is flushed straight away, so its
+     * timer covers the UPDATE and a version conflict is thrown here instead of on commit.
+     */
+    protected StockLock lockOnce(String productCode, int quantity, int attempt) {
+        return transactionTemplate.execute(status -> {
+            Optional<Inventory> item = reservationMetrics.timeLockWait(productCode, 1, () -> load(productCode));
+            if (item.isEmpty()) {
+                return StockLock.notFound(attempt);
+            }
+
+            Inventory inventory = item.get();
+            if (!inventory.hasStock(quantity)) {
+                return StockLock.insufficientStock(inventory, attempt);
+            }
+
+            // Save will update the version due to @Version annotation
+            inventory.reduceStock(quantity);
+            return StockLock.locked(reservationMetrics.timeSave(() -> inventoryRepository.saveAndFlush(inventory)), attempt);
+        });
+    }
+}
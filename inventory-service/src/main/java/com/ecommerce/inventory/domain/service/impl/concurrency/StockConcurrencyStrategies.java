@@ -0,0 +1,90 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Selects the {@link StockConcurrencyStrategy} of a product.
+ *
+ * <p>{@code inventory.reservation.concurrency.strategy} sets the strategy of the deployment, and
+ * {@code inventory.reservation.concurrency.sku-strategies} overrides it for classes of SKUs as a
+ * comma separated list of {@code pattern=strategy} entries. A pattern is a product code, or a
+ * product code prefix ending with {@code *}; an exact code wins over a prefix, and a longer
+ * prefix over a shorter one.
+ */
+@Component
+@Slf4j
+public class StockConcurrencyStrategies {
+
+    private final Map<String, StockConcurrencyStrategy> byName = new TreeMap<>();
+    private final StockConcurrencyStrategy defaultStrategy;
+    private final Map<String, StockConcurrencyStrategy> byProductCode = new HashMap<>();
+    private final List<Map.Entry<String, StockConcurrencyStrategy>> byPrefix = new ArrayList<>();
+
+    public StockConcurrencyStrategies(
+            List<StockConcurrencyStrategy> strategies,
+            @Value("${inventory.reservation.concurrency.strategy:pessimistic}") String defaultStrategy,
+            @Value("${inventory.reservation.concurrency.sku-strategies:}") List<String> skuStrategies) {
+        strategies.forEach(strategy -> byName.put(strategy.name(), strategy));
+        this.defaultStrategy = named(defaultStrategy.trim());
+
+        for (String entry : skuStrategies) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected pattern=strategy in sku-strategies: " + entry);
+            }
+            String pattern = entry.substring(0, separator).trim();
+            StockConcurrencyStrategy strategy = named(entry.substring(separator + 1).trim());
+            if (pattern.endsWith("*")) {
+                byPrefix.add(Map.entry(pattern.substring(0, pattern.length() - 1), strategy));
+            } else {
+                byProductCode.put(pattern, strategy);
+            }
+        }
+        byPrefix.sort(Comparator.comparingInt((Map.Entry<String, StockConcurrencyStrategy> rule) -> rule.getKey().length())
+                .reversed());
+        log.info("Stock concurrency strategy: default={}, sku-strategies={}", this.defaultStrategy.name(), skuStrategies);
+    }
+
+    /**
+     * Returns the strategy that reserves the stock of a product.
+     */
+    public StockConcurrencyStrategy forProduct(String productCode) {
+        StockConcurrencyStrategy strategy = byProductCode.get(productCode);
+        if (strategy != null) {
+            return strategy;
+        }
+        for (Map.Entry<String, StockConcurrencyStrategy> rule : byPrefix) {
+            if (productCode.startsWith(rule.getKey())) {
+                return rule.getValue();
+            }
+        }
+        return defaultStrategy;
+    }
+
+    /**
+     * Returns a strategy by name.
+     *
+     * @throws IllegalArgumentException if no strategy has that name
+     */
+    public StockConcurrencyStrategy named(String name) {
+        StockConcurrencyStrategy strategy = byName.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown stock concurrency strategy '" + name
+                    + "', expected one of " + byName.keySet());
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Local Caffeine caches.
+ * The caching advisor runs ahead of the transaction advisor, so a cache hit does not open a
+ * transaction and entries are evicted once the writing transaction has completed.
+ * Caches are declared upfront so their hit, miss and eviction statistics are bound to the
+ * actuator metrics at startup. Null values are cached, so unknown product codes are remembered too.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String INVENTORY_ITEMS = "inventory-items";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${inventory.cache.items.spec:maximumSize=10000,expireAfterWrite=30s,recordStats}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(INVENTORY_ITEMS);
+        cacheManager.setCaffeineSpec(CaffeineSpec.parse(spec));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import com.ecommerce.inventory.infrastructure.limiter.AdaptiveConcurrencyLimiter;
+import com.ecommerce.inventory.infrastructure.limiter.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Sheds stock validations above an adaptive concurrency limit instead of a fixed bulkhead size:
+ * the limit grows while validations stay fast and shrinks as soon as they slow down, and a
+ * validation over the limit gets a 503 with {@code Retry-After} straight away.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.concurrency-limit.validate", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter validateConcurrencyLimiter(
+            @Value("${inventory.concurrency-limit.validate.initial-limit:20}") int initialLimit,
+            @Value("${inventory.concurrency-limit.validate.min-limit:4}") int minLimit,
+            @Value("${inventory.concurrency-limit.validate.max-limit:200}") int maxLimit,
+            @Value("${inventory.concurrency-limit.validate.latency-threshold:250ms}") Duration latencyThreshold,
+            @Value("${inventory.concurrency-limit.validate.backoff-ratio:0.9}") double backoffRatio,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("validate", initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer validateConcurrencyLimit(
+            AdaptiveConcurrencyLimiter validateConcurrencyLimiter,
+            @Value("${inventory.concurrency-limit.validate.retry-after:1s}") Duration retryAfter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ConcurrencyLimitInterceptor(validateConcurrencyLimiter, retryAfter))
+                        .addPathPatterns("/api/inventory/validate", "/api/inventory/validate/batch");
+            }
+        };
+    }
+}
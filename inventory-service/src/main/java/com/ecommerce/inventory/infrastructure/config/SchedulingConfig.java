@@ -0,0 +1,12 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the asynchronous persistence of in-memory stock counters.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
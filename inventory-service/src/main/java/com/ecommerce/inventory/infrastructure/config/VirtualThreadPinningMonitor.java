@@ -0,0 +1,85 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically because they block
+ * inside a {@code synchronized} section or a native frame.
+ *
+ * <p>Only active in the virtual-thread execution mode ({@code spring.threads.virtual.enabled=true}).
+ * The JDK Flight Recorder event {@code jdk.VirtualThreadPinned} is streamed in-process; every pin
+ * longer than {@code threads.virtual.pinning.threshold} is logged with its stack trace and counted
+ * in the {@code jvm.threads.virtual.pinned} metric.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(prefix = "threads.virtual.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final int maxFrames;
+    private final Counter pinnedCounter;
+    private RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${threads.virtual.pinning.threshold:20ms}") Duration threshold,
+            @Value("${threads.virtual.pinning.max-frames:16}") int maxFrames) {
+        this.threshold = threshold;
+        this.maxFrames = Math.max(1, maxFrames);
+        this.pinnedCounter = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Virtual thread pinning monitor started: threshold={}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        log.warn("Virtual thread pinned for {} ms: thread={}\n{}",
+                event.getDuration().toMillis(),
+                event.getThread() == null ? "unknown" : event.getThread().getJavaName(),
+                format(event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames()));
+    }
+
+    private String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(maxFrames)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + "(line " + frame.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+    }
+}
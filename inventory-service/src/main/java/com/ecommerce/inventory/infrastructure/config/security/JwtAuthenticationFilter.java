@@ -22,19 +22,24 @@ import java.util.stream.Collectors;
 
 /**
  * Filter to authenticate users based on JWT tokens.
+ * Verified tokens are kept in a {@link VerifiedTokenCache}, so a token reused by its client is
+ * only decoded and converted once.
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtDecoder jwtDecoder;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final JwtAuthenticationConverter jwtAuthenticationConverter;
 
     /**
      * Creates a new JWT authentication filter.
      *
-     * @param jwtDecoder The JWT decoder to use for validating tokens
+     * @param jwtDecoder         The JWT decoder to use for validating tokens
+     * @param verifiedTokenCache The cache of tokens that were already verified
      */
-    public JwtAuthenticationFilter(JwtDecoder jwtDecoder) {
+    public JwtAuthenticationFilter(JwtDecoder jwtDecoder, VerifiedTokenCache verifiedTokenCache) {
         this.jwtDecoder = jwtDecoder;
+        this.verifiedTokenCache = verifiedTokenCache;
         this.jwtAuthenticationConverter = new JwtAuthenticationConverter();
         this.jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(new JwtRoleConverter());
     }
@@ -57,10 +62,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             try {
                 String token = authHeader.substring(7);
-                Jwt jwt = jwtDecoder.decode(token);
-
-                AbstractAuthenticationToken authentication =
-                        (AbstractAuthenticationToken) jwtAuthenticationConverter.convert(jwt);
+                AbstractAuthenticationToken authentication = verifiedTokenCache.get(token, this::verify);
 
                 if (authentication != null) {
                     // Log roles for debugging
@@ -81,6 +83,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Decodes and validates a token and converts it into an authentication.
+     *
+     * @param token The raw bearer token
+     * @return The authentication with the expiry of the token, or null if none could be built
+     */
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Jwt jwt = jwtDecoder.decode(token);
+        AbstractAuthenticationToken authentication =
+                (AbstractAuthenticationToken) jwtAuthenticationConverter.convert(jwt);
+        return authentication == null ? null : new VerifiedTokenCache.VerifiedToken(authentication, jwt.getExpiresAt());
+    }
+
     /**
      * Converter to transform JWT claims into Spring Security GrantedAuthorities.
      */
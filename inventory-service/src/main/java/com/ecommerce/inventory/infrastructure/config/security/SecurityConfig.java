@@ -32,13 +32,15 @@ public class SecurityConfig {
      * </ul>
      *
      * @param http       The HttpSecurity to configure
-     * @param jwtDecoder The JWT decoder bean provided by the application context
+     * @param jwtDecoder         The JWT decoder bean provided by the application context
+     * @param verifiedTokenCache The cache of verified tokens
      * @return The configured SecurityFilterChain
      * @throws Exception If configuration fails
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder) throws Exception {
-        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtDecoder);
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                   VerifiedTokenCache verifiedTokenCache) throws Exception {
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtDecoder, verifiedTokenCache);
 
         http
                 .authorizeHttpRequests(authorize -> authorize
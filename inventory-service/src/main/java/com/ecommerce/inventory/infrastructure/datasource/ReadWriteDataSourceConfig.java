@@ -0,0 +1,85 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a read replica when {@code inventory.datasource.replica.enabled=true}.
+ *
+ * <p>The primary pool is built from {@code spring.datasource} and the replica pool from
+ * {@code inventory.datasource.replica}. Both pools are beans of their own, so each publishes its
+ * {@code hikaricp.*} metrics and its health under its pool name. JPA, the JDBC templates and the
+ * SQL initializer use the routing data source on top of them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "inventory.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("inventory-primary");
+        return dataSource;
+    }
+
+    /**
+     * The replica pool starts without a connection check and times out quickly, so a replica that
+     * is down costs a read-only transaction at most the connection timeout before it falls back.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${inventory.datasource.replica.url}") String url,
+            @Value("${inventory.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${inventory.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${inventory.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${inventory.datasource.replica.connection-timeout:1s}") Duration connectionTimeout) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("inventory-replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${inventory.datasource.replica.max-lag:5s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Hands out connections of the read replica to read-only transactions and connections of the
+ * primary to everything else.
+ *
+ * <p>The pool is picked when the connection is fetched, so this data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for a connection before it marks the transaction read-only, and the proxy only
+ * fetches it on the first statement. A read-only transaction uses the primary instead while the
+ * {@link ReplicaLagMonitor} reports the replica as too far behind, and when the replica does not
+ * hand out a connection.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Pool {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter lagFallbacks;
+    private final Counter unavailableFallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryConnections = connectionCounter(meterRegistry, "primary");
+        this.replicaConnections = connectionCounter(meterRegistry, "replica");
+        this.lagFallbacks = fallbackCounter(meterRegistry, "lag");
+        this.unavailableFallbacks = fallbackCounter(meterRegistry, "unavailable");
+        setTargetDataSources(Map.of(Pool.PRIMARY, primary, Pool.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Pool.PRIMARY;
+        }
+        if (!replicaLagMonitor.isReplicaUsable()) {
+            lagFallbacks.increment();
+            return Pool.PRIMARY;
+        }
+        return Pool.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineTargetDataSource() == replica) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaLagMonitor.markUnavailable(e);
+                unavailableFallbacks.increment();
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String pool) {
+        return Counter.builder("inventory.datasource.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("pool", pool)
+                .register(meterRegistry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("inventory.datasource.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because the replica could not be used")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
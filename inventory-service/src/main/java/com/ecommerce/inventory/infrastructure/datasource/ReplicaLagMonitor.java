@@ -0,0 +1,115 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Estimates how far the read replica is behind the primary with a heartbeat row.
+ *
+ * <p>Every {@code inventory.datasource.replica.lag-check-interval-ms} the current time is written
+ * to the {@code replication_heartbeat} table on the primary and read back from the replica. The
+ * replica has applied every write the primary made before the heartbeat it returns, so the time
+ * since that heartbeat is an upper bound of its lag. The bound keeps growing between checks: a
+ * replica whose heartbeat stops advancing, or a check that stops running, is taken out of rotation
+ * once the bound passes {@code inventory.datasource.replica.max-lag}. A replica that cannot be
+ * read is taken out straight away.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private final Clock clock;
+    private volatile long replicatedHeartbeat = UNKNOWN;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource,
+                             Duration maxLag, MeterRegistry meterRegistry) {
+        this(primaryDataSource, replicaDataSource, maxLag, meterRegistry, Clock.systemUTC());
+    }
+
+    ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource,
+                      Duration maxLag, MeterRegistry meterRegistry, Clock clock) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLag = maxLag;
+        this.clock = clock;
+        Gauge.builder("inventory.datasource.replica.lag", this,
+                        monitor -> monitor.lag().map(lag -> (double) lag.toMillis()).orElse(Double.NaN))
+                .description("Upper bound of the replication lag of the read replica")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        writeHeartbeat();
+        readHeartbeat();
+    }
+
+    /**
+     * Returns true while the replica is known to be at most the maximum lag behind the primary.
+     */
+    public boolean isReplicaUsable() {
+        long heartbeat = replicatedHeartbeat;
+        return heartbeat != UNKNOWN && clock.millis() - heartbeat <= maxLag.toMillis();
+    }
+
+    /**
+     * Returns the upper bound of the replication lag, or empty while the replica cannot be read.
+     */
+    public Optional<Duration> lag() {
+        long heartbeat = replicatedHeartbeat;
+        return heartbeat == UNKNOWN
+                ? Optional.empty()
+                : Optional.of(Duration.ofMillis(Math.max(0, clock.millis() - heartbeat)));
+    }
+
+    /**
+     * Takes the replica out of rotation until the next check reads its heartbeat again.
+     */
+    public void markUnavailable(Exception cause) {
+        if (replicatedHeartbeat != UNKNOWN) {
+            log.warn("Read replica unavailable, read-only transactions use the primary: {}", cause.getMessage());
+        }
+        replicatedHeartbeat = UNKNOWN;
+    }
+
+    private void writeHeartbeat() {
+        long now = clock.millis();
+        try {
+            if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", now);
+            }
+        } catch (DataAccessException e) {
+            // The replica lag keeps growing until a heartbeat is written again
+            log.warn("Could not write the replication heartbeat to the primary: {}", e.getMessage());
+        }
+    }
+
+    private void readHeartbeat() {
+        try {
+            List<Long> heartbeats = replica.queryForList(
+                    "SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+            boolean wasUnknown = replicatedHeartbeat == UNKNOWN;
+            replicatedHeartbeat = heartbeats.isEmpty() ? UNKNOWN : heartbeats.get(0);
+            if (wasUnknown && replicatedHeartbeat != UNKNOWN) {
+                log.info("Read replica heartbeat found, replication lag: {}", lag().orElseThrow());
+            }
+        } catch (DataAccessException e) {
+            markUnavailable(e);
+        }
+    }
+}
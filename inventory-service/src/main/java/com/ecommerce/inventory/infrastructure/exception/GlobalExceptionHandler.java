@@ -5,6 +5,7 @@ import com.ecommerce.inventory.domain.exception.InvalidOperationException;
 import com.ecommerce.inventory.domain.exception.InventoryNotFoundException;
 import com.ecommerce.inventory.domain.exception.StockUpdateException;
 import com.ecommerce.inventory.domain.exception.model.ErrorResponse;
+import com.ecommerce.inventory.infrastructure.limiter.ConcurrencyLimitExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -12,6 +13,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -40,6 +42,7 @@ public class GlobalExceptionHandler {
     private static final String CONFLICT = "CONFLICT";
     private static final String FORBIDDEN = "FORBIDDEN";
     private static final String VALIDATION_ERROR = "VALIDATION_ERROR";
+    private static final String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
 
     /**
      * Handle InventoryNotFoundException.
@@ -304,6 +307,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle ConcurrencyLimitExceededException. Shed requests are counted in metrics and
+     * logged at debug level only, since they come in bursts exactly when the service is busy.
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceededException(
+            ConcurrencyLimitExceededException ex, HttpServletRequest request) {
+        log.debug("Request shed: {}", ex.getMessage());
+
+        ErrorResponse response = ErrorResponse.builder()
+                .errorCode(SERVICE_UNAVAILABLE)
+                .message("Too many concurrent requests, retry later")
+                .detailedMessage(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     /**
      * Handle all other exceptions not explicitly handled.
      */
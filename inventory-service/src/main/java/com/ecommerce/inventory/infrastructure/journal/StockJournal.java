@@ -0,0 +1,445 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of stock movements, kept in memory-mapped segment files.
+ *
+ * <p>Every record is addressed by its position, a byte offset that keeps growing across segments
+ * and restarts. A record is written straight into the mapped segment and becomes durable once the
+ * {@code journal-sync} thread has forced it to disk. The sync thread forces everything appended
+ * since its previous force in one call, so concurrent writers waiting in {@link #awaitDurable}
+ * share a single fsync (group commit). When a record does not fit in the current segment a new
+ * segment of {@code segmentBytes} is started, named after the position it starts at.
+ *
+ * <p>A record is laid out as its payload length, the CRC32 of the payload, then the payload: the
+ * movement, the quantity and the UTF-8 product code. The length is written last and followed by a
+ * zero length, so on open the last segment is scanned up to the first zero length or checksum
+ * mismatch and a record torn by a crash is overwritten by the next append.
+ *
+ * <p>Appends are serialised, {@link #read} may run concurrently with them.
+ */
+@Slf4j
+public class StockJournal implements AutoCloseable {
+
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_BYTES = 8;
+    private static final int FIXED_PAYLOAD_BYTES = 7;
+    private static final long SYNC_RETRY_MILLIS = 100;
+
+    /**
+     * Receives the records of the journal in position order.
+     */
+    @FunctionalInterface
+    public interface MovementConsumer {
+        void accept(StockMovement movement, String productCode, int quantity);
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+    private final CRC32 appendChecksum = new CRC32();
+    private final Thread syncThread;
+
+    private Segment current;
+    private volatile long appendedPosition;
+    private volatile long durablePosition;
+    private volatile boolean closed;
+
+    /**
+     * Opens the journal in {@code directory}, creating it if needed, and recovers the append
+     * position from the last segment.
+     *
+     * @param directory    The directory holding the segment files
+     * @param segmentBytes The size of a segment file
+     */
+    public StockJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Journal segments must be at least 1 KB: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                // Segments written with another segment size keep their own size
+                long size = Files.size(file);
+                segments.put(base, Segment.open(file, base, size > 0 ? (int) size : segmentBytes));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            current = Segment.open(segmentPath(0), 0, segmentBytes);
+            segments.put(0L, current);
+        } else {
+            current = segments.lastEntry().getValue();
+        }
+        appendedPosition = current.base + recoverEnd(current);
+        durablePosition = appendedPosition;
+
+        syncThread = new Thread(this::syncLoop, "journal-sync");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    /**
+     * Appends a movement to the journal. The record is visible to {@link #read} straight away and
+     * durable once {@link #awaitDurable} returns true for the returned position.
+     *
+     * @return The position just after the record
+     */
+    public long append(StockMovement movement, String productCode, int quantity) {
+        byte[] code = productCode.getBytes(StandardCharsets.UTF_8);
+        int payloadBytes = FIXED_PAYLOAD_BYTES + code.length;
+        int recordBytes = HEADER_BYTES + payloadBytes;
+        if (code.length > Short.MAX_VALUE || recordBytes > segmentBytes) {
+            throw new IllegalArgumentException("Product code too long for the journal: " + productCode);
+        }
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Stock journal is closed");
+            }
+            int offset = (int) (appendedPosition - current.base);
+            if (offset + recordBytes > current.size()) {
+                roll(current.base + current.size());
+                offset = 0;
+            }
+
+            MappedByteBuffer buffer = current.buffer;
+            int payload = offset + HEADER_BYTES;
+            buffer.put(payload, (byte) movement.ordinal());
+            buffer.putInt(payload + 1, quantity);
+            buffer.putShort(payload + 5, (short) code.length);
+            buffer.put(payload + FIXED_PAYLOAD_BYTES, code);
+            appendChecksum.reset();
+            appendChecksum.update(buffer.slice(payload, payloadBytes));
+            buffer.putInt(offset + 4, (int) appendChecksum.getValue());
+            if (offset + recordBytes + 4 <= current.size()) {
+                buffer.putInt(offset + recordBytes, 0);
+            }
+            buffer.putInt(offset, payloadBytes);
+
+            appendedPosition = current.base + offset + recordBytes;
+            appended.signal();
+            return appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until every record up to {@code position} has been forced to disk.
+     *
+     * @return false if the records are not durable within the timeout or the thread was interrupted
+     */
+    public boolean awaitDurable(long position, long timeoutMillis) {
+        if (durablePosition >= position) {
+            return true;
+        }
+
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (durablePosition < position) {
+                if (closed || remaining <= 0) {
+                    return false;
+                }
+                remaining = synced.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the records from position {@code from} up to {@code to}, both record boundaries
+     * returned by {@link #append} or {@link #appendedPosition()}.
+     *
+     * @return The number of records read
+     */
+    public long read(long from, long to, MovementConsumer consumer) {
+        CRC32 checksum = new CRC32();
+        long records = 0;
+        long position = from;
+        while (position < to) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(position);
+            if (entry == null) {
+                throw new IllegalStateException("Stock journal has no segment for position " + position);
+            }
+            Segment segment = entry.getValue();
+            int offset = (int) (position - segment.base);
+            int payloadBytes = offset + HEADER_BYTES <= segment.size() ? segment.buffer.getInt(offset) : 0;
+            if (payloadBytes == 0) {
+                // The rest of the segment is unused, the next record starts the next segment
+                Long next = segments.higherKey(segment.base);
+                if (next == null) {
+                    throw new IllegalStateException("Stock journal ends at " + position + " before " + to);
+                }
+                position = next;
+                continue;
+            }
+
+            int payload = offset + HEADER_BYTES;
+            checksum.reset();
+            checksum.update(segment.buffer.slice(payload, payloadBytes));
+            if ((int) checksum.getValue() != segment.buffer.getInt(offset + 4)) {
+                throw new IllegalStateException("Corrupt stock journal record at position " + position);
+            }
+            byte[] code = new byte[segment.buffer.getShort(payload + 5)];
+            segment.buffer.get(payload + FIXED_PAYLOAD_BYTES, code);
+            consumer.accept(StockMovement.values()[segment.buffer.get(payload)],
+                    new String(code, StandardCharsets.UTF_8),
+                    segment.buffer.getInt(payload + 1));
+            records++;
+            position += HEADER_BYTES + payloadBytes;
+        }
+        return records;
+    }
+
+    /**
+     * @return The position of the first record still held in a segment
+     */
+    public long firstPosition() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return The position just after the last appended record
+     */
+    public long appendedPosition() {
+        return appendedPosition;
+    }
+
+    /**
+     * @return The position up to which every record has been forced to disk
+     */
+    public long durablePosition() {
+        return durablePosition;
+    }
+
+    /**
+     * Moves the append position forward to {@code position} by starting a new segment there.
+     * Used when the journal is behind a checkpoint, for example after its directory was lost, so
+     * new records are never taken for records the checkpoint already covers.
+     */
+    public void advanceTo(long position) {
+        lock.lock();
+        try {
+            if (position > appendedPosition) {
+                roll(position);
+                appendedPosition = position;
+                durablePosition = position;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments holding only records before {@code position}.
+     * Must not run concurrently with {@link #read} of those records.
+     *
+     * @return The number of segments deleted
+     */
+    public int deleteSegmentsBefore(long position) {
+        int deleted = 0;
+        lock.lock();
+        try {
+            while (segments.size() > 1) {
+                Map.Entry<Long, Segment> first = segments.firstEntry();
+                Long next = segments.higherKey(first.getKey());
+                if (next > position || next > durablePosition) {
+                    break;
+                }
+                segments.remove(first.getKey());
+                first.getValue().delete();
+                deleted++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return deleted;
+    }
+
+    /**
+     * Stops the sync thread, forces the remaining records to disk and closes the segment files.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+            synced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            syncThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        segments.values().forEach(Segment::close);
+    }
+
+    /**
+     * Starts a new segment at {@code base}. Called with the lock held.
+     */
+    private void roll(long base) {
+        try {
+            current = Segment.open(segmentPath(base), base, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create stock journal segment at " + base, e);
+        }
+        segments.put(base, current);
+    }
+
+    /**
+     * Scans a segment for the end of its last complete record and clears a torn record after it.
+     */
+    private int recoverEnd(Segment segment) {
+        CRC32 checksum = new CRC32();
+        int offset = 0;
+        while (offset + HEADER_BYTES <= segment.size()) {
+            int payloadBytes = segment.buffer.getInt(offset);
+            if (payloadBytes < FIXED_PAYLOAD_BYTES || offset + HEADER_BYTES + payloadBytes > segment.size()) {
+                break;
+            }
+            checksum.reset();
+            checksum.update(segment.buffer.slice(offset + HEADER_BYTES, payloadBytes));
+            if ((int) checksum.getValue() != segment.buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += HEADER_BYTES + payloadBytes;
+        }
+
+        if (offset + 4 <= segment.size() && segment.buffer.getInt(offset) != 0) {
+            log.warn("Discarding torn stock journal record at position {}", segment.base + offset);
+            segment.buffer.putInt(offset, 0);
+            segment.buffer.force(offset, 4);
+        }
+        return offset;
+    }
+
+    private void syncLoop() {
+        while (true) {
+            long from;
+            long to;
+            List<Segment> dirty;
+            lock.lock();
+            try {
+                while (!closed && durablePosition == appendedPosition) {
+                    appended.awaitUninterruptibly();
+                }
+                if (durablePosition == appendedPosition) {
+                    return;
+                }
+                from = durablePosition;
+                to = appendedPosition;
+                dirty = List.copyOf(segments.subMap(segments.floorKey(from), true, to, false).values());
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (Segment segment : dirty) {
+                    int start = (int) Math.max(0, from - segment.base);
+                    int end = (int) Math.min(segment.size(), to - segment.base);
+                    if (end > start) {
+                        segment.buffer.force(start, end - start);
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                log.error("Error forcing stock journal to disk, retrying: {}", e.getMessage());
+                if (closed) {
+                    return;
+                }
+                sleepQuietly();
+                continue;
+            }
+
+            lock.lock();
+            try {
+                durablePosition = to;
+                synced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SUFFIX));
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(SYNC_RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A segment file mapped into memory in full.
+     */
+    private record Segment(Path path, long base, int size, FileChannel channel, MappedByteBuffer buffer) {
+
+        static Segment open(Path path, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(path, base, size, channel, buffer);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Error closing stock journal segment {}: {}", path, e.getMessage());
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("Error deleting stock journal segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import com.ecommerce.inventory.domain.model.StockJournalCheckpoint;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.StockJournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable record of the stock movements of the in-memory reservation engine.
+ *
+ * <p>Reservations and releases are appended to a {@link StockJournal} before they are confirmed.
+ * {@link #flush()} sums the movements appended since the checkpoint per product and applies the
+ * sums to the {@code inventory} table in one transaction together with the new checkpoint, so a
+ * movement is applied exactly once whether the flush fails, is retried or the service crashes.
+ * On startup the movements after the checkpoint are applied before any counter is loaded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.reservation.in-memory.journal", name = "enabled", havingValue = "true")
+@Slf4j
+public class StockLedger {
+
+    static final String JOURNAL_NAME = "in-memory";
+
+    private final InventoryRepository inventoryRepository;
+    private final StockJournalCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockJournal journal;
+    private final long syncTimeoutMillis;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private long flushedPosition;
+
+    public StockLedger(
+            InventoryRepository inventoryRepository,
+            StockJournalCheckpointRepository checkpointRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${inventory.reservation.in-memory.journal.directory:/var/lib/inventory-service/journal}") Path directory,
+            @Value("${inventory.reservation.in-memory.journal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${inventory.reservation.in-memory.journal.sync-timeout:5s}") Duration syncTimeout) throws IOException {
+        this.inventoryRepository = inventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journal = new StockJournal(directory, Math.toIntExact(segmentSize.toBytes()));
+        this.syncTimeoutMillis = syncTimeout.toMillis();
+    }
+
+    /**
+     * Applies the movements the previous run journaled but did not flush.
+     */
+    @PostConstruct
+    public void recover() {
+        flushedPosition = checkpointRepository.findById(JOURNAL_NAME)
+                .map(StockJournalCheckpoint::getFlushedPosition)
+                .orElse(0L);
+        if (flushedPosition < journal.firstPosition()) {
+            // Only flushed segments are deleted, so the checkpoint is older than the journal directory
+            log.warn("Stock journal starts at position {} after the checkpoint {}, replaying from its start",
+                    journal.firstPosition(), flushedPosition);
+            flushedPosition = journal.firstPosition();
+        }
+        journal.advanceTo(flushedPosition);
+
+        long started = System.nanoTime();
+        long from = flushedPosition;
+        int products = flush();
+        log.info("Recovered stock journal from position {} to {}: products={}, took={}ms",
+                from, flushedPosition, products, Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Appends a movement to the journal.
+     *
+     * @return The journal position to pass to {@link #awaitDurable(long)}
+     */
+    public long record(StockMovement movement, String productCode, int quantity) {
+        return journal.append(movement, productCode, quantity);
+    }
+
+    /**
+     * Waits for the group commit that makes the movements up to {@code position} durable.
+     *
+     * @return false if they are not durable within {@code sync-timeout}
+     */
+    public boolean awaitDurable(long position) {
+        return journal.awaitDurable(position, syncTimeoutMillis);
+    }
+
+    /**
+     * Applies the movements appended since the last flush to the inventory table and moves the
+     * checkpoint past them. Segments that hold only flushed movements are deleted.
+     * A failed flush leaves the checkpoint where it was and is retried with the next one.
+     *
+     * @return The number of products whose quantity changed
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            long to = journal.appendedPosition();
+            if (to == flushedPosition) {
+                return 0;
+            }
+
+            // Sorted by product code, so concurrent writers of the same rows cannot deadlock the flush
+            Map<String, Integer> deltas = new TreeMap<>();
+            journal.read(flushedPosition, to, (movement, productCode, quantity) ->
+                    deltas.merge(productCode, movement.delta(quantity), Integer::sum));
+            deltas.values().removeIf(delta -> delta == 0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                deltas.forEach(inventoryRepository::adjustQuantity);
+                checkpointRepository.save(new StockJournalCheckpoint(JOURNAL_NAME, to));
+            });
+            flushedPosition = to;
+            journal.deleteSegmentsBefore(to);
+            return deltas.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+/**
+ * A change to the available quantity of a product, as recorded in the {@link StockJournal}.
+ */
+public enum StockMovement {
+
+    /**
+     * Stock taken by a reservation.
+     */
+    RESERVE(-1),
+
+    /**
+     * Stock given back by an unlock or an expired reservation.
+     */
+    RELEASE(1);
+
+    private final int sign;
+
+    StockMovement(int sign) {
+        this.sign = sign;
+    }
+
+    /**
+     * @return The change to the available quantity, negative for a reservation
+     */
+    public int delta(int quantity) {
+        return sign * quantity;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.inventory.infrastructure.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/hotskus}: the products with the highest recent reservation rate, hottest first,
+ * with the time their reservations waited for the row lock.
+ */
+@Component
+@Endpoint(id = "hotskus")
+@RequiredArgsConstructor
+public class HotSkuEndpoint {
+
+    private final HotSkuTracker hotSkuTracker;
+
+    @ReadOperation
+    public List<HotSkuTracker.HotSku> hotSkus() {
+        return hotSkuTracker.hotSkus();
+    }
+}
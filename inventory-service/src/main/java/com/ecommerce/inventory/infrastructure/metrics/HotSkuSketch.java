@@ -0,0 +1,165 @@
+package com.ecommerce.inventory.infrastructure.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-memory heavy-hitters sketch of reservations and lock wait per product code.
+ *
+ * <p>A Count-Min sketch of {@code depth} rows by {@code width} cells estimates, for any product,
+ * how many reservations it saw and how long they waited for the row lock. Estimates never
+ * undercount, and overcount by at most about {@code e / width} of the total with a probability
+ * of {@code 1 - e^-depth}. Next to it, the at most {@code capacity} products with the highest
+ * estimated count are kept as top-K candidates. A product enters the candidates once its estimate
+ * beats the smallest estimate among them, and replaces that product.
+ *
+ * <p>Counters are updated without locking. Only a product that is about to enter the candidates
+ * takes the lock, so products outside the top-K stay on the lock-free path.
+ * {@link #decay()} halves every counter, so the counts are exponentially weighted towards recent
+ * reservations.
+ */
+final class HotSkuSketch {
+
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray lockWaits;
+    private final Set<String> candidates = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock candidatesLock = new ReentrantLock();
+
+    /**
+     * Smallest estimate among the candidates once they are full, 0 while there is room left.
+     */
+    private volatile long admissionThreshold;
+
+    HotSkuSketch(int width, int depth, int capacity) {
+        if (width < 1 || depth < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Width, depth and capacity must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.capacity = capacity;
+        this.counts = new AtomicLongArray(width * depth);
+        this.lockWaits = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * Adds reservations of a product and the time they waited for the lock.
+     */
+    void add(String productCode, long reservations, long lockWaitNanos) {
+        int hash1 = productCode.hashCode();
+        int hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, hash1, hash2);
+            estimate = Math.min(estimate, counts.addAndGet(cell, reservations));
+            lockWaits.addAndGet(cell, lockWaitNanos);
+        }
+
+        if (estimate > admissionThreshold && !candidates.contains(productCode)) {
+            admit(productCode, estimate);
+        }
+    }
+
+    /**
+     * Estimated reservations of a product, never less than the true (decayed) count.
+     */
+    long estimateCount(String productCode) {
+        return estimate(counts, productCode);
+    }
+
+    /**
+     * Estimated total lock wait of a product in nanoseconds, never less than the true (decayed) total.
+     */
+    long estimateLockWaitNanos(String productCode) {
+        return estimate(lockWaits, productCode);
+    }
+
+    /**
+     * The candidate product codes, hottest first.
+     */
+    List<String> topK() {
+        return candidates.stream()
+                .sorted(Comparator.comparingLong(this::estimateCount).reversed())
+                .toList();
+    }
+
+    /**
+     * Halves every counter and drops candidates whose count decayed to zero.
+     */
+    void decay() {
+        for (int cell = 0; cell < counts.length(); cell++) {
+            counts.getAndUpdate(cell, count -> count >> 1);
+            lockWaits.getAndUpdate(cell, wait -> wait >> 1);
+        }
+
+        candidatesLock.lock();
+        try {
+            candidates.removeIf(productCode -> estimateCount(productCode) == 0);
+            admissionThreshold = candidates.size() < capacity ? 0 : smallestCandidateEstimate();
+        } finally {
+            candidatesLock.unlock();
+        }
+    }
+
+    private void admit(String productCode, long estimate) {
+        candidatesLock.lock();
+        try {
+            if (candidates.contains(productCode)) {
+                return;
+            }
+            if (candidates.size() >= capacity) {
+                String coldest = candidates.stream()
+                        .min(Comparator.comparingLong(this::estimateCount))
+                        .orElseThrow();
+                if (estimateCount(coldest) >= estimate) {
+                    admissionThreshold = estimateCount(coldest);
+                    return;
+                }
+                candidates.remove(coldest);
+            }
+            candidates.add(productCode);
+            admissionThreshold = candidates.size() < capacity ? 0 : smallestCandidateEstimate();
+        } finally {
+            candidatesLock.unlock();
+        }
+    }
+
+    private long smallestCandidateEstimate() {
+        return candidates.stream().mapToLong(this::estimateCount).min().orElse(0);
+    }
+
+    private long estimate(AtomicLongArray cells, String productCode) {
+        int hash1 = productCode.hashCode();
+        int hash2 = mix(hash1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, cells.get(cell(row, hash1, hash2)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Cell of a product in a row, derived from two hashes as {@code hash1 + row * hash2}.
+     */
+    private int cell(int row, int hash1, int hash2) {
+        return row * width + Math.floorMod(hash1 + row * hash2, width);
+    }
+
+    /**
+     * Second, independent hash of the product code (the MurmurHash3 finalizer).
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash | 1;
+    }
+}
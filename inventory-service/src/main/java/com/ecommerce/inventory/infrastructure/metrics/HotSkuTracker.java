@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.infrastructure.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tracks the reservation rate and lock wait of every product in a fixed-memory {@link HotSkuSketch},
+ * and reports the hottest products.
+ *
+ * <p>Every {@code decay-interval-ms} all counters are halved. A product reserved at a steady rate
+ * therefore settles at about {@code 2 * rate * interval} reservations, which is how the reported
+ * rate is derived. Memory stays at {@code 2 * width * depth} counters however many products are
+ * reserved.
+ */
+@Component
+public class HotSkuTracker {
+
+    /**
+     * A hot product with its estimated recent reservation rate and lock wait.
+     *
+     * @param productCode           the product code
+     * @param reservationsPerSecond estimated reservations per second, over roughly the last two decay intervals
+     * @param lockWaitMillis        estimated time the recent reservations waited for the row lock
+     * @param averageLockWaitMillis estimated lock wait per reservation
+     */
+    public record HotSku(String productCode, double reservationsPerSecond, double lockWaitMillis,
+                         double averageLockWaitMillis) {
+    }
+
+    private final HotSkuSketch sketch;
+    private final long decayIntervalMillis;
+
+    public HotSkuTracker(
+            @Value("${inventory.reservation.hot-sku-detector.width:2048}") int width,
+            @Value("${inventory.reservation.hot-sku-detector.depth:4}") int depth,
+            @Value("${inventory.reservation.hot-sku-detector.top-k:20}") int topK,
+            @Value("${inventory.reservation.hot-sku-detector.decay-interval-ms:10000}") long decayIntervalMillis) {
+        this.sketch = new HotSkuSketch(width, depth, topK);
+        this.decayIntervalMillis = decayIntervalMillis;
+    }
+
+    /**
+     * Records reservations of a product that waited {@code lockWaitNanos} in total for the row lock.
+     */
+    public void record(String productCode, int reservations, long lockWaitNanos) {
+        sketch.add(productCode, reservations, lockWaitNanos);
+    }
+
+    /**
+     * The hottest products by reservation rate, hottest first.
+     */
+    public List<HotSku> hotSkus() {
+        double windowSeconds = 2 * decayIntervalMillis / 1000.0;
+        return sketch.topK().stream()
+                .map(productCode -> {
+                    long count = sketch.estimateCount(productCode);
+                    double lockWaitMillis = sketch.estimateLockWaitNanos(productCode) / 1_000_000.0;
+                    return new HotSku(productCode, count / windowSeconds, lockWaitMillis,
+                            count == 0 ? 0 : lockWaitMillis / count);
+                })
+                .toList();
+    }
+
+    /**
+     * The product codes of {@link #hotSkus()}, for hot-SKU handling such as sharding.
+     */
+    public List<String> hotProductCodes() {
+        return sketch.topK();
+    }
+
+    @Scheduled(fixedRateString = "${inventory.reservation.hot-sku-detector.decay-interval-ms:10000}",
+            initialDelayString = "${inventory.reservation.hot-sku-detector.decay-interval-ms:10000}")
+    public void decay() {
+        sketch.decay();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.inventory.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the database reservation path, published through the actuator metrics endpoint.
+ *
+ * <ul>
+ *   <li>{@code inventory.reservation.lock.wait}: time spent locking the inventory row, by
+ *       {@code SELECT ... FOR UPDATE} or by the guarded {@code UPDATE} of the conditional-update mode.</li>
+ *   <li>{@code inventory.reservation.save}: time spent writing the reduced quantity.</li>
+ *   <li>{@code inventory.reservation.validate}: the whole reservation, up to but excluding the commit.</li>
+ *   <li>{@code inventory.reservation.outcome}: reservations by {@code outcome}.</li>
+ *   <li>{@code inventory.reservation.lock.failures}: optimistic and pessimistic locking failures by
+ *       {@code type}.</li>
+ * </ul>
+ *
+ * The timers publish percentile histograms, so latency percentiles can be aggregated across instances.
+ * Every lock wait is also recorded per product in the {@link HotSkuTracker}.
+ */
+@Component
+public class ReservationMetrics {
+
+    /**
+     * How a reservation ended.
+     */
+    public enum Outcome {
+        LOCKED("locked"),
+        INSUFFICIENT("insufficient"),
+        NOT_FOUND("not-found"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final HotSkuTracker hotSkuTracker;
+    private final Timer lockWaitTimer;
+    private final Timer saveTimer;
+    private final Timer validateTimer;
+    private final Map<Outcome, Counter> outcomeCounters = new EnumMap<>(Outcome.class);
+    private final Counter optimisticFailures;
+    private final Counter pessimisticFailures;
+
+    public ReservationMetrics(MeterRegistry meterRegistry, HotSkuTracker hotSkuTracker) {
+        this.hotSkuTracker = hotSkuTracker;
+        this.lockWaitTimer = Timer.builder("inventory.reservation.lock.wait")
+                .description("Time to lock the inventory row of a reservation")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.saveTimer = Timer.builder("inventory.reservation.save")
+                .description("Time to write the reduced quantity of a locked inventory row")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.validateTimer = Timer.builder("inventory.reservation.validate")
+                .description("Time to validate and lock stock, excluding the commit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        for (Outcome outcome : Outcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("inventory.reservation.outcome")
+                    .description("Reservations by outcome")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+        this.optimisticFailures = Counter.builder("inventory.reservation.lock.failures")
+                .description("Reservations that failed on a locking conflict")
+                .tag("type", "optimistic")
+                .register(meterRegistry);
+        this.pessimisticFailures = Counter.builder("inventory.reservation.lock.failures")
+                .description("Reservations that failed on a locking conflict")
+                .tag("type", "pessimistic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times the statement that locks the row of a product, on behalf of {@code reservations} reservations.
+     */
+    public <T> T timeLockWait(String productCode, int reservations, Supplier<T> lock) {
+        long start = System.nanoTime();
+        try {
+            return lock.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lockWaitTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            hotSkuTracker.record(productCode, reservations, elapsed * reservations);
+        }
+    }
+
+    public <T> T timeSave(Supplier<T> save) {
+        return saveTimer.record(save);
+    }
+
+    public Timer.Sample startValidation() {
+        return Timer.start();
+    }
+
+    /**
+     * Stops the validation timer and counts the outcome.
+     */
+    public void recordOutcome(Timer.Sample sample, Outcome outcome) {
+        sample.stop(validateTimer);
+        outcomeCounters.get(outcome).increment();
+    }
+
+    /**
+     * Counts the failure if it was caused by a locking conflict, such as a version mismatch,
+     * a lock wait timeout or a deadlock.
+     */
+    public void recordFailure(Throwable failure) {
+        if (failure instanceof OptimisticLockingFailureException) {
+            optimisticFailures.increment();
+        } else if (failure instanceof PessimisticLockingFailureException) {
+            pessimisticFailures.increment();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.ecommerce.inventory.infrastructure.timer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel that tracks a deadline per key.
+ *
+ * <p>Time advances in ticks of {@code tickMillis}. Level 0 has one slot per tick, and every
+ * level above covers {@code 2^wheelBits} slots of the level below, so {@code levels} wheels of
+ * {@code 2^wheelBits} slots span {@code 2^(wheelBits * levels)} ticks. A key is linked into the
+ * slot of its deadline on the lowest level that reaches it, and moves down a level each time the
+ * wheel below wraps around. Scheduling and cancelling take constant time, and advancing by one
+ * tick only touches the keys that are due or move down a level, however many keys are tracked.
+ * Deadlines beyond the span wait in the top level and are placed again when it comes round.
+ *
+ * <p>A key never expires before its deadline, and at most one tick after it. Due keys are
+ * handed out in batches by {@link #expire}; keys that do not fit in a batch stay due, and can
+ * still be cancelled, until the next call. All methods are thread-safe.
+ *
+ * @param <K> The key type, compared with {@code equals}
+ */
+public class HierarchicalTimingWheel<K> {
+
+    public static final int DEFAULT_WHEEL_BITS = 6;
+    public static final int DEFAULT_LEVELS = 4;
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int wheelBits;
+    private final long mask;
+    private final long spanTicks;
+    private final Bucket<K>[][] wheels;
+    private final Bucket<K> due = new Bucket<>();
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+
+    private long currentTick;
+
+    /**
+     * Creates a wheel of four levels of 64 slots.
+     *
+     * @param tickMillis  Length of a tick in milliseconds
+     * @param startMillis The time of tick 0, in milliseconds since the epoch
+     */
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        this(tickMillis, DEFAULT_WHEEL_BITS, DEFAULT_LEVELS, startMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelBits, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelBits <= 0 || levels <= 0 || (long) wheelBits * levels >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tickMillis=" + tickMillis
+                    + ", wheelBits=" + wheelBits + ", levels=" + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.wheelBits = wheelBits;
+        this.mask = (1L << wheelBits) - 1;
+        this.spanTicks = 1L << (wheelBits * levels);
+        this.wheels = new Bucket[levels][1 << wheelBits];
+        for (Bucket<K>[] wheel : wheels) {
+            for (int slot = 0; slot < wheel.length; slot++) {
+                wheel[slot] = new Bucket<>();
+            }
+        }
+    }
+
+    /**
+     * Tracks the deadline of a key, replacing its previous deadline if it has one.
+     * A deadline that has already passed makes the key due straight away.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            node.bucket.remove(node);
+        }
+        node.deadlineTick = Math.ceilDiv(deadlineMillis - startMillis, tickMillis);
+        place(node);
+    }
+
+    /**
+     * Stops tracking a key.
+     *
+     * @return Whether the key was tracked, false if it was never scheduled or already expired
+     */
+    public synchronized boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.bucket.remove(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis} and hands out the keys whose deadline has passed,
+     * earliest tick first. Handed out keys are no longer tracked.
+     *
+     * @param nowMillis The current time in milliseconds since the epoch
+     * @param maxKeys   The maximum number of keys to return, the others stay due
+     * @return The expired keys
+     */
+    public synchronized List<K> expire(long nowMillis, int maxKeys) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            Node<K> node = wheels[0][(int) (currentTick & mask)].takeAll();
+            while (node != null) {
+                Node<K> next = node.next;
+                due.add(node);
+                node = next;
+            }
+        }
+
+        List<K> expired = new ArrayList<>();
+        while (expired.size() < maxKeys && due.head != null) {
+            Node<K> node = due.head;
+            due.remove(node);
+            nodes.remove(node.key);
+            expired.add(node.key);
+        }
+        return expired;
+    }
+
+    /**
+     * Number of tracked keys, including the keys that are due but not handed out yet.
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Moves the keys of every higher level slot that starts at the current tick down a level.
+     */
+    private void cascade() {
+        for (int level = 1; level < wheels.length; level++) {
+            int shift = wheelBits * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node<K> node = wheels[level][(int) ((currentTick >>> shift) & mask)].takeAll();
+            while (node != null) {
+                Node<K> next = node.next;
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    private void place(Node<K> node) {
+        long delta = node.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(node);
+            return;
+        }
+
+        int top = wheels.length - 1;
+        for (int level = 0; level <= top; level++) {
+            int shift = wheelBits * level;
+            if (level == top || delta < 1L << (shift + wheelBits)) {
+                // Deadlines beyond the span wait in the last slot that comes round before the span ends
+                long tick = delta < spanTicks ? node.deadlineTick : currentTick + spanTicks - 1;
+                wheels[level][(int) ((tick >>> shift) & mask)].add(node);
+                return;
+            }
+        }
+    }
+
+    private static final class Node<K> {
+        private final K key;
+        private long deadlineTick;
+        private Node<K> prev;
+        private Node<K> next;
+        private Bucket<K> bucket;
+
+        private Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Doubly linked list of the keys in a slot, so a key is removed in constant time.
+     */
+    private static final class Bucket<K> {
+        private Node<K> head;
+        private Node<K> tail;
+
+        void add(Node<K> node) {
+            node.bucket = this;
+            node.next = null;
+            node.prev = tail;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        void remove(Node<K> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.bucket = null;
+        }
+
+        /**
+         * Empties the slot and returns its first key, the others follow through {@code next}.
+         */
+        Node<K> takeAll() {
+            Node<K> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+}
@@ -1,18 +1,32 @@
 package com.ecommerce.inventory.interfaces.rest;
 
+import com.ecommerce.inventory.application.dto.request.BatchStockValidationRequest;
 import com.ecommerce.inventory.application.dto.request.InventoryItemRequest;
+import com.ecommerce.inventory.application.dto.request.InventoryLookupRequest;
 import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.BatchStockValidationResponse;
+import com.ecommerce.inventory.application.dto.respose.InventoryImportResponse;
 import com.ecommerce.inventory.application.dto.respose.InventoryItemResponse;
+import com.ecommerce.inventory.application.dto.respose.InventoryLookupResponse;
+import com.ecommerce.inventory.application.dto.respose.SoldOutProductsResponse;
 import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
 import com.ecommerce.inventory.application.service.InventoryApplicationService;
+import com.ecommerce.inventory.application.service.InventoryExportService;
+import com.ecommerce.inventory.application.service.InventoryImportService;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -21,6 +35,8 @@ import org.springframework.web.bind.annotation.*;
 public class InventoryController {
 
     private final InventoryApplicationService inventoryService;
+    private final InventoryImportService inventoryImportService;
+    private final InventoryExportService inventoryExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -31,24 +47,81 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.CREATED).body(inventoryService.addOrUpdateInventory(request));
     }
 
+    /**
+     * Imports inventory items from an NDJSON or CSV body, streamed and written in JDBC batches.
+     * No circuit breaker is applied, since a large import is expected to run for a long time.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryImportResponse> importInventory(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+        return ResponseEntity.ok(inventoryImportService.importInventory(body, contentType));
+    }
+
+    /**
+     * Streams every inventory item as NDJSON in ascending id order.
+     * The body is written asynchronously while the table is walked with keyset pagination.
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportInventory() {
+        return ResponseEntity.ok()
+                .contentType(InventoryImportService.APPLICATION_NDJSON)
+                .body(inventoryExportService::exportInventory);
+    }
+
     @GetMapping("/{productCode}")
     @CircuitBreaker(name = "inventory", fallbackMethod = "getInventoryByProductCodeFallback")
     public ResponseEntity<InventoryItemResponse> getInventoryByProductCode(@PathVariable String productCode) {
         return ResponseEntity.ok(inventoryService.getInventoryByProductCode(productCode));
     }
 
+    @PostMapping("/lookup")
+    @CircuitBreaker(name = "inventory", fallbackMethod = "lookupInventoryFallback")
+    public ResponseEntity<InventoryLookupResponse> lookupInventory(@Valid @RequestBody InventoryLookupRequest request) {
+        InventoryLookupResponse response = inventoryService.getInventoryByProductCodes(request);
+        return response.errorMessage() == null
+                ? ResponseEntity.ok(response)
+                : ResponseEntity.badRequest().body(response);
+    }
+
+    @GetMapping("/availability/sold-out")
+    @CircuitBreaker(name = "inventory", fallbackMethod = "getSoldOutProductsFallback")
+    public ResponseEntity<SoldOutProductsResponse> getSoldOutProducts(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        SoldOutProductsResponse response = inventoryService.getSoldOutProducts();
+        if (response.version().equals(ifNoneMatch)) {
+            // The caller already holds these products, only the time of the snapshot would change
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(response.version()).build();
+        }
+        return ResponseEntity.ok().eTag(response.version()).body(response);
+    }
+
     @PostMapping("/validate")
     @CircuitBreaker(name = "inventory", fallbackMethod = "validateStockFallback")
     public ResponseEntity<StockValidationResponse> validateStock(@Valid @RequestBody StockValidationRequest request) {
         return ResponseEntity.ok(inventoryService.validateStock(request));
     }
 
+    @PostMapping("/validate/batch")
+    @CircuitBreaker(name = "inventory", fallbackMethod = "validateStockBatchFallback")
+    public ResponseEntity<BatchStockValidationResponse> validateStockBatch(
+            @Valid @RequestBody BatchStockValidationRequest request) {
+        return ResponseEntity.ok(inventoryService.validateStockBatch(request));
+    }
+
     @PostMapping("/unlock/{lockReferenceId}")
     @CircuitBreaker(name = "inventory", fallbackMethod = "unlockStockFallback")
     public ResponseEntity<Boolean> unlockStock(@PathVariable String lockReferenceId) {
         return ResponseEntity.ok(inventoryService.unlockStock(lockReferenceId));
     }
 
+    @PostMapping("/commit/{lockReferenceId}")
+    @CircuitBreaker(name = "inventory", fallbackMethod = "commitStockFallback")
+    public ResponseEntity<Boolean> commitStock(@PathVariable String lockReferenceId) {
+        return ResponseEntity.ok(inventoryService.commitStock(lockReferenceId));
+    }
+
     // Fallback methods
 
     public ResponseEntity<InventoryItemResponse> addOrUpdateInventoryFallback(
@@ -78,6 +151,26 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(degradedResponse);
     }
 
+    public ResponseEntity<InventoryLookupResponse> lookupInventoryFallback(InventoryLookupRequest request, Exception ex) {
+        log.error("Circuit breaker triggered for inventory lookup: {}", ex.getMessage());
+
+        InventoryLookupResponse degradedResponse = InventoryLookupResponse.builder()
+                .errorMessage("Inventory service temporarily unavailable: " + ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(degradedResponse);
+    }
+
+    public ResponseEntity<SoldOutProductsResponse> getSoldOutProductsFallback(String ifNoneMatch, Exception ex) {
+        log.error("Circuit breaker triggered for sold out products retrieval: {}", ex.getMessage());
+
+        SoldOutProductsResponse degradedResponse = SoldOutProductsResponse.builder()
+                .errorMessage("Inventory service temporarily unavailable: " + ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(degradedResponse);
+    }
+
     public ResponseEntity<StockValidationResponse> validateStockFallback(StockValidationRequest request, Exception ex) {
         log.error("Circuit breaker triggered for stock validation: {}", ex.getMessage());
 
@@ -92,8 +185,26 @@ public class InventoryController {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(degradedResponse);
     }
 
+    public ResponseEntity<BatchStockValidationResponse> validateStockBatchFallback(
+            BatchStockValidationRequest request, Exception ex) {
+        log.error("Circuit breaker triggered for batch stock validation: {}", ex.getMessage());
+
+        BatchStockValidationResponse degradedResponse = BatchStockValidationResponse.builder()
+                .inStock(false)
+                .locked(false)
+                .errorMessage("Inventory service temporarily unavailable: " + ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(degradedResponse);
+    }
+
     public ResponseEntity<Boolean> unlockStockFallback(String lockReferenceId, Exception ex) {
         log.error("Circuit breaker triggered for stock unlock: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(false);
     }
+
+    public ResponseEntity<Boolean> commitStockFallback(String lockReferenceId, Exception ex) {
+        log.error("Circuit breaker triggered for stock commit: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(false);
+    }
 }
\ No newline at end of file
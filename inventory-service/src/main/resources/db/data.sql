@@ -1,7 +1,7 @@
 -- Inventory Service Sample Data
 
--- Insert sample inventory items
-INSERT INTO inventory (product_code, product_name, quantity, description)
+-- Insert sample inventory items, products that already exist keep their stock
+INSERT IGNORE INTO inventory (product_code, product_name, quantity, description)
 VALUES
 ('PROD-001', 'Smartphone XYZ', 100, 'Latest smartphone model with advanced features'),
 ('PROD-002', 'Laptop Pro Max', 50, 'High performance laptop for professionals'),
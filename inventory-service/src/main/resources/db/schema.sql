@@ -1,7 +1,9 @@
 -- Inventory Service Database Schema
 
--- Drop tables if they exist
-DROP TABLE IF EXISTS inventory;
+-- Only the replication heartbeat is dropped. The stock, the reservations held against it and the journal checkpoint
+-- share one lifecycle and are never dropped: recreating the stock alone would release restored reservations and
+-- replay the journal onto freshly seeded rows
+DROP TABLE IF EXISTS replication_heartbeat;
 
 -- Create inventory table
 CREATE TABLE IF NOT EXISTS inventory (
@@ -10,8 +12,51 @@ CREATE TABLE IF NOT EXISTS inventory (
     product_name VARCHAR(100) NOT NULL,
     quantity INT NOT NULL DEFAULT 0,
     description TEXT,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     INDEX idx_product_code (product_code)
-); 
\ No newline at end of file
+);
+
+-- Sold out products are found with a range scan on quantity <= 0 instead of a full table scan.
+-- Created on its own, so a table kept from an earlier version gets it as well
+CREATE INDEX IF NOT EXISTS idx_inventory_quantity ON inventory (quantity);
+
+-- Create reservation table, one row per reserved line, expired rows are released by the sweeper.
+-- The reservations are restored on startup and released when they expire
+CREATE TABLE IF NOT EXISTS reservation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    lock_reference_id VARCHAR(36) NOT NULL,
+    product_code VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+
+    INDEX idx_reservation_lock_reference_id (lock_reference_id),
+    INDEX idx_reservation_expires_at (expires_at)
+);
+
+-- Create inventory shard table, the stock of a hot product is split across several rows
+CREATE TABLE IF NOT EXISTS inventory_shard (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_code VARCHAR(50) NOT NULL,
+    shard_no INT NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    UNIQUE KEY uk_inventory_shard (product_code, shard_no)
+);
+
+-- Create stock journal checkpoint table, how far the in-memory engine journal has been applied to inventory.
+-- The journal segments outlive a restart, and without the checkpoint they would be replayed again
+CREATE TABLE IF NOT EXISTS stock_journal_checkpoint (
+    journal_name VARCHAR(50) PRIMARY KEY,
+    flushed_position BIGINT NOT NULL
+);
+
+-- Create replication heartbeat table, written on the primary and read on the replica to measure replication lag
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
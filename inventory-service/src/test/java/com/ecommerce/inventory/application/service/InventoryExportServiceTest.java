@@ -0,0 +1,100 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryExportServiceTest {
+
+    @Mock
+    private InventoryDomainService inventoryDomainService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private InventoryExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new InventoryExportService(inventoryDomainService, objectMapper, 500, 100);
+    }
+
+    // Helper method to create test inventory items
+    private Inventory createTestInventoryItem(Long id, String productCode, int quantity) {
+        return Inventory.builder()
+                .id(id)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .description(null)
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line with the configured page and fetch size")
+    @SuppressWarnings("unchecked")
+    void exportWritesNdjson() throws IOException {
+        // Arrange
+        when(inventoryDomainService.forEachInventoryItem(eq(500), eq(100), any())).thenAnswer(invocation -> {
+            Consumer<Inventory> consumer = invocation.getArgument(2);
+            consumer.accept(createTestInventoryItem(1L, "PROD-1", 5));
+            consumer.accept(createTestInventoryItem(2L, "PROD-2", 0));
+            return 2L;
+        });
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.exportInventory(output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals(2, second.get("id").asLong());
+        assertEquals("PROD-2", second.get("productCode").asText());
+        assertEquals(0, second.get("quantity").asInt());
+        assertTrue(second.get("description").isNull());
+    }
+
+    @Test
+    @DisplayName("Should stop the walk when the client goes away")
+    void exportStopsOnWriteFailure() {
+        // Arrange
+        when(inventoryDomainService.forEachInventoryItem(anyInt(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<Inventory> consumer = invocation.getArgument(2);
+            for (long id = 1; id <= 10_000; id++) {
+                consumer.accept(createTestInventoryItem(id, "PROD-" + id, 1));
+            }
+            return 10_000L;
+        });
+        OutputStream brokenPipe = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> exportService.exportInventory(brokenPipe));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.application.dto.respose.InventoryImportResponse;
+import com.ecommerce.inventory.domain.exception.InvalidOperationException;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryImportServiceTest {
+
+    @Mock
+    private InventoryDomainService inventoryDomainService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InventoryImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        importService = new InventoryImportService(inventoryDomainService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), meterRegistry, 2, 10, 100);
+    }
+
+    // Helper method to create test import bodies
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should upsert NDJSON rows in batches of the configured size")
+    @SuppressWarnings("unchecked")
+    void ndjsonRowsAreBatched() throws IOException {
+        // Arrange
+        when(inventoryDomainService.importInventoryItems(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0, List.class).size());
+        String content = """
+                {"productCode":"PROD-1","productName":"One","quantity":1}
+                {"productCode":"PROD-2","productName":"Two","quantity":2}
+
+                {"productCode":"PROD-3","productName":"Three","quantity":3,"description":"Third"}
+                """;
+
+        // Act
+        InventoryImportResponse response = importService.importInventory(body(content), InventoryImportService.APPLICATION_NDJSON);
+
+        // Assert
+        ArgumentCaptor<List<Inventory>> batches = ArgumentCaptor.forClass(List.class);
+        verify(inventoryDomainService, times(2)).importInventoryItems(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals("Third", batches.getAllValues().get(1).get(0).getDescription());
+        assertEquals(3, response.rowsRead());
+        assertEquals(3, response.rowsImported());
+        assertEquals(2, response.batches());
+        assertEquals(3.0, meterRegistry.get("inventory.import.rows").tag("outcome", "imported").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should report invalid CSV rows with their line number and import the rest")
+    void invalidCsvRowsAreReported() throws IOException {
+        // Arrange
+        when(inventoryDomainService.importInventoryItems(anyList())).thenReturn(1);
+        String content = """
+                productCode,productName,quantity,description
+                PROD-1,"Widget, large",5,"Says ""hi""\"
+                PROD-2,Gadget,many,
+                ,Nameless,1,
+                """;
+
+        // Act
+        InventoryImportResponse response = importService.importInventory(body(content), InventoryImportService.TEXT_CSV);
+
+        // Assert
+        verify(inventoryDomainService).importInventoryItems(argThat(items -> items.size() == 1
+                && items.get(0).getProductName().equals("Widget, large")
+                && items.get(0).getDescription().equals("Says \"hi\"")));
+        assertEquals(3, response.rowsRead());
+        assertEquals(1, response.rowsImported());
+        assertEquals(2, response.rowsFailed());
+        assertEquals(3, response.errors().get(0).line());
+        assertEquals("Invalid quantity: many", response.errors().get(0).message());
+        assertEquals(4, response.errors().get(1).line());
+        assertEquals("Product code is required", response.errors().get(1).message());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch row by row and report only the rows that fail")
+    void failedBatchIsRetriedRowByRow() throws IOException {
+        // Arrange
+        when(inventoryDomainService.importInventoryItems(argThat(items -> items != null && items.size() == 2)))
+                .thenThrow(new IllegalStateException("Data too long for column"));
+        when(inventoryDomainService.importInventoryItems(argThat(items -> items != null && items.size() == 1
+                && items.get(0).getProductCode().equals("PROD-1")))).thenReturn(1);
+        when(inventoryDomainService.importInventoryItems(argThat(items -> items != null && items.size() == 1
+                && items.get(0).getProductCode().equals("PROD-2"))))
+                .thenThrow(new IllegalStateException("Data too long for column"));
+        String content = """
+                {"productCode":"PROD-1","productName":"One","quantity":1}
+                {"productCode":"PROD-2","productName":"Two","quantity":2}
+                """;
+
+        // Act
+        InventoryImportResponse response = importService.importInventory(body(content), InventoryImportService.APPLICATION_NDJSON);
+
+        // Assert
+        assertEquals(1, response.rowsImported());
+        assertEquals(1, response.rowsFailed());
+        assertEquals(2, response.errors().get(0).line());
+        assertEquals("PROD-2", response.errors().get(0).productCode());
+    }
+
+    @Test
+    @DisplayName("Should reject a CSV body without the required columns")
+    void csvWithoutRequiredColumnsIsRejected() {
+        // Act & Assert
+        assertThrows(InvalidOperationException.class,
+                () -> importService.importInventory(body("productCode,quantity\nPROD-1,1\n"), InventoryImportService.TEXT_CSV));
+        verifyNoInteractions(inventoryDomainService);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.exception.StockUpdateException;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.SequencedMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationCoalescerTest {
+
+    @Mock
+    private InventoryDomainService inventoryDomainService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReservationCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    private ReservationCoalescer createCoalescer(long windowMillis, int maxBatchSize, int maxQueueDepth) {
+        return new ReservationCoalescer(inventoryDomainService, meterRegistry,
+                windowMillis, maxBatchSize, maxQueueDepth, 1_000, 2);
+    }
+
+    @Test
+    @DisplayName("Should apply requests queued within the window in one call, in arrival order")
+    @SuppressWarnings("unchecked")
+    void reserveCoalescesRequestsInOrder() throws Exception {
+        // Arrange
+        coalescer = createCoalescer(200, 64, 1024);
+        when(inventoryDomainService.reserveStockInOrder(eq("PROD-1"), any())).thenAnswer(invocation -> {
+            SequencedMap<String, Integer> requests = invocation.getArgument(1);
+            return requests.values().stream()
+                    .map(quantity -> StockReservation.reserved("PROD-1", quantity, 0))
+                    .toList();
+        });
+
+        // Act
+        List<CompletableFuture<StockReservation>> results = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> coalescer.reserve("PROD-1", i, "ref-" + i))
+                .toList();
+
+        // Assert
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i + 1, results.get(i).get().requestedQuantity());
+        }
+        ArgumentCaptor<SequencedMap<String, Integer>> captor = ArgumentCaptor.forClass(SequencedMap.class);
+        verify(inventoryDomainService, times(1)).reserveStockInOrder(eq("PROD-1"), captor.capture());
+        assertEquals(List.of("ref-1", "ref-2", "ref-3", "ref-4", "ref-5"), List.copyOf(captor.getValue().keySet()));
+        assertEquals(5.0, meterRegistry.get("inventory.reservation.coalescer.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Should apply a full batch without waiting for the window to close")
+    void reserveFlushesFullBatchEarly() throws Exception {
+        // Arrange
+        coalescer = createCoalescer(60_000, 2, 1024);
+        when(inventoryDomainService.reserveStockInOrder(eq("PROD-1"), any())).thenReturn(List.of(
+                StockReservation.reserved("PROD-1", 1, 1), StockReservation.insufficientStock("PROD-1", 2, 1)));
+
+        // Act
+        CompletableFuture<StockReservation> first = coalescer.reserve("PROD-1", 1, "ref-1");
+        CompletableFuture<StockReservation> second = coalescer.reserve("PROD-1", 2, "ref-2");
+
+        // Assert
+        assertTrue(first.get().isReserved());
+        assertFalse(second.get().isReserved());
+    }
+
+    @Test
+    @DisplayName("Should reject requests beyond the queue depth of a product")
+    void reserveRejectsWhenQueueIsFull() {
+        // Arrange
+        coalescer = createCoalescer(60_000, 64, 1);
+
+        // Act
+        coalescer.reserve("PROD-1", 1, "ref-1");
+        CompletableFuture<StockReservation> rejected = coalescer.reserve("PROD-1", 1, "ref-2");
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(StockUpdateException.class, exception.getCause());
+        assertEquals(1.0, meterRegistry.get("inventory.reservation.coalescer.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should remove the queue of a product once its last batch is applied")
+    void idleQueuesAreRemoved() throws Exception {
+        // Arrange
+        coalescer = createCoalescer(1, 64, 1024);
+        when(inventoryDomainService.reserveStockInOrder(any(), any())).thenAnswer(invocation -> {
+            SequencedMap<String, Integer> requests = invocation.getArgument(1);
+            return requests.values().stream()
+                    .map(quantity -> StockReservation.reserved(invocation.getArgument(0), quantity, 0))
+                    .toList();
+        });
+
+        // Act
+        List<CompletableFuture<StockReservation>> results = IntStream.range(0, 100)
+                .mapToObj(i -> coalescer.reserve("PROD-" + i, 1, "ref-" + i))
+                .toList();
+        for (CompletableFuture<StockReservation> result : results) {
+            assertTrue(result.get().isReserved());
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.queueCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(0, coalescer.queueCount());
+        assertTrue(coalescer.reserve("PROD-0", 1, "ref-again").get().isReserved());
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.ReservationDomainService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpirySweeperTest {
+
+    @Mock
+    private ReservationDomainService reservationDomainService;
+
+    @Mock
+    private InventoryDomainService inventoryDomainService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ReservationExpirySweeper(
+                reservationDomainService, inventoryDomainService, transactionManager, meterRegistry, 2);
+    }
+
+    // Helper method to create test reservations
+    private Reservation createTestReservation(String lockReferenceId, String productCode, int quantity) {
+        return Reservation.builder()
+                .lockReferenceId(lockReferenceId)
+                .productCode(productCode)
+                .quantity(quantity)
+                .expiresAt(Instant.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should release expired stock once per product and keep sweeping until a batch is empty")
+    void sweepExpiredReservationsReleasesPerProduct() {
+        // Arrange
+        when(reservationDomainService.claimExpired(any(Instant.class), anyInt()))
+                .thenReturn(List.of(
+                        createTestReservation("ref-1", "PROD-1", 3),
+                        createTestReservation("ref-2", "PROD-1", 2),
+                        createTestReservation("ref-2", "PROD-2", 1)))
+                .thenReturn(List.of(createTestReservation("ref-3", "PROD-2", 4)))
+                .thenReturn(List.of());
+        when(inventoryDomainService.releaseStock(any(), anyInt(), any())).thenReturn(true);
+
+        // Act
+        sweeper.sweepExpiredReservations();
+
+        // Assert
+        verify(inventoryDomainService).releaseStock("PROD-1", 5, ReservationExpirySweeper.EXPIRED_LOCK_REFERENCE);
+        verify(inventoryDomainService).releaseStock("PROD-2", 1, ReservationExpirySweeper.EXPIRED_LOCK_REFERENCE);
+        verify(inventoryDomainService).releaseStock("PROD-2", 4, ReservationExpirySweeper.EXPIRED_LOCK_REFERENCE);
+        verify(reservationDomainService, times(3)).claimExpired(any(Instant.class), eq(2));
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(3.0, meterRegistry.get("inventory.reservations.expired").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.reservations.sweep").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should roll back the batch when the stock cannot be released")
+    void sweepExpiredReservationsRollsBackOnFailure() {
+        // Arrange
+        when(reservationDomainService.claimExpired(any(Instant.class), anyInt()))
+                .thenReturn(List.of(createTestReservation("ref-1", "PROD-1", 3)));
+        when(inventoryDomainService.releaseStock(any(), anyInt(), any()))
+                .thenThrow(new RuntimeException("database unavailable"));
+
+        // Act
+        sweeper.sweepExpiredReservations();
+
+        // Assert
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(0.0, meterRegistry.get("inventory.reservations.expired").counter().count());
+    }
+}
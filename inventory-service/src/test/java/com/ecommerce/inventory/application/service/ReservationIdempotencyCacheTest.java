@@ -0,0 +1,197 @@
+package com.ecommerce.inventory.application.service;
+
+import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReservationIdempotencyCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationIdempotencyCache cache;
+    private AtomicInteger reservations;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReservationIdempotencyCache(meterRegistry, true, 100, Duration.ofMinutes(10));
+        reservations = new AtomicInteger();
+    }
+
+    // Helper method to create test requests
+    private StockValidationRequest createTestRequest(String productCode, int quantity, String idempotencyKey) {
+        return StockValidationRequest.builder()
+                .productCode(productCode)
+                .quantity(quantity)
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    // Helper method to create a reservation that locks the stock under a new lock reference
+    private StockValidationResponse reserve(StockValidationRequest request) {
+        reservations.incrementAndGet();
+        return StockValidationResponse.builder()
+                .productCode(request.productCode())
+                .inStock(true)
+                .locked(true)
+                .lockReferenceId(UUID.randomUUID().toString())
+                .requestedQuantity(request.quantity())
+                .availableQuantity(10)
+                .build();
+    }
+
+    private double idempotencyCount(String result) {
+        return meterRegistry.get("inventory.reservation.idempotency").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should return the original response for a repeated idempotency key without reserving again")
+    void repeatedKeyReplaysOriginalResponse() {
+        // Arrange
+        StockValidationRequest request = createTestRequest("PROD-1", 2, "key-1");
+
+        // Act
+        StockValidationResponse first = cache.getOrValidate(request, () -> reserve(request));
+        StockValidationResponse second = cache.getOrValidate(request, () -> reserve(request));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, reservations.get());
+        assertEquals(1, idempotencyCount("replayed"));
+    }
+
+    @Test
+    @DisplayName("Should reserve every time for requests without an idempotency key")
+    void requestsWithoutKeyAreNotDeduplicated() {
+        // Arrange
+        StockValidationRequest request = createTestRequest("PROD-1", 2, null);
+
+        // Act
+        StockValidationResponse first = cache.getOrValidate(request, () -> reserve(request));
+        StockValidationResponse second = cache.getOrValidate(request, () -> reserve(request));
+
+        // Assert
+        assertNotEquals(first.lockReferenceId(), second.lockReferenceId());
+        assertEquals(2, reservations.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different product or quantity")
+    void keyReusedForDifferentRequestIsRejected() {
+        // Arrange
+        StockValidationRequest original = createTestRequest("PROD-1", 2, "key-1");
+        StockValidationRequest different = createTestRequest("PROD-1", 5, "key-1");
+        cache.getOrValidate(original, () -> reserve(original));
+
+        // Act
+        StockValidationResponse response = cache.getOrValidate(different, () -> reserve(different));
+
+        // Assert
+        assertFalse(response.locked());
+        assertNull(response.lockReferenceId());
+        assertNotNull(response.errorMessage());
+        assertEquals(1, reservations.get());
+        assertEquals(1, idempotencyCount("conflict"));
+    }
+
+    @Test
+    @DisplayName("Should run a retry again when the first attempt failed")
+    void failedResponsesAreNotCached() {
+        // Arrange
+        StockValidationRequest request = createTestRequest("PROD-1", 2, "key-1");
+        StockValidationResponse failed = StockValidationResponse.builder()
+                .productCode("PROD-1")
+                .requestedQuantity(2)
+                .errorMessage("Deadlock detected")
+                .build();
+
+        // Act
+        StockValidationResponse first = cache.getOrValidate(request, () -> failed);
+        StockValidationResponse retry = cache.getOrValidate(request, () -> reserve(request));
+
+        // Assert
+        assertSame(failed, first);
+        assertTrue(retry.locked());
+        assertEquals(1, reservations.get());
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first request instead of reserving twice")
+    void concurrentDuplicateWaitsForFirstRequest() throws Exception {
+        // Arrange
+        StockValidationRequest request = createTestRequest("PROD-1", 2, "key-1");
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CompletableFuture<StockValidationResponse> first = CompletableFuture.supplyAsync(() ->
+                cache.getOrValidate(request, () -> {
+                    firstStarted.countDown();
+                    awaitQuietly(releaseFirst);
+                    return reserve(request);
+                }));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<StockValidationResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                cache.getOrValidate(request, () -> reserve(request)));
+        Thread.sleep(50);
+        boolean duplicateDoneEarly = duplicate.isDone();
+        releaseFirst.countDown();
+
+        // Assert
+        assertFalse(duplicateDoneEarly);
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, reservations.get());
+    }
+
+    @Test
+    @DisplayName("Should reserve every time when idempotency is disabled")
+    void disabledCacheReservesEveryTime() {
+        // Arrange
+        cache = new ReservationIdempotencyCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(10));
+        StockValidationRequest request = createTestRequest("PROD-1", 2, "key-1");
+
+        // Act
+        cache.getOrValidate(request, () -> reserve(request));
+        cache.getOrValidate(request, () -> reserve(request));
+
+        // Assert
+        assertEquals(2, reservations.get());
+    }
+
+    @Test
+    @DisplayName("Should reserve again for a repeated key once its lock has been released")
+    void unlockedResponseIsNotReplayed() {
+        // Arrange
+        StockValidationRequest request = createTestRequest("PROD-1", 2, "key-1");
+        StockValidationResponse first = cache.getOrValidate(request, () -> reserve(request));
+
+        // Act
+        cache.forgetLockReference(first.lockReferenceId());
+        StockValidationResponse second = cache.getOrValidate(request, () -> reserve(request));
+
+        // Assert
+        assertNotEquals(first.lockReferenceId(), second.lockReferenceId());
+        assertEquals(2, reservations.get());
+        assertEquals(0, idempotencyCount("replayed"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
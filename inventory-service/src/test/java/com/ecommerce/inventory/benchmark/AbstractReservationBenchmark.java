@@ -0,0 +1,110 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.inventory.config.TestConfig;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load harness shared by the reservation benchmarks: a single hot SKU is reserved from a fixed
+ * number of threads for a fixed duration.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark}. Threads and duration can be tuned with
+ * {@code -Dbenchmark.threads} and {@code -Dbenchmark.seconds}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Tag("benchmark")
+@Slf4j
+abstract class AbstractReservationBenchmark {
+
+    static final String HOT_SKU = "BENCH-HOT-SKU";
+    static final int INITIAL_STOCK = 100_000_000;
+
+    final int threads = Integer.getInteger("benchmark.threads", 8);
+    final int seconds = Integer.getInteger("benchmark.seconds", 5);
+
+    @Autowired
+    InventoryDomainService databaseEngine;
+
+    @Autowired
+    InventoryRepository inventoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.findByProductCode(HOT_SKU).ifPresent(inventoryRepository::delete);
+        databaseEngine.addInventoryItem(Inventory.builder()
+                .productCode(HOT_SKU)
+                .productName("Benchmark Product")
+                .quantity(INITIAL_STOCK)
+                .build());
+    }
+
+    Result run(InventoryDomainService engine) throws InterruptedException {
+        return run(engine, () -> engine.validateAndLockStock(HOT_SKU, 1, "bench").isPresent());
+    }
+
+    Result run(InventoryDomainService engine, BooleanSupplier reservation) throws InterruptedException {
+        // Warm up the counter / connection pool before measuring
+        engine.validateAndLockStock(HOT_SKU, 1, "warm-up");
+        engine.releaseStock(HOT_SKU, 1, "warm-up");
+
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                while (System.nanoTime() < deadline) {
+                    if (reservation.getAsBoolean()) {
+                        reserved.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS));
+        long elapsedNanos = System.nanoTime() - started;
+
+        return new Result(reserved.get(), rejected.get(), elapsedNanos);
+    }
+
+    int currentStock() {
+        return databaseEngine.getInventoryItemByProductCode(HOT_SKU).orElseThrow().getQuantity();
+    }
+
+    void report(String engine, Result result) {
+        log.info("BENCHMARK | engine={} | threads={} | reserved={} | rejected={} | reservations/sec={}",
+                engine, threads, result.reserved(), result.rejected(),
+                String.format("%.0f", result.reserved() / (result.elapsedNanos() / 1_000_000_000.0)));
+    }
+
+    record Result(long reserved, long rejected, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.inventory.application.service.ReservationCoalescer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reservations per second on a single hot SKU when concurrent requests are coalesced into one
+ * row-lock transaction, to be compared with the database run of {@link ReservationEngineBenchmarkTest}.
+ */
+@TestPropertySource(properties = "inventory.reservation.coalescing.enabled=true")
+class CoalescingReservationBenchmarkTest extends AbstractReservationBenchmark {
+
+    @Autowired
+    private ReservationCoalescer reservationCoalescer;
+
+    @Test
+    @DisplayName("Database row-lock engine behind the coalescer on a single hot SKU")
+    void coalescedReservations() throws InterruptedException {
+        Result result = run(databaseEngine, () -> reservationCoalescer
+                .reserveStock(HOT_SKU, 1, UUID.randomUUID().toString()).isReserved());
+        report("coalesced", result);
+
+        assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.inventory.benchmark;
+
+import com.ecommerce.inventory.domain.repository.StockJournalCheckpointRepository;
+import com.ecommerce.inventory.domain.service.impl.InMemoryInventoryDomainServiceImpl;
+import com.ecommerce.inventory.infrastructure.journal.StockLedger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares reservations per second on a single hot SKU for the database row-lock engine,
+ * the single-statement conditional update and the in-memory engine, all backed by the same
+ * embedded database.
+ */
+class ReservationEngineBenchmarkTest extends AbstractReservationBenchmark {
+
+    @Autowired
+    StockJournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Database row-lock engine on a single hot SKU")
+    void databaseEngine() throws InterruptedException {
+        Result result = run(databaseEngine);
+        report("database", result);
+
+        assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+    }
+
+    @Test
+    @DisplayName("Database engine with single-statement conditional update on a single hot SKU")
+    void conditionalUpdate() throws InterruptedException {
+        Result result = run(databaseEngine, () -> databaseEngine.reserveStock(HOT_SKU, 1, "bench").isReserved());
+        report("conditional-update", result);
+
+        assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+    }
+
+    @Test
+    @DisplayName("In-memory engine on a single hot SKU")
+    void inMemoryEngine() throws InterruptedException {
+        InMemoryInventoryDomainServiceImpl inMemoryEngine = new InMemoryInventoryDomainServiceImpl(inventoryRepository, 64, Optional.empty());
+
+        Result result = run(inMemoryEngine);
+        inMemoryEngine.flushPendingDeltas();
+        report("in-memory", result);
+
+        assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+    }
+
+    @Test
+    @DisplayName("In-memory engine with the write-ahead stock journal on a single hot SKU")
+    void journaledInMemoryEngine(@TempDir Path journalDirectory) throws InterruptedException, IOException {
+        StockLedger stockLedger = new StockLedger(inventoryRepository, checkpointRepository, transactionManager,
+                journalDirectory, DataSize.ofMegabytes(64), Duration.ofSeconds(5));
+        stockLedger.recover();
+        InMemoryInventoryDomainServiceImpl inMemoryEngine =
+                new InMemoryInventoryDomainServiceImpl(inventoryRepository, 64, Optional.of(stockLedger));
+
+        try {
+            Result result = run(inMemoryEngine);
+            inMemoryEngine.flushPendingDeltas();
+            report("in-memory-journal", result);
+
+            assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+        } finally {
+            stockLedger.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reservations per second on a single hot SKU whose stock is split across shard rows,
+ * to be compared with the single-row runs of {@link ReservationEngineBenchmarkTest}.
+ */
+@TestPropertySource(properties = {
+        "inventory.reservation.sharding.hot-skus=" + AbstractReservationBenchmark.HOT_SKU,
+        "inventory.reservation.sharding.shards=16"
+})
+class ShardedReservationBenchmarkTest extends AbstractReservationBenchmark {
+
+    @Test
+    @DisplayName("Database engine with sharded counters on a single hot SKU")
+    void shardedCounters() throws InterruptedException {
+        Result result = run(databaseEngine, () -> databaseEngine.reserveStock(HOT_SKU, 1, "bench").isReserved());
+        report("sharded", result);
+
+        assertEquals(INITIAL_STOCK - result.reserved(), currentStock());
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.inventory.config;
+
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test configuration for Spring integration tests.
+ * This configuration provides mock beans for external dependencies such as the JWKS endpoint.
+ */
+@TestConfiguration
+public class TestConfig {
+
+    /**
+     * Creates a mock JwtDecoder bean for testing.
+     * This prevents the need for a real JWT token during tests.
+     *
+     * @return A mocked JwtDecoder
+     */
+    @Bean
+    @Primary
+    public JwtDecoder jwtDecoder() {
+        return Mockito.mock(JwtDecoder.class);
+    }
+}
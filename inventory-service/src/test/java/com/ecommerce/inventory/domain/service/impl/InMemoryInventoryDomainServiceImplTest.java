@@ -0,0 +1,246 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.infrastructure.journal.StockLedger;
+import com.ecommerce.inventory.infrastructure.journal.StockMovement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryInventoryDomainServiceImplTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    private InMemoryInventoryDomainServiceImpl inventoryDomainService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryDomainService = new InMemoryInventoryDomainServiceImpl(inventoryRepository, 8, Optional.empty());
+    }
+
+    // Helper method to create test inventory items
+    private Inventory createTestInventoryItem(String productCode, int quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .description("Test Description")
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should load the counter once and reserve from memory afterwards")
+    void validateAndLockStockLoadsCounterOnce() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+
+        // Act
+        Optional<Inventory> first = inventoryDomainService.validateAndLockStock("PROD-1", 4, "ref-1");
+        Optional<Inventory> second = inventoryDomainService.validateAndLockStock("PROD-1", 4, "ref-2");
+        Optional<Inventory> third = inventoryDomainService.validateAndLockStock("PROD-1", 4, "ref-3");
+
+        // Assert
+        assertEquals(6, first.orElseThrow().getQuantity());
+        assertEquals(2, second.orElseThrow().getQuantity());
+        assertTrue(third.isEmpty());
+        verify(inventoryRepository, times(1)).findByProductCode("PROD-1");
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName("Should return empty Optional when product code does not exist")
+    void validateAndLockStockWhenProductNotFound() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("NON-EXISTENT")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(inventoryDomainService.validateAndLockStock("NON-EXISTENT", 1, "ref").isEmpty());
+        assertFalse(inventoryDomainService.releaseStock("NON-EXISTENT", 1, "ref"));
+    }
+
+    @Test
+    @DisplayName("Should persist reservations and releases as a single net delta")
+    void flushPendingDeltasWritesNetDelta() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        inventoryDomainService.validateAndLockStock("PROD-1", 5, "ref-1");
+        inventoryDomainService.validateAndLockStock("PROD-1", 2, "ref-2");
+        inventoryDomainService.releaseStock("PROD-1", 2, "ref-2");
+
+        // Act
+        inventoryDomainService.flushPendingDeltas();
+        inventoryDomainService.flushPendingDeltas();
+
+        // Assert
+        verify(inventoryRepository, times(1)).adjustQuantity("PROD-1", -5);
+        assertEquals(5, inventoryDomainService.getInventoryItemByProductCode("PROD-1").orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should keep a failed delta and retry it on the next flush")
+    void flushPendingDeltasRetriesFailedWrite() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.adjustQuantity("PROD-1", -3))
+                .thenThrow(new RuntimeException("database unavailable"))
+                .thenReturn(1);
+        inventoryDomainService.validateAndLockStock("PROD-1", 3, "ref-1");
+
+        // Act
+        inventoryDomainService.flushPendingDeltas();
+        inventoryDomainService.flushPendingDeltas();
+
+        // Assert
+        verify(inventoryRepository, times(2)).adjustQuantity("PROD-1", -3);
+    }
+
+    @Test
+    @DisplayName("Should replace the counter when an item is written by an admin")
+    void addInventoryItemReplacesCounter() {
+        // Arrange
+        Inventory stored = createTestInventoryItem("PROD-1", 10);
+        when(inventoryRepository.findByProductCode("PROD-1")).thenReturn(Optional.of(stored));
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        inventoryDomainService.validateAndLockStock("PROD-1", 5, "ref-1");
+
+        // Act
+        Inventory saved = inventoryDomainService.addInventoryItem(createTestInventoryItem("PROD-1", 50));
+        inventoryDomainService.flushPendingDeltas();
+
+        // Assert
+        assertEquals(50, saved.getQuantity());
+        assertEquals(50, inventoryDomainService.getInventoryItemByProductCode("PROD-1").orElseThrow().getQuantity());
+        verify(inventoryRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should release the lines already reserved when a batch fails")
+    void reserveStockBatchCompensatesOnFailure() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-A"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-A", 10)));
+        when(inventoryRepository.findByProductCode("PROD-B"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-B", 1)));
+
+        // Act
+        List<StockReservation> result = inventoryDomainService.reserveStockBatch(
+                Map.of("PROD-A", 4, "PROD-B", 2), "batch-ref");
+
+        // Assert
+        assertFalse(result.stream().anyMatch(StockReservation::isReserved));
+        assertEquals(10, inventoryDomainService.getInventoryItemByProductCode("PROD-A").orElseThrow().getQuantity());
+        assertEquals(1, inventoryDomainService.getInventoryItemByProductCode("PROD-B").orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should never oversell under concurrent reservations")
+    void validateAndLockStockNeverOversells() throws InterruptedException {
+        // Arrange
+        int stock = 1_000;
+        int threads = 16;
+        int attemptsPerThread = 200;
+        when(inventoryRepository.findByProductCode("HOT-SKU"))
+                .thenReturn(Optional.of(createTestInventoryItem("HOT-SKU", stock)));
+
+        AtomicInteger reserved = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (inventoryDomainService.validateAndLockStock("HOT-SKU", 1, "ref").isPresent()) {
+                        reserved.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(stock, reserved.get());
+        assertEquals(0, inventoryDomainService.getInventoryItemByProductCode("HOT-SKU").orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should journal movements and flush the journal before an admin write")
+    void journaledMovementsAreFlushedBeforeAdminWrite() {
+        // Arrange
+        inventoryDomainService = new InMemoryInventoryDomainServiceImpl(inventoryRepository, 8, Optional.of(stockLedger));
+        Inventory stored = createTestInventoryItem("PROD-1", 10);
+        when(inventoryRepository.findByProductCode("PROD-1")).thenReturn(Optional.of(stored));
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(inventoryRepository.save(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(stockLedger.awaitDurable(anyLong())).thenReturn(true);
+        inventoryDomainService.validateAndLockStock("PROD-1", 5, "ref-1");
+        inventoryDomainService.releaseStock("PROD-1", 2, "ref-1");
+
+        // Act
+        inventoryDomainService.addInventoryItem(createTestInventoryItem("PROD-1", 50));
+        inventoryDomainService.flushPendingDeltas();
+
+        // Assert
+        InOrder inOrder = inOrder(stockLedger, inventoryRepository);
+        inOrder.verify(stockLedger).record(StockMovement.RESERVE, "PROD-1", 5);
+        inOrder.verify(stockLedger).record(StockMovement.RELEASE, "PROD-1", 2);
+        inOrder.verify(stockLedger).flush();
+        inOrder.verify(inventoryRepository).save(any(Inventory.class));
+        inOrder.verify(stockLedger).flush();
+        verify(inventoryRepository, never()).adjustQuantity(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should withdraw a reservation the journal cannot make durable")
+    void reservationNotDurableIsWithdrawn() {
+        // Arrange
+        inventoryDomainService = new InMemoryInventoryDomainServiceImpl(inventoryRepository, 8, Optional.of(stockLedger));
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(stockLedger.record(StockMovement.RESERVE, "PROD-1", 4)).thenReturn(100L);
+        when(stockLedger.awaitDurable(100L)).thenReturn(false);
+
+        // Act
+        assertThrows(IllegalStateException.class,
+                () -> inventoryDomainService.validateAndLockStock("PROD-1", 4, "ref-1"));
+
+        // Assert
+        verify(stockLedger).record(StockMovement.RELEASE, "PROD-1", 4);
+        assertEquals(10, inventoryDomainService.getInventoryItemByProductCode("PROD-1").orElseThrow().getQuantity());
+    }
+}
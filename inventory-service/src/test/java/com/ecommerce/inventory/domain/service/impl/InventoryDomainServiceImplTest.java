@@ -1,7 +1,16 @@
 package com.ecommerce.inventory.domain.service.impl;
 
 import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockReservation;
 import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.impl.concurrency.PessimisticStockConcurrencyStrategy;
+import com.ecommerce.inventory.domain.service.impl.concurrency.StockConcurrencyStrategies;
+import com.ecommerce.inventory.infrastructure.config.CacheConfig;
+import com.ecommerce.inventory.infrastructure.metrics.HotSkuTracker;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,16 +19,32 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.SequencedMap;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +53,27 @@ class InventoryDomainServiceImplTest {
     @Mock
     private InventoryRepository inventoryRepository;
 
-    @InjectMocks
+    @Mock
+    private CacheManager cacheManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ReservationMetrics reservationMetrics = new ReservationMetrics(meterRegistry, new HotSkuTracker(64, 4, 8, 10_000));
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private InventoryDomainServiceImpl inventoryDomainService;
 
+    @BeforeEach
+    void setUp() {
+        StockConcurrencyStrategies strategies = new StockConcurrencyStrategies(
+                List.of(new PessimisticStockConcurrencyStrategy(inventoryRepository, reservationMetrics, transactionManager)),
+                PessimisticStockConcurrencyStrategy.NAME, List.of());
+        inventoryDomainService = new InventoryDomainServiceImpl(inventoryRepository, cacheManager, reservationMetrics, strategies);
+    }
+
     // Helper method to create test inventory items
     private Inventory createTestInventoryItem(Long id, String productCode, String productName,
                                               int quantity, String description) {
@@ -127,7 +170,7 @@ class InventoryDomainServiceImplTest {
         when(inventoryRepository.findByProductCodeWithLock(productCode)).thenReturn(Optional.of(existingItem));
 
         if (shouldSucceed) {
-            when(inventoryRepository.save(any(Inventory.class))).thenReturn(updatedItem);
+            when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenReturn(updatedItem);
         }
 
         // Act
@@ -138,12 +181,172 @@ class InventoryDomainServiceImplTest {
 
         if (shouldSucceed) {
             assertEquals(currentStock - requestedQuantity, result.get().getQuantity());
-            verify(inventoryRepository, times(1)).save(any(Inventory.class));
+            verify(inventoryRepository, times(1)).saveAndFlush(any(Inventory.class));
         } else {
-            verify(inventoryRepository, never()).save(any(Inventory.class));
+            verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
         }
 
         verify(inventoryRepository, times(1)).findByProductCodeWithLock(productCode);
+        assertEquals(1, meterRegistry.get("inventory.reservation.outcome")
+                .tag("outcome", shouldSucceed ? "locked" : "insufficient").counter().count());
+        assertEquals(1, meterRegistry.get("inventory.reservation.validate").timer().count());
+        assertEquals(1, meterRegistry.get("inventory.reservation.lock.wait").timer().count());
+        assertEquals(shouldSucceed ? 1 : 0, meterRegistry.get("inventory.reservation.save").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should count a not found outcome when locking stock for an unknown product")
+    void validateAndLockStockWhenProductNotFound() {
+        // Arrange
+        when(inventoryRepository.findByProductCodeWithLock("NON-EXISTENT")).thenReturn(Optional.empty());
+
+        // Act
+        Optional<Inventory> result = inventoryDomainService.validateAndLockStock("NON-EXISTENT", 1, "lock-ref");
+
+        // Assert
+        assertFalse(result.isPresent());
+        assertEquals(1, meterRegistry.get("inventory.reservation.outcome").tag("outcome", "not-found").counter().count());
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should count locking conflicts by type when locking stock fails")
+    @MethodSource("lockingFailureProvider")
+    void validateAndLockStockCountsLockingFailures(RuntimeException failure, String type) {
+        // Arrange
+        when(inventoryRepository.findByProductCodeWithLock("PROD-1")).thenThrow(failure);
+
+        // Act
+        Optional<Inventory> result = inventoryDomainService.validateAndLockStock("PROD-1", 1, "lock-ref");
+
+        // Assert
+        assertFalse(result.isPresent());
+        assertEquals(1, meterRegistry.get("inventory.reservation.outcome").tag("outcome", "error").counter().count());
+        assertEquals(type == null ? 0 : 1, meterRegistry.get("inventory.reservation.lock.failures")
+                .counters().stream().mapToDouble(Counter::count).sum());
+        if (type != null) {
+            assertEquals(1, meterRegistry.get("inventory.reservation.lock.failures").tag("type", type).counter().count());
+        }
+    }
+
+    // Method source for failures thrown while locking stock, with the expected conflict type
+    static Stream<Arguments> lockingFailureProvider() {
+        return Stream.of(
+                Arguments.of(new ObjectOptimisticLockingFailureException(Inventory.class, 1L), "optimistic"),
+                Arguments.of(new CannotAcquireLockException("Deadlock detected"), "pessimistic"),
+                Arguments.of(new PessimisticLockingFailureException("Lock wait timeout"), "pessimistic"),
+                Arguments.of(new DataAccessResourceFailureException("Connection lost"), null)
+        );
+    }
+
+    @ParameterizedTest
+    @DisplayName("Should reserve stock with a single guarded update based on available quantity")
+    @MethodSource("inventoryStockProvider")
+    void reserveStockWithDifferentQuantities(String productCode,
+                                             int currentStock,
+                                             int requestedQuantity,
+                                             boolean shouldSucceed) {
+        // Arrange
+        when(inventoryRepository.decrementQuantityReturningRemaining(productCode, requestedQuantity))
+                .thenReturn(shouldSucceed ? OptionalInt.of(currentStock - requestedQuantity) : OptionalInt.empty());
+        if (!shouldSucceed) {
+            when(inventoryRepository.findQuantityByProductCode(productCode)).thenReturn(Optional.of(currentStock));
+        }
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock(productCode, requestedQuantity, "lock-ref");
+
+        // Assert
+        assertEquals(shouldSucceed, result.isReserved());
+        assertEquals(currentStock, result.availableQuantity());
+        assertEquals(shouldSucceed ? currentStock - requestedQuantity : currentStock, result.remainingQuantity());
+        verify(inventoryRepository, times(shouldSucceed ? 0 : 1)).findQuantityByProductCode(productCode);
+        verify(inventoryRepository, never()).findByProductCodeWithLock(anyString());
+        verify(inventoryRepository, never()).save(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName("Should report not found when reserving stock for an unknown product")
+    void reserveStockWhenProductNotFound() {
+        // Arrange
+        when(inventoryRepository.decrementQuantityReturningRemaining("NON-EXISTENT", 1)).thenReturn(OptionalInt.empty());
+        when(inventoryRepository.findQuantityByProductCode("NON-EXISTENT")).thenReturn(Optional.empty());
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock("NON-EXISTENT", 1, "lock-ref");
+
+        // Assert
+        assertEquals(StockReservation.Status.NOT_FOUND, result.status());
+        assertFalse(result.isReserved());
+    }
+
+    @Test
+    @DisplayName("Should lock all rows in one ordered query and reserve every line of a batch")
+    void reserveStockBatchReservesAllLines() {
+        // Arrange
+        Inventory first = createTestInventoryItem(1L, "PROD-A", "Product A", 10, "A");
+        Inventory second = createTestInventoryItem(2L, "PROD-B", "Product B", 5, "B");
+        when(inventoryRepository.findAllByProductCodeInWithLock(any()))
+                .thenReturn(List.of(first, second));
+
+        Map<String, Integer> lines = new LinkedHashMap<>();
+        lines.put("PROD-B", 5);
+        lines.put("PROD-A", 3);
+
+        // Act
+        List<StockReservation> result = inventoryDomainService.reserveStockBatch(lines, "batch-ref");
+
+        // Assert
+        assertEquals(List.of("PROD-A", "PROD-B"), result.stream().map(StockReservation::productCode).toList());
+        assertTrue(result.stream().allMatch(StockReservation::isReserved));
+        assertEquals(7, first.getQuantity());
+        assertEquals(0, second.getQuantity());
+        verify(inventoryRepository).findAllByProductCodeInWithLock(List.of("PROD-A", "PROD-B"));
+        verify(inventoryRepository).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should reserve nothing when one line of a batch cannot be reserved")
+    void reserveStockBatchIsAllOrNothing() {
+        // Arrange
+        Inventory first = createTestInventoryItem(1L, "PROD-A", "Product A", 10, "A");
+        Inventory second = createTestInventoryItem(2L, "PROD-B", "Product B", 1, "B");
+        when(inventoryRepository.findAllByProductCodeInWithLock(any()))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        List<StockReservation> result = inventoryDomainService.reserveStockBatch(
+                Map.of("PROD-A", 3, "PROD-B", 2, "PROD-C", 1), "batch-ref");
+
+        // Assert
+        assertEquals(List.of(StockReservation.Status.AVAILABLE, StockReservation.Status.INSUFFICIENT_STOCK,
+                StockReservation.Status.NOT_FOUND), result.stream().map(StockReservation::status).toList());
+        assertEquals(10, first.getQuantity());
+        assertEquals(1, second.getQuantity());
+        verify(inventoryRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should grant coalesced requests in order until the stock runs out")
+    void reserveStockInOrderGrantsFifo() {
+        // Arrange
+        Inventory item = createTestInventoryItem(1L, "PROD-1", "Test Product", 5, "Test Description");
+        when(inventoryRepository.findByProductCodeWithLock("PROD-1")).thenReturn(Optional.of(item));
+
+        SequencedMap<String, Integer> requests = new LinkedHashMap<>();
+        requests.put("ref-1", 2);
+        requests.put("ref-2", 2);
+        requests.put("ref-3", 2);
+        requests.put("ref-4", 1);
+
+        // Act
+        List<StockReservation> result = inventoryDomainService.reserveStockInOrder("PROD-1", requests);
+
+        // Assert
+        assertEquals(List.of(true, true, false, false), result.stream().map(StockReservation::isReserved).toList());
+        assertEquals(1, item.getQuantity());
+        verify(inventoryRepository, times(1)).findByProductCodeWithLock("PROD-1");
+        verify(inventoryRepository, times(1)).save(item);
     }
 
     @ParameterizedTest
@@ -189,4 +392,75 @@ class InventoryDomainServiceImplTest {
         // Assert
         assertEquals(initialQuantity + increaseAmount, item.getQuantity());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should serve cached items and load the rest with a single IN-list query")
+    void getInventoryItemsByProductCodesLoadsUncachedInOneQuery() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.INVENTORY_ITEMS);
+        cache.put("PROD-1", createTestInventoryItem(1L, "PROD-1", "Cached", 5, "Cached item"));
+        cache.put("PROD-2", null);
+        when(cacheManager.getCache(CacheConfig.INVENTORY_ITEMS)).thenReturn(cache);
+        when(inventoryRepository.findAllByProductCodeIn(List.of("PROD-3", "PROD-4")))
+                .thenReturn(List.of(createTestInventoryItem(3L, "PROD-3", "Loaded", 7, "Loaded item")));
+
+        // Act
+        Map<String, Inventory> result = inventoryDomainService.getInventoryItemsByProductCodes(
+                List.of("PROD-1", "PROD-2", "PROD-3", "PROD-4", "PROD-3"));
+
+        // Assert
+        assertEquals(Set.of("PROD-1", "PROD-3"), result.keySet());
+        assertEquals("Cached", result.get("PROD-1").getProductName());
+        verify(inventoryRepository, times(1)).findAllByProductCodeIn(any());
+        assertNotNull(cache.get("PROD-3"));
+        assertNull(cache.get("PROD-4").get());
+    }
+
+    @Test
+    @DisplayName("Should evict imported items only after the transaction commits")
+    void importInventoryItemsEvictsAfterCommit() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.INVENTORY_ITEMS);
+        cache.put("PROD-1", createTestInventoryItem(1L, "PROD-1", "Cached", 5, "Cached item"));
+        when(cacheManager.getCache(CacheConfig.INVENTORY_ITEMS)).thenReturn(cache);
+        when(inventoryRepository.upsertAll(any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            inventoryDomainService.importInventoryItems(
+                    List.of(createTestInventoryItem(1L, "PROD-1", "Imported", 9, "Imported item")));
+
+            // Assert
+            assertNotNull(cache.get("PROD-1"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cache.get("PROD-1"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should evict a released item only after the outer transaction commits")
+    void releaseStockEvictsAfterCommit() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.INVENTORY_ITEMS);
+        cache.put("PROD-1", createTestInventoryItem(1L, "PROD-1", "Cached", 5, "Cached item"));
+        when(cacheManager.getCache(CacheConfig.INVENTORY_ITEMS)).thenReturn(cache);
+        when(inventoryRepository.adjustQuantity("PROD-1", 3)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            boolean released = inventoryDomainService.releaseStock("PROD-1", 3, "expired");
+
+            // Assert
+            assertTrue(released);
+            assertNotNull(cache.get("PROD-1"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertNull(cache.get("PROD-1"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
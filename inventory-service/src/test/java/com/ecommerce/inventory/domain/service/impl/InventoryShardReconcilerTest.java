@@ -0,0 +1,94 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.InventoryShard;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.InventoryShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryShardReconcilerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryShardRepository inventoryShardRepository;
+
+    private InventoryShardReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reconciler = new InventoryShardReconciler(inventoryRepository, inventoryShardRepository, Set.of("HOT-1"));
+    }
+
+    // Helper method to create test inventory items
+    private Inventory createTestInventoryItem(String productCode, int quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .description("Test Description")
+                .version(1L)
+                .build();
+    }
+
+    private InventoryShard createTestShard(String productCode, int shardNo, int quantity) {
+        return InventoryShard.builder()
+                .productCode(productCode)
+                .shardNo(shardNo)
+                .quantity(quantity)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should fold the shards of a product that is no longer hot back into its row")
+    void foldRetiredShardsMovesStockBack() {
+        // Arrange
+        Inventory item = createTestInventoryItem("OLD-HOT", 0);
+        when(inventoryShardRepository.findShardedProductCodes()).thenReturn(List.of("HOT-1", "OLD-HOT"));
+        when(inventoryRepository.findByProductCodeWithLock("OLD-HOT")).thenReturn(Optional.of(item));
+        when(inventoryShardRepository.findByProductCodeWithLock("OLD-HOT"))
+                .thenReturn(List.of(createTestShard("OLD-HOT", 0, 4), createTestShard("OLD-HOT", 1, 3)));
+
+        // Act
+        int folded = reconciler.foldRetiredShards();
+
+        // Assert
+        assertEquals(1, folded);
+        assertEquals(7, item.getQuantity());
+        verify(inventoryRepository).saveAndFlush(item);
+        verify(inventoryShardRepository).deleteByProductCode("OLD-HOT");
+        verify(inventoryRepository, never()).findByProductCodeWithLock("HOT-1");
+        verify(inventoryShardRepository, never()).deleteByProductCode("HOT-1");
+    }
+
+    @Test
+    @DisplayName("Should leave the shards of hot products alone")
+    void foldRetiredShardsKeepsHotProducts() {
+        // Arrange
+        when(inventoryShardRepository.findShardedProductCodes()).thenReturn(List.of("HOT-1"));
+
+        // Act
+        int folded = reconciler.foldRetiredShards();
+
+        // Assert
+        assertEquals(0, folded);
+        verifyNoInteractions(inventoryRepository);
+        verify(inventoryShardRepository, never()).deleteByProductCode(any());
+    }
+}
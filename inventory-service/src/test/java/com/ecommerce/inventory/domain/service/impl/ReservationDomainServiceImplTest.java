@@ -0,0 +1,216 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationDomainServiceImplTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationDomainServiceImpl reservationDomainService;
+
+    @BeforeEach
+    void setUp() {
+        reservationDomainService = new ReservationDomainServiceImpl(
+                reservationRepository, Duration.ofMinutes(15), 1000, Duration.ofMinutes(1));
+    }
+
+    // Helper method to create test reservations
+    private Reservation createTestReservation(String lockReferenceId, String productCode, int quantity,
+                                              Instant expiresAt) {
+        return Reservation.builder()
+                .lockReferenceId(lockReferenceId)
+                .productCode(productCode)
+                .quantity(quantity)
+                .createdAt(expiresAt.minus(Duration.ofMinutes(15)))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should store the lines with an expiry and claim them from the index")
+    void registerAndClaim() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(1);
+        Instant before = Instant.now();
+
+        // Act
+        List<Reservation> registered = reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+        int live = reservationDomainService.liveReservations();
+        List<Reservation> claimed = reservationDomainService.claim("ref-1");
+
+        // Assert
+        assertEquals(1, live);
+        assertFalse(registered.get(0).getExpiresAt().isBefore(before.plus(Duration.ofMinutes(15))));
+        assertEquals(registered, claimed);
+        assertEquals(0, reservationDomainService.liveReservations());
+        verify(reservationRepository, never()).findByLockReferenceId(any());
+    }
+
+    @Test
+    @DisplayName("Should not hand out a reservation that was already claimed elsewhere")
+    void claimWhenAlreadyClaimed() {
+        // Arrange
+        Reservation reservation = createTestReservation("ref-1", "PROD-1", 3, Instant.now());
+        when(reservationRepository.findByLockReferenceId("ref-1")).thenReturn(List.of(reservation));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(0);
+
+        // Act & Assert
+        assertTrue(reservationDomainService.claim("ref-1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should claim only the expired references that are still stored")
+    void claimExpiredSkipsConcurrentlyUnlockedReferences() {
+        // Arrange
+        Instant now = Instant.now();
+        when(reservationRepository.findExpiredLockReferenceIds(eq(now), any()))
+                .thenReturn(List.of("ref-1", "ref-2"));
+        when(reservationRepository.findByLockReferenceIdIn(List.of("ref-1", "ref-2"))).thenReturn(List.of(
+                createTestReservation("ref-1", "PROD-1", 3, now.minusSeconds(5)),
+                createTestReservation("ref-1", "PROD-2", 1, now.minusSeconds(5)),
+                createTestReservation("ref-2", "PROD-1", 2, now.minusSeconds(1))));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(2);
+        when(reservationRepository.deleteByLockReferenceId("ref-2")).thenReturn(0);
+
+        // Act
+        List<Reservation> claimed = reservationDomainService.claimExpired(now, 10);
+
+        // Assert
+        assertEquals(2, claimed.size());
+        assertTrue(claimed.stream().allMatch(reservation -> reservation.getLockReferenceId().equals("ref-1")));
+    }
+
+    @Test
+    @DisplayName("Should claim expired references registered here from the timing wheel, in batches")
+    void claimExpiredTakesLocalReferencesFromTimingWheel() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId(any())).thenReturn(1);
+        reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+        reservationDomainService.register("ref-2", Map.of("PROD-2", 1));
+        reservationDomainService.register("ref-3", Map.of("PROD-1", 2));
+        Instant afterExpiry = Instant.now().plus(Duration.ofMinutes(16));
+
+        // Act
+        List<Reservation> firstBatch = reservationDomainService.claimExpired(afterExpiry, 2);
+        List<Reservation> secondBatch = reservationDomainService.claimExpired(afterExpiry, 2);
+
+        // Assert
+        assertEquals(2, firstBatch.size());
+        assertEquals(1, secondBatch.size());
+        assertEquals(0, reservationDomainService.liveReservations());
+        verify(reservationRepository, never()).findByLockReferenceIdIn(any());
+        verify(reservationRepository, times(1)).findExpiredLockReferenceIds(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not expire a reference that was unlocked first")
+    void claimExpiredSkipsUnlockedReferences() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(1);
+        reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+        reservationDomainService.claim("ref-1");
+
+        // Act
+        List<Reservation> claimed = reservationDomainService.claimExpired(Instant.now().plus(Duration.ofMinutes(16)), 10);
+
+        // Assert
+        assertTrue(claimed.isEmpty());
+        verify(reservationRepository, times(1)).deleteByLockReferenceId("ref-1");
+    }
+
+    @Test
+    @DisplayName("Should not expire or unlock a reference that was committed")
+    void commitClaimsWithoutRelease() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(1).thenReturn(0);
+        List<Reservation> registered = reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+
+        // Act
+        List<Reservation> committed = reservationDomainService.commit("ref-1");
+        List<Reservation> unlocked = reservationDomainService.claim("ref-1");
+        List<Reservation> expired =
+                reservationDomainService.claimExpired(Instant.now().plus(Duration.ofMinutes(16)), 10);
+
+        // Assert
+        assertEquals(registered, committed);
+        assertTrue(unlocked.isEmpty());
+        assertTrue(expired.isEmpty());
+        assertEquals(0, reservationDomainService.liveReservations());
+    }
+
+    @Test
+    @DisplayName("Should cancel the expiry of a committed reference so it takes no room in a sweep batch")
+    void commitCancelsExpiry() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId(any())).thenReturn(1);
+        reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+        List<Reservation> uncommitted = reservationDomainService.register("ref-2", Map.of("PROD-2", 1));
+        reservationDomainService.commit("ref-1");
+
+        // Act
+        List<Reservation> claimed =
+                reservationDomainService.claimExpired(Instant.now().plus(Duration.ofMinutes(16)), 1);
+
+        // Assert
+        assertEquals(uncommitted, claimed);
+    }
+
+    @Test
+    @DisplayName("Should keep expired references tracked until the claim commits and expire them again after a rollback")
+    void claimExpiredUntracksOnlyAfterCommit() {
+        // Arrange
+        when(reservationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.deleteByLockReferenceId("ref-1")).thenReturn(1);
+        List<Reservation> registered = reservationDomainService.register("ref-1", Map.of("PROD-1", 3));
+        Instant afterExpiry = Instant.now().plus(Duration.ofMinutes(16));
+
+        // Act & Assert
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(registered, reservationDomainService.claimExpired(afterExpiry, 10));
+            assertEquals(1, reservationDomainService.liveReservations());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, reservationDomainService.liveReservations());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertEquals(registered, reservationDomainService.claimExpired(afterExpiry, 10));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, reservationDomainService.liveReservations());
+    }
+}
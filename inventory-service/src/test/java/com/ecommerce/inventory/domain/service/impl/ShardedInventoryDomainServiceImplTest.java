@@ -0,0 +1,227 @@
+package com.ecommerce.inventory.domain.service.impl;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.InventoryShard;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.InventoryShardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.SequencedMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedInventoryDomainServiceImplTest {
+
+    @Mock
+    private InventoryDomainServiceImpl delegate;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private InventoryShardRepository inventoryShardRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ShardedInventoryDomainServiceImpl inventoryDomainService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryDomainService = new ShardedInventoryDomainServiceImpl(
+                delegate, inventoryRepository, inventoryShardRepository, transactionManager, Set.of("HOT-1"), 4);
+    }
+
+    // Helper method to create test inventory items
+    private Inventory createTestInventoryItem(String productCode, int quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .description("Test Description")
+                .version(1L)
+                .build();
+    }
+
+    private InventoryShard createTestShard(int shardNo, int quantity) {
+        return InventoryShard.builder()
+                .productCode("HOT-1")
+                .shardNo(shardNo)
+                .quantity(quantity)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should leave regular products to the database engine")
+    void regularProductsAreDelegated() {
+        // Arrange
+        when(delegate.reserveStock("PROD-1", 2, "ref")).thenReturn(StockReservation.reserved("PROD-1", 2, 8));
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock("PROD-1", 2, "ref");
+
+        // Assert
+        assertTrue(result.isReserved());
+        verifyNoInteractions(inventoryShardRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the next shard when the chosen one has run out")
+    void reserveStockFallsBackToOtherShards() {
+        // Arrange
+        when(inventoryShardRepository.decrementQuantityIfAvailable(eq("HOT-1"), anyInt(), eq(2)))
+                .thenReturn(0, 0, 1);
+        when(inventoryShardRepository.sumQuantityByProductCode("HOT-1")).thenReturn(5);
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock("HOT-1", 2, "ref");
+
+        // Assert
+        assertTrue(result.isReserved());
+        assertEquals(5, result.remainingQuantity());
+        verify(inventoryShardRepository, times(3)).decrementQuantityIfAvailable(eq("HOT-1"), anyInt(), eq(2));
+        verify(inventoryShardRepository, never()).findByProductCodeWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Should take the stock from several shards when no single shard has enough")
+    void reserveStockAcrossShards() {
+        // Arrange
+        List<InventoryShard> shards = List.of(createTestShard(0, 3), createTestShard(1, 2),
+                createTestShard(2, 0), createTestShard(3, 4));
+        when(inventoryShardRepository.decrementQuantityIfAvailable(eq("HOT-1"), anyInt(), eq(6))).thenReturn(0);
+        when(inventoryShardRepository.findByProductCodeWithLock("HOT-1")).thenReturn(shards);
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock("HOT-1", 6, "ref");
+
+        // Assert
+        assertTrue(result.isReserved());
+        assertEquals(3, result.remainingQuantity());
+        assertEquals(List.of(0, 0, 0, 3), shards.stream().map(InventoryShard::getQuantity).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a reservation larger than the sum of all shards")
+    void reserveStockWhenShardsExhausted() {
+        // Arrange
+        when(inventoryShardRepository.decrementQuantityIfAvailable(eq("HOT-1"), anyInt(), eq(10))).thenReturn(0);
+        when(inventoryShardRepository.findByProductCodeWithLock("HOT-1"))
+                .thenReturn(List.of(createTestShard(0, 3), createTestShard(1, 2)));
+
+        // Act
+        StockReservation result = inventoryDomainService.reserveStock("HOT-1", 10, "ref");
+
+        // Assert
+        assertEquals(StockReservation.Status.INSUFFICIENT_STOCK, result.status());
+        assertEquals(5, result.availableQuantity());
+        verify(inventoryShardRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should return the row quantity plus the sum of the shards")
+    void getInventoryItemByProductCodeSumsShards() {
+        // Arrange
+        when(delegate.getInventoryItemByProductCode("HOT-1")).thenReturn(Optional.of(createTestInventoryItem("HOT-1", 1)));
+        when(inventoryShardRepository.sumQuantityByProductCode("HOT-1")).thenReturn(41);
+
+        // Act & Assert
+        assertEquals(42, inventoryDomainService.getInventoryItemByProductCode("HOT-1").orElseThrow().getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should spread the quantity of an admin write evenly over the shards")
+    @SuppressWarnings("unchecked")
+    void addInventoryItemDistributesQuantity() {
+        // Arrange
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<List<InventoryShard>> captor = ArgumentCaptor.forClass(List.class);
+
+        Inventory item = createTestInventoryItem("HOT-1", 10);
+
+        // Act
+        Inventory result = inventoryDomainService.addInventoryItem(item);
+
+        // Assert
+        assertEquals(10, result.getQuantity());
+        assertEquals(10, item.getQuantity());
+        verify(inventoryRepository).saveAndFlush(argThat(saved -> saved.getQuantity() == 0));
+        verify(inventoryShardRepository).deleteByProductCode("HOT-1");
+        verify(inventoryShardRepository).saveAll(captor.capture());
+        assertEquals(List.of(3, 3, 2, 2), captor.getValue().stream().map(InventoryShard::getQuantity).toList());
+    }
+
+    @Test
+    @DisplayName("Should report a hot product as sold out only when its shards are empty")
+    void soldOutHotProductsAreReadFromShards() {
+        // Arrange
+        when(delegate.getSoldOutProductCodes()).thenReturn(List.of("HOT-1", "PROD-1"));
+        when(inventoryRepository.findQuantityByProductCode("HOT-1")).thenReturn(Optional.of(0));
+        when(inventoryShardRepository.sumQuantityByProductCode("HOT-1")).thenReturn(3);
+
+        // Act
+        List<String> result = inventoryDomainService.getSoldOutProductCodes();
+
+        // Assert
+        assertEquals(List.of("PROD-1"), result);
+    }
+
+    @Test
+    @DisplayName("Should serve in-order requests from all shards locked once")
+    void reserveStockInOrderLocksShardsOnce() {
+        // Arrange
+        List<InventoryShard> shards = List.of(createTestShard(0, 2), createTestShard(1, 2),
+                createTestShard(2, 1), createTestShard(3, 0));
+        when(inventoryShardRepository.findByProductCodeWithLock("HOT-1")).thenReturn(shards);
+        SequencedMap<String, Integer> requests = new LinkedHashMap<>();
+        requests.put("ref-1", 3);
+        requests.put("ref-2", 4);
+        requests.put("ref-3", 1);
+
+        // Act
+        List<StockReservation> result = inventoryDomainService.reserveStockInOrder("HOT-1", requests);
+
+        // Assert
+        assertEquals(List.of(true, false, false), result.stream().map(StockReservation::isReserved).toList());
+        assertEquals(2, result.get(1).availableQuantity());
+        assertEquals(List.of(0, 1, 1, 0), shards.stream().map(InventoryShard::getQuantity).toList());
+        verify(inventoryShardRepository, times(1)).findByProductCodeWithLock("HOT-1");
+        verify(inventoryShardRepository, never()).decrementQuantityIfAvailable(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should leave the stock alone when another instance has already sharded it")
+    void shardHotSkusSkipsShardedProducts() {
+        // Arrange
+        when(inventoryRepository.findByProductCodeWithLock("HOT-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("HOT-1", 0)));
+        when(inventoryShardRepository.existsByProductCode("HOT-1")).thenReturn(true);
+
+        // Act
+        inventoryDomainService.shardHotSkus();
+
+        // Assert
+        InOrder inOrder = inOrder(inventoryRepository, inventoryShardRepository);
+        inOrder.verify(inventoryRepository).findByProductCodeWithLock("HOT-1");
+        inOrder.verify(inventoryShardRepository).existsByProductCode("HOT-1");
+        verify(inventoryRepository, never()).saveAndFlush(any());
+        verify(inventoryShardRepository, never()).deleteByProductCode(any());
+    }
+}
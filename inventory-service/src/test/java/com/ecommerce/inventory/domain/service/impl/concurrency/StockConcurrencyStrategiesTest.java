@@ -0,0 +1,79 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.service.StockConcurrencyStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockConcurrencyStrategiesTest {
+
+    // Helper method to create a test strategy that only has a name
+    private static StockConcurrencyStrategy createTestStrategy(String name) {
+        return new StockConcurrencyStrategy() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public StockLock lockStock(String productCode, int quantity) {
+                return StockLock.notFound(1);
+            }
+        };
+    }
+
+    private static final List<StockConcurrencyStrategy> STRATEGIES = List.of(
+            createTestStrategy("pessimistic"),
+            createTestStrategy("optimistic"),
+            createTestStrategy("atomic-update"));
+
+    @ParameterizedTest
+    @DisplayName("Should pick the exact product code, then the longest prefix, then the default strategy")
+    @CsvSource({
+            "PROD-001, optimistic",
+            "FLASH-SALE-7, pessimistic",
+            "FLASH-1, atomic-update",
+            "PROD-002, pessimistic",
+            "OTHER, pessimistic"
+    })
+    void resolvesStrategyPerProduct(String productCode, String expected) {
+        // Arrange
+        StockConcurrencyStrategies strategies = new StockConcurrencyStrategies(STRATEGIES, "pessimistic",
+                List.of("FLASH-*=atomic-update", " FLASH-SALE-* = pessimistic", "PROD-001=optimistic", ""));
+
+        // Act
+        StockConcurrencyStrategy strategy = strategies.forProduct(productCode);
+
+        // Assert
+        assertEquals(expected, strategy.name());
+    }
+
+    @Test
+    @DisplayName("Should use the configured default strategy for every product")
+    void usesDeploymentDefault() {
+        // Act
+        StockConcurrencyStrategies strategies = new StockConcurrencyStrategies(STRATEGIES, "atomic-update", List.of());
+
+        // Assert
+        assertEquals("atomic-update", strategies.forProduct("PROD-001").name());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown strategy name or a malformed SKU rule at startup")
+    void rejectsInvalidConfiguration() {
+        // Act & Assert
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> new StockConcurrencyStrategies(STRATEGIES, "serializable", List.of()));
+        assertTrue(unknown.getMessage().contains("atomic-update"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockConcurrencyStrategies(STRATEGIES, "pessimistic", List.of("PROD-001")));
+        assertThrows(IllegalArgumentException.class,
+                () -> new StockConcurrencyStrategies(STRATEGIES, "pessimistic", List.of("PROD-001=unknown")));
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.inventory.domain.service.impl.concurrency;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.StockLock;
+import com.ecommerce.inventory.domain.model.StockReservation;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.infrastructure.metrics.HotSkuTracker;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockConcurrencyStrategyTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ReservationMetrics reservationMetrics =
+            new ReservationMetrics(meterRegistry, new HotSkuTracker(64, 4, 8, 10_000));
+
+    // Helper method to create test inventory items
+    private Inventory createTestInventoryItem(String productCode, int quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .version(1L)
+                .build();
+    }
+
+    // Helper method to create an optimistic strategy that retries without waiting
+    private OptimisticRetryStockConcurrencyStrategy createOptimisticStrategy(int maxAttempts) {
+        return new OptimisticRetryStockConcurrencyStrategy(inventoryRepository, reservationMetrics, transactionManager,
+                maxAttempts, Duration.ofNanos(1), Duration.ofNanos(1));
+    }
+
+    @Test
+    @DisplayName("Should retry a version conflict in a new transaction and report the attempts")
+    void optimisticRetriesVersionConflict() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenAnswer(invocation -> Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Inventory.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        StockLock lock = createOptimisticStrategy(3).lockStock("PROD-1", 4);
+
+        // Assert
+        assertTrue(lock.isLocked());
+        assertEquals(6, lock.item().getQuantity());
+        assertEquals(2, lock.attempts());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).rollback(any());
+        verify(inventoryRepository, never()).findByProductCodeWithLock(any());
+        assertEquals(1, meterRegistry.get("inventory.reservation.lock.failures").tag("type", "optimistic").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up after the last attempt and rethrow the conflict")
+    void optimisticGivesUpAfterMaxAttempts() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenAnswer(invocation -> Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Inventory.class, 1L));
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> createOptimisticStrategy(3).lockStock("PROD-1", 4));
+        verify(inventoryRepository, times(3)).saveAndFlush(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName("Should not retry or save when the stock is insufficient")
+    void optimisticInsufficientStock() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 3)));
+
+        // Act
+        StockLock lock = createOptimisticStrategy(3).lockStock("PROD-1", 4);
+
+        // Assert
+        assertEquals(StockReservation.Status.INSUFFICIENT_STOCK, lock.status());
+        assertEquals(3, lock.item().getQuantity());
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
+    }
+
+    @Test
+    @DisplayName("Should lock the row inside a READ COMMITTED transaction")
+    void readCommittedRowLock() {
+        // Arrange
+        when(inventoryRepository.findByProductCodeWithLock("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.saveAndFlush(any(Inventory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ReadCommittedRowLockStockConcurrencyStrategy strategy =
+                new ReadCommittedRowLockStockConcurrencyStrategy(inventoryRepository, reservationMetrics, transactionManager);
+
+        // Act
+        StockLock lock = strategy.lockStock("PROD-1", 4);
+
+        // Assert
+        assertTrue(lock.isLocked());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.ISOLATION_READ_COMMITTED, definition.getValue().getIsolationLevel());
+    }
+
+    @Test
+    @DisplayName("Should reserve with a single guarded update and read the item back")
+    void atomicUpdate() {
+        // Arrange
+        when(inventoryRepository.decrementQuantityIfAvailable("PROD-1", 4)).thenReturn(1, 0);
+        when(inventoryRepository.findByProductCode("PROD-1"))
+                .thenReturn(Optional.of(createTestInventoryItem("PROD-1", 6)), Optional.of(createTestInventoryItem("PROD-1", 2)));
+        when(inventoryRepository.findByProductCode("MISSING")).thenReturn(Optional.empty());
+        AtomicUpdateStockConcurrencyStrategy strategy =
+                new AtomicUpdateStockConcurrencyStrategy(inventoryRepository, reservationMetrics, transactionManager);
+
+        // Act
+        StockLock locked = strategy.lockStock("PROD-1", 4);
+        StockLock insufficient = strategy.lockStock("PROD-1", 4);
+        StockLock notFound = strategy.lockStock("MISSING", 4);
+
+        // Assert
+        assertTrue(locked.isLocked());
+        assertEquals(6, locked.item().getQuantity());
+        assertEquals(StockReservation.Status.INSUFFICIENT_STOCK, insufficient.status());
+        assertEquals(StockReservation.Status.NOT_FOUND, notFound.status());
+        verify(inventoryRepository, never()).saveAndFlush(any(Inventory.class));
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.inventory.infrastructure.config;
+
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import com.ecommerce.inventory.domain.service.impl.InventoryDomainServiceImpl;
+import com.ecommerce.inventory.domain.service.impl.concurrency.StockConcurrencyStrategies;
+import com.ecommerce.inventory.infrastructure.metrics.HotSkuTracker;
+import com.ecommerce.inventory.infrastructure.metrics.ReservationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CacheConfigTest.Config.class)
+class CacheConfigTest {
+
+    @Configuration
+    @Import(CacheConfig.class)
+    static class Config {
+
+        @Bean
+        InventoryRepository inventoryRepository() {
+            return mock(InventoryRepository.class);
+        }
+
+        @Bean
+        InventoryDomainService inventoryDomainService(InventoryRepository inventoryRepository,
+                                                      CacheManager cacheManager) {
+            return new InventoryDomainServiceImpl(inventoryRepository, cacheManager,
+                    new ReservationMetrics(new SimpleMeterRegistry(), new HotSkuTracker(64, 4, 8, 10_000)),
+                    mock(StockConcurrencyStrategies.class));
+        }
+    }
+
+    @Autowired
+    private InventoryDomainService inventoryDomainService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        reset(inventoryRepository);
+        cacheManager.getCache(CacheConfig.INVENTORY_ITEMS).clear();
+    }
+
+    private Inventory createTestInventoryItem(String productCode, int quantity) {
+        return Inventory.builder()
+                .id(1L)
+                .productCode(productCode)
+                .productName("Test Product")
+                .quantity(quantity)
+                .version(1L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups and unknown codes from the cache")
+    void lookupsAreCached() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1")).thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.findByProductCode("UNKNOWN")).thenReturn(Optional.empty());
+
+        // Act
+        inventoryDomainService.getInventoryItemByProductCode("PROD-1");
+        Optional<Inventory> cached = inventoryDomainService.getInventoryItemByProductCode("PROD-1");
+        inventoryDomainService.getInventoryItemByProductCode("UNKNOWN");
+        Optional<Inventory> unknown = inventoryDomainService.getInventoryItemByProductCode("UNKNOWN");
+
+        // Assert
+        assertEquals(10, cached.orElseThrow().getQuantity());
+        assertTrue(unknown.isEmpty());
+        verify(inventoryRepository, times(1)).findByProductCode("PROD-1");
+        verify(inventoryRepository, times(1)).findByProductCode("UNKNOWN");
+    }
+
+    @Test
+    @DisplayName("Should evict the cached entry on every write of the same product")
+    void writesEvictEntries() {
+        // Arrange
+        when(inventoryRepository.findByProductCode("PROD-1")).thenReturn(Optional.of(createTestInventoryItem("PROD-1", 10)));
+        when(inventoryRepository.findAllByProductCodeInWithLock(any())).thenReturn(List.of());
+
+        // Act
+        inventoryDomainService.getInventoryItemByProductCode("PROD-1");
+        inventoryDomainService.releaseStock("PROD-1", 1, "ref");
+        inventoryDomainService.getInventoryItemByProductCode("PROD-1");
+        inventoryDomainService.reserveStockBatch(Map.of("PROD-1", 1), "ref");
+        inventoryDomainService.getInventoryItemByProductCode("PROD-1");
+
+        // Assert
+        verify(inventoryRepository, times(3)).findByProductCode("PROD-1");
+    }
+}
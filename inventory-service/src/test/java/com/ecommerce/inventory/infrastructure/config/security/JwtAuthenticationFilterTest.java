@@ -0,0 +1,151 @@
+package com.ecommerce.inventory.infrastructure.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtDecoder jwtDecoder;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Helper method to create test tokens
+    private Jwt createTestJwt(String token, Instant expiresAt) {
+        Jwt.Builder builder = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user-1")
+                .claim("permissions", List.of("inventory_read"))
+                .issuedAt(Instant.now().minusSeconds(10));
+        if (expiresAt != null) {
+            builder.expiresAt(expiresAt);
+        }
+        return builder.build();
+    }
+
+    // Helper method to run a request through the filter and return the authentication it set
+    private Authentication filter(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/inventory/PROD-001");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private JwtAuthenticationFilter createFilter(boolean cacheEnabled) {
+        return new JwtAuthenticationFilter(jwtDecoder,
+                new VerifiedTokenCache(meterRegistry, cacheEnabled, 100, Duration.ofMinutes(5)));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DisplayName("Should verify a reused token only once and authenticate every request")
+    void reusedTokenIsVerifiedOnce() throws Exception {
+        // Arrange
+        when(jwtDecoder.decode("token-1")).thenReturn(createTestJwt("token-1", Instant.now().plusSeconds(300)));
+        JwtAuthenticationFilter filter = createFilter(true);
+
+        // Act
+        Authentication first = filter(filter, "token-1");
+        Authentication second = filter(filter, "token-1");
+
+        // Assert
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_INVENTORY_READ"),
+                second.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(jwtDecoder, times(1)).decode("token-1");
+        assertEquals(1, cacheGets("hit"));
+        assertEquals(1, cacheGets("miss"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a token that failed verification")
+    void invalidTokenIsNotCached() throws Exception {
+        // Arrange
+        when(jwtDecoder.decode("forged")).thenThrow(new BadJwtException("Invalid signature"));
+        JwtAuthenticationFilter filter = createFilter(true);
+
+        // Act
+        Authentication first = filter(filter, "forged");
+        Authentication second = filter(filter, "forged");
+
+        // Assert
+        assertNull(first);
+        assertNull(second);
+        verify(jwtDecoder, times(2)).decode("forged");
+    }
+
+    @Test
+    @DisplayName("Should not cache tokens without an expiry or already expired")
+    void tokensWithoutRemainingLifetimeAreNotCached() throws Exception {
+        // Arrange
+        when(jwtDecoder.decode("no-expiry")).thenReturn(createTestJwt("no-expiry", null));
+        when(jwtDecoder.decode("expired")).thenReturn(createTestJwt("expired", Instant.now().minusSeconds(1)));
+        JwtAuthenticationFilter filter = createFilter(true);
+
+        // Act
+        filter(filter, "no-expiry");
+        filter(filter, "no-expiry");
+        filter(filter, "expired");
+        filter(filter, "expired");
+
+        // Assert
+        verify(jwtDecoder, times(2)).decode("no-expiry");
+        verify(jwtDecoder, times(2)).decode("expired");
+    }
+
+    @Test
+    @DisplayName("Should verify every request when the cache is disabled")
+    void disabledCacheVerifiesEveryRequest() throws Exception {
+        // Arrange
+        when(jwtDecoder.decode("token-1")).thenReturn(createTestJwt("token-1", Instant.now().plusSeconds(300)));
+        JwtAuthenticationFilter filter = createFilter(false);
+
+        // Act
+        Authentication first = filter(filter, "token-1");
+        Authentication second = filter(filter, "token-1");
+
+        // Assert
+        assertNotNull(first);
+        assertNotNull(second);
+        verify(jwtDecoder, times(2)).decode("token-1");
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import com.ecommerce.inventory.config.TestConfig;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the service against two embedded databases, a primary and a replica. Replication is
+ * simulated by writing the replica rows and its heartbeat directly.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@TestPropertySource(properties = {
+        "inventory.datasource.replica.enabled=true",
+        "inventory.datasource.replica.url=jdbc:h2:mem:inventory_replica_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "inventory.datasource.replica.max-lag=5s",
+        "inventory.datasource.replica.lag-check-interval-ms=3600000"
+})
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String PRODUCT_CODE = "REPLICA-SKU";
+
+    @Autowired
+    InventoryDomainService inventoryDomainService;
+
+    @Autowired
+    InventoryRepository inventoryRepository;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        inventoryRepository.findByProductCode(PRODUCT_CODE).ifPresent(inventoryRepository::delete);
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql")).execute(replicaDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        // The schema script keeps the stock, so the replica is emptied here
+        replica.update("DELETE FROM inventory");
+        replica.update("INSERT INTO inventory (product_code, product_name, quantity, version) VALUES (?, ?, ?, 0)",
+                PRODUCT_CODE, "Replica Product", 0);
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    // Helper method to set the heartbeat the replica has applied, seconds ago
+    private void replicateHeartbeat(long secondsAgo) {
+        replica.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)",
+                System.currentTimeMillis() - secondsAgo * 1000);
+    }
+
+    @Test
+    @DisplayName("Should write to the primary and read from a replica that is within the maximum lag")
+    void readsFromReplica() {
+        // Arrange
+        replicateHeartbeat(0);
+        inventoryDomainService.addInventoryItem(Inventory.builder()
+                .productCode(PRODUCT_CODE)
+                .productName("Primary Product")
+                .quantity(10)
+                .build());
+        replicaLagMonitor.check();
+
+        // Act
+        List<String> soldOut = inventoryDomainService.getSoldOutProductCodes();
+
+        // Assert
+        assertTrue(soldOut.contains(PRODUCT_CODE));
+        assertEquals(1, replica.queryForObject("SELECT COUNT(*) FROM inventory", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should fill the product cache from the primary even while the replica is usable")
+    void cachedLookupsReadFromPrimary() {
+        // Arrange
+        replicateHeartbeat(0);
+        inventoryDomainService.addInventoryItem(Inventory.builder()
+                .productCode(PRODUCT_CODE)
+                .productName("Primary Product")
+                .quantity(10)
+                .build());
+        replicaLagMonitor.check();
+
+        // Act
+        Inventory item = inventoryDomainService.getInventoryItemByProductCode(PRODUCT_CODE).orElseThrow();
+        Inventory looked = inventoryDomainService.getInventoryItemsByProductCodes(List.of(PRODUCT_CODE)).get(PRODUCT_CODE);
+
+        // Assert
+        assertEquals(10, item.getQuantity());
+        assertEquals(10, looked.getQuantity());
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while the replica lags behind")
+    void readsFromPrimaryWhileReplicaLags() {
+        // Arrange
+        replicateHeartbeat(60);
+        inventoryDomainService.addInventoryItem(Inventory.builder()
+                .productCode(PRODUCT_CODE)
+                .productName("Primary Product")
+                .quantity(10)
+                .build());
+        replicaLagMonitor.check();
+
+        // Act
+        List<String> soldOut = inventoryDomainService.getSoldOutProductCodes();
+
+        // Assert
+        assertFalse(soldOut.contains(PRODUCT_CODE));
+    }
+}
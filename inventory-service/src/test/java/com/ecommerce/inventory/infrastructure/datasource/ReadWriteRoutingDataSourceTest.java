@@ -0,0 +1,123 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = createTestDatabase("primary");
+        replica = createTestDatabase("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    // Helper method to create a test database that reports its own role
+    private DataSource createTestDatabase(String role) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (role VARCHAR(10))");
+        jdbcTemplate.update("INSERT INTO node (role) VALUES (?)", role);
+        return dataSource;
+    }
+
+    // Helper method to read the role of the database a connection of the data source points to
+    private String roleOf(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT role FROM node", String.class);
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and everything else to the primary")
+    void routesByReadOnlyFlag() {
+        // Arrange
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+
+        // Act
+        String writeRole = roleOf(dataSource);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String readRole = roleOf(dataSource);
+
+        // Assert
+        assertEquals("primary", writeRole);
+        assertEquals("replica", readRole);
+        assertEquals(1, count("inventory.datasource.connections", "pool", "primary"));
+        assertEquals(1, count("inventory.datasource.connections", "pool", "replica"));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the primary while the replica lags")
+    void fallsBackWhileReplicaLags() {
+        // Arrange
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        String role = roleOf(dataSource);
+
+        // Assert
+        assertEquals("primary", role);
+        assertEquals(1, count("inventory.datasource.replica.fallbacks", "reason", "lag"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary and report the replica when it refuses a connection")
+    void fallsBackWhenReplicaIsDown() throws SQLException {
+        // Arrange
+        DataSource downReplica = mock(DataSource.class);
+        SQLTransientConnectionException refused = new SQLTransientConnectionException("Connection is not available");
+        when(downReplica.getConnection()).thenThrow(refused);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        ReadWriteRoutingDataSource dataSource =
+                new ReadWriteRoutingDataSource(primary, downReplica, replicaLagMonitor, meterRegistry);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act
+        String role = roleOf(dataSource);
+
+        // Assert
+        assertEquals("primary", role);
+        verify(replicaLagMonitor).markUnavailable(refused);
+        assertEquals(1, count("inventory.datasource.replica.fallbacks", "reason", "unavailable"));
+        verify(replicaLagMonitor, never()).markUnavailable(any(RuntimeException.class));
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.inventory.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource primaryDataSource = createTestDatabase();
+        DataSource replicaDataSource = createTestDatabase();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replicaLagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource,
+                Duration.ofSeconds(5), meterRegistry, clock);
+    }
+
+    // Helper method to create a test database holding the heartbeat table
+    private DataSource createTestDatabase() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "sa");
+        new JdbcTemplate(dataSource).execute(
+                "CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        return dataSource;
+    }
+
+    // Helper method to copy the heartbeat of the primary to the replica, as replication would
+    private void replicateHeartbeat() {
+        Long heartbeat = primary.queryForObject("SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        replica.update("MERGE INTO replication_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)", heartbeat);
+    }
+
+    @Test
+    @DisplayName("Should write the heartbeat on the primary and use a replica that has caught up")
+    void usesReplicaThatCaughtUp() {
+        // Arrange
+        when(clock.millis()).thenReturn(NOW, NOW + 1_000, NOW + 1_000, NOW + 2_000);
+        replicaLagMonitor.check();
+        replicateHeartbeat();
+
+        // Act
+        replicaLagMonitor.check();
+
+        // Assert
+        assertEquals(NOW + 1_000, primary.queryForObject("SELECT beat_at FROM replication_heartbeat", Long.class));
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals(Optional.of(Duration.ofSeconds(2)), replicaLagMonitor.lag());
+        assertEquals(2_000, meterRegistry.get("inventory.datasource.replica.lag").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should take the replica out of rotation once its heartbeat is older than the maximum lag")
+    void laggingReplicaIsNotUsed() {
+        // Arrange
+        when(clock.millis()).thenReturn(NOW, NOW + 1_000, NOW + 1_000, NOW + 5_000, NOW + 5_001);
+        replicaLagMonitor.check();
+        replicateHeartbeat();
+        replicaLagMonitor.check();
+
+        // Act
+        boolean usableAtMaxLag = replicaLagMonitor.isReplicaUsable();
+        boolean usableAfterMaxLag = replicaLagMonitor.isReplicaUsable();
+
+        // Assert
+        assertTrue(usableAtMaxLag);
+        assertFalse(usableAfterMaxLag);
+    }
+
+    @Test
+    @DisplayName("Should not use a replica without a heartbeat or one that cannot be read")
+    void unreadableReplicaIsNotUsed() {
+        // Arrange
+        when(clock.millis()).thenReturn(NOW);
+
+        // Act
+        replicaLagMonitor.check();
+        boolean usableWithoutHeartbeat = replicaLagMonitor.isReplicaUsable();
+        replica.execute("DROP TABLE replication_heartbeat");
+        replicaLagMonitor.check();
+
+        // Assert
+        assertFalse(usableWithoutHeartbeat);
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.lag().isEmpty());
+        assertTrue(Double.isNaN(meterRegistry.get("inventory.datasource.replica.lag").gauge().value()));
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockJournalTest {
+
+    private static final int SEGMENT_BYTES = 1024;
+
+    @TempDir
+    Path directory;
+
+    // Helper method to read every record of the journal as "MOVEMENT productCode quantity"
+    private List<String> readAll(StockJournal journal, long from) {
+        List<String> records = new ArrayList<>();
+        journal.read(from, journal.appendedPosition(),
+                (movement, productCode, quantity) -> records.add(movement + " " + productCode + " " + quantity));
+        return records;
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read back appended movements in order and make them durable")
+    void appendAndRead() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            // Arrange
+            journal.append(StockMovement.RESERVE, "PROD-1", 3);
+            long middle = journal.append(StockMovement.RELEASE, "PROD-2", 1);
+            long end = journal.append(StockMovement.RESERVE, "PROD-1", 2);
+
+            // Act
+            boolean durable = journal.awaitDurable(end, 5_000);
+            List<String> all = readAll(journal, 0);
+            List<String> fromMiddle = readAll(journal, middle);
+
+            // Assert
+            assertTrue(durable);
+            assertEquals(end, journal.durablePosition());
+            assertEquals(List.of("RESERVE PROD-1 3", "RELEASE PROD-2 1", "RESERVE PROD-1 2"), all);
+            assertEquals(List.of("RESERVE PROD-1 2"), fromMiddle);
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment and read across segments")
+    void rollsSegments() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            // Arrange
+            for (int i = 0; i < 200; i++) {
+                journal.append(StockMovement.RESERVE, "PROD-" + i, i);
+            }
+
+            // Act
+            List<String> records = readAll(journal, 0);
+
+            // Assert
+            assertTrue(segmentCount() > 1);
+            assertEquals(200, records.size());
+            assertEquals("RESERVE PROD-199 199", records.get(199));
+        }
+    }
+
+    @Test
+    @DisplayName("Should continue after the last record when reopened")
+    void recoversAppendPosition() throws IOException {
+        // Arrange
+        long end;
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(StockMovement.RESERVE, "PROD-1", 1);
+            }
+            end = journal.appendedPosition();
+        }
+
+        // Act
+        try (StockJournal reopened = new StockJournal(directory, SEGMENT_BYTES)) {
+            reopened.append(StockMovement.RELEASE, "PROD-1", 7);
+
+            // Assert
+            assertEquals(List.of("RELEASE PROD-1 7"), readAll(reopened, end));
+            assertEquals(101, readAll(reopened, 0).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should discard a record torn by a crash and overwrite it with the next append")
+    void discardsTornRecord() throws IOException {
+        // Arrange
+        long end;
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            journal.append(StockMovement.RESERVE, "PROD-1", 1);
+            end = journal.appendedPosition();
+        }
+        try (FileChannel channel = FileChannel.open(directory.resolve(String.format("%020d.journal", 0)),
+                StandardOpenOption.WRITE)) {
+            // A length and part of a payload whose checksum does not match
+            channel.write(ByteBuffer.allocate(12).putInt(20).putInt(42).putInt(7).flip(), end);
+        }
+
+        // Act
+        try (StockJournal reopened = new StockJournal(directory, SEGMENT_BYTES)) {
+            long position = reopened.appendedPosition();
+            reopened.append(StockMovement.RELEASE, "PROD-2", 2);
+
+            // Assert
+            assertEquals(end, position);
+            assertEquals(List.of("RESERVE PROD-1 1", "RELEASE PROD-2 2"), readAll(reopened, 0));
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete only the segments that hold nothing after the position")
+    void deletesFlushedSegments() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            // Arrange
+            for (int i = 0; i < 200; i++) {
+                journal.append(StockMovement.RESERVE, "PROD-" + i, 1);
+            }
+            long end = journal.appendedPosition();
+            assertTrue(journal.awaitDurable(end, 5_000));
+            long segments = segmentCount();
+
+            // Act
+            int deleted = journal.deleteSegmentsBefore(end);
+
+            // Assert
+            assertEquals(segments - 1, deleted);
+            assertEquals(1, segmentCount());
+            assertTrue(journal.firstPosition() <= end);
+        }
+    }
+
+    @Test
+    @DisplayName("Should start a new segment when advanced past the end")
+    void advancesToCheckpoint() throws IOException {
+        try (StockJournal journal = new StockJournal(directory, SEGMENT_BYTES)) {
+            // Act
+            journal.advanceTo(5_000);
+            long end = journal.append(StockMovement.RESERVE, "PROD-1", 4);
+
+            // Assert
+            assertEquals(List.of("RESERVE PROD-1 4"), readAll(journal, 5_000));
+            assertTrue(end > 5_000);
+            assertTrue(journal.awaitDurable(end, 5_000));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import com.ecommerce.inventory.config.TestConfig;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.StockJournalCheckpointRepository;
+import com.ecommerce.inventory.domain.service.impl.InMemoryInventoryDomainServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stops and starts the journaled in-memory engine on the embedded database, running the schema
+ * and data scripts again in between the way every startup does.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class StockLedgerRestartTest {
+
+    private static final String PRODUCT_CODE = "PROD-001";
+
+    @Autowired
+    InventoryRepository inventoryRepository;
+
+    @Autowired
+    StockJournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    // Helper method to start the ledger on the journal directory, recovering what the previous run left
+    private StockLedger startLedger() throws IOException {
+        StockLedger ledger = new StockLedger(inventoryRepository, checkpointRepository, transactionManager,
+                directory, DataSize.ofKilobytes(64), Duration.ofSeconds(5));
+        ledger.recover();
+        return ledger;
+    }
+
+    // Helper method to run the schema and data scripts the way spring.sql.init does on startup
+    private void initializeDatabase() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/schema.sql"), new ClassPathResource("db/data.sql"))
+                .execute(dataSource);
+    }
+
+    private Map<String, Integer> quantities() {
+        return Stream.of("PROD-001", "PROD-002", "PROD-003")
+                .collect(Collectors.toMap(productCode -> productCode,
+                        productCode -> inventoryRepository.findQuantityByProductCode(productCode).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Should keep the stock and not replay flushed movements after a clean stop and start")
+    void cleanRestartLeavesQuantitiesUnchanged() throws IOException {
+        // Arrange
+        initializeDatabase();
+        int initial = inventoryRepository.findQuantityByProductCode(PRODUCT_CODE).orElseThrow();
+        StockLedger ledger = startLedger();
+        InMemoryInventoryDomainServiceImpl engine =
+                new InMemoryInventoryDomainServiceImpl(inventoryRepository, 8, Optional.of(ledger));
+        assertTrue(engine.validateAndLockStock(PRODUCT_CODE, 5, "ref-1").isPresent());
+        assertTrue(engine.releaseStock(PRODUCT_CODE, 2, "ref-1"));
+        engine.shutdown();
+        ledger.close();
+        Map<String, Integer> stopped = quantities();
+
+        // Act
+        initializeDatabase();
+        StockLedger restarted = startLedger();
+        restarted.close();
+
+        // Assert
+        assertEquals(stopped, quantities());
+        assertEquals(initial - 3, stopped.get(PRODUCT_CODE));
+    }
+
+    @Test
+    @DisplayName("Should replay only the movements a crash left unflushed onto the stock that survived it")
+    void crashRestartReplaysUnflushedMovements() throws IOException {
+        // Arrange
+        initializeDatabase();
+        int initial = inventoryRepository.findQuantityByProductCode(PRODUCT_CODE).orElseThrow();
+        StockLedger ledger = startLedger();
+        ledger.record(StockMovement.RESERVE, PRODUCT_CODE, 4);
+        ledger.flush();
+        ledger.record(StockMovement.RESERVE, PRODUCT_CODE, 3);
+        ledger.close();
+
+        // Act
+        initializeDatabase();
+        StockLedger restarted = startLedger();
+        restarted.close();
+
+        // Assert
+        assertEquals(initial - 7, inventoryRepository.findQuantityByProductCode(PRODUCT_CODE).orElseThrow());
+    }
+}
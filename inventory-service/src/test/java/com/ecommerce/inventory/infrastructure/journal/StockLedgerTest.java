@@ -0,0 +1,144 @@
+package com.ecommerce.inventory.infrastructure.journal;
+
+import com.ecommerce.inventory.domain.model.StockJournalCheckpoint;
+import com.ecommerce.inventory.domain.repository.InventoryRepository;
+import com.ecommerce.inventory.domain.repository.StockJournalCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockLedgerTest {
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private StockJournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private StockLedger stockLedger;
+
+    @AfterEach
+    void tearDown() {
+        if (stockLedger != null) {
+            stockLedger.close();
+        }
+    }
+
+    // Helper method to create a ledger on the temporary journal directory, recovered from the given checkpoint
+    private StockLedger createTestLedger(Optional<Long> checkpoint) throws IOException {
+        when(checkpointRepository.findById(StockLedger.JOURNAL_NAME))
+                .thenReturn(checkpoint.map(position -> new StockJournalCheckpoint(StockLedger.JOURNAL_NAME, position)));
+        StockLedger ledger = new StockLedger(inventoryRepository, checkpointRepository, transactionManager,
+                directory, DataSize.ofKilobytes(4), Duration.ofSeconds(5));
+        ledger.recover();
+        return ledger;
+    }
+
+    @Test
+    @DisplayName("Should apply the summed movements per product together with the new checkpoint")
+    void flushAppliesSummedDeltas() throws IOException {
+        // Arrange
+        stockLedger = createTestLedger(Optional.empty());
+        stockLedger.record(StockMovement.RESERVE, "PROD-1", 3);
+        stockLedger.record(StockMovement.RESERVE, "PROD-1", 2);
+        stockLedger.record(StockMovement.RELEASE, "PROD-2", 4);
+        stockLedger.record(StockMovement.RESERVE, "PROD-2", 4);
+        long end = stockLedger.record(StockMovement.RELEASE, "PROD-1", 1);
+
+        // Act
+        int products = stockLedger.flush();
+        int again = stockLedger.flush();
+
+        // Assert
+        assertEquals(1, products);
+        assertEquals(0, again);
+        verify(inventoryRepository).adjustQuantity("PROD-1", -4);
+        verify(inventoryRepository, never()).adjustQuantity(eq("PROD-2"), anyInt());
+        ArgumentCaptor<StockJournalCheckpoint> checkpoint = ArgumentCaptor.forClass(StockJournalCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertEquals(end, checkpoint.getValue().getFlushedPosition());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the checkpoint and retry the movements when the flush fails")
+    void failedFlushIsRetried() throws IOException {
+        // Arrange
+        stockLedger = createTestLedger(Optional.empty());
+        stockLedger.record(StockMovement.RESERVE, "PROD-1", 3);
+        when(inventoryRepository.adjustQuantity("PROD-1", -3))
+                .thenThrow(new RuntimeException("Lock wait timeout"))
+                .thenReturn(1);
+
+        // Act
+        assertThrows(RuntimeException.class, () -> stockLedger.flush());
+        stockLedger.record(StockMovement.RESERVE, "PROD-1", 1);
+        stockLedger.flush();
+
+        // Assert
+        verify(inventoryRepository).adjustQuantity("PROD-1", -4);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should replay on startup only the movements after the checkpoint")
+    void recoveryReplaysAfterCheckpoint() throws IOException {
+        // Arrange
+        long checkpoint;
+        try (StockJournal journal = new StockJournal(directory, 4096)) {
+            checkpoint = journal.append(StockMovement.RESERVE, "PROD-1", 5);
+            journal.append(StockMovement.RESERVE, "PROD-2", 2);
+            journal.append(StockMovement.RELEASE, "PROD-1", 1);
+        }
+
+        // Act
+        stockLedger = createTestLedger(Optional.of(checkpoint));
+
+        // Assert
+        verify(inventoryRepository).adjustQuantity("PROD-1", 1);
+        verify(inventoryRepository).adjustQuantity("PROD-2", -2);
+        verifyNoMoreInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("Should not reuse positions the checkpoint covers when the journal directory was lost")
+    void recoveryAdvancesPastCheckpoint() throws IOException {
+        // Arrange
+        stockLedger = createTestLedger(Optional.of(10_000L));
+
+        // Act
+        long end = stockLedger.record(StockMovement.RESERVE, "PROD-1", 1);
+        stockLedger.flush();
+
+        // Assert
+        assertTrue(end > 10_000L);
+        verify(inventoryRepository, times(1)).adjustQuantity(anyString(), anyInt());
+        verify(inventoryRepository).adjustQuantity("PROD-1", -1);
+        assertTrue(stockLedger.awaitDurable(end));
+    }
+}
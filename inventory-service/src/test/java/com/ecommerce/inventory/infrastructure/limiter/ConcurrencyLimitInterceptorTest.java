@@ -0,0 +1,60 @@
+package com.ecommerce.inventory.infrastructure.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("validate", 2, 1, 10, Duration.ofSeconds(10), 0.5,
+                new SimpleMeterRegistry());
+        interceptor = new ConcurrencyLimitInterceptor(limiter, Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should admit requests up to the limit and shed the next one")
+    void shedsRequestOverLimit() {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+
+        // Act
+        ConcurrencyLimitExceededException exception = assertThrows(ConcurrencyLimitExceededException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // Assert
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should release the permit on completion and count a server error as overload")
+    void releasesPermitOnCompletion() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        response.setStatus(503);
+
+        // Act
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+}
@@ -0,0 +1,118 @@
+package com.ecommerce.inventory.infrastructure.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotSkuTrackerTest {
+
+    private static final long MILLISECOND = 1_000_000;
+
+    // Helper method to record many cold products once each
+    private void recordColdProducts(HotSkuTracker tracker, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.record("COLD-" + i, 1, MILLISECOND);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the heavy hitters among many cold products, hottest first")
+    void hotSkusFindsHeavyHitters() {
+        // Arrange
+        HotSkuTracker tracker = new HotSkuTracker(1024, 4, 3, 10_000);
+        recordColdProducts(tracker, 5_000);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record("HOT-A", 1, 10 * MILLISECOND);
+            if (i % 2 == 0) {
+                tracker.record("HOT-B", 1, 2 * MILLISECOND);
+            }
+            if (i % 4 == 0) {
+                tracker.record("HOT-C", 1, MILLISECOND);
+            }
+        }
+
+        // Act
+        List<HotSkuTracker.HotSku> hotSkus = tracker.hotSkus();
+
+        // Assert
+        assertEquals(List.of("HOT-A", "HOT-B", "HOT-C"),
+                hotSkus.stream().map(HotSkuTracker.HotSku::productCode).toList());
+        HotSkuTracker.HotSku hottest = hotSkus.get(0);
+        // A count-min estimate never undercounts, and with 1024 cells per row overcounts only slightly
+        assertTrue(hottest.reservationsPerSecond() >= 1_000 / 20.0);
+        assertTrue(hottest.reservationsPerSecond() < 1_100 / 20.0);
+        assertTrue(hottest.lockWaitMillis() >= 10_000);
+        assertEquals(10, hottest.averageLockWaitMillis(), 1);
+    }
+
+    @Test
+    @DisplayName("Should halve the counts on decay and drop products that cooled down")
+    void decayHalvesCountsAndDropsColdProducts() {
+        // Arrange
+        HotSkuSketch sketch = new HotSkuSketch(256, 4, 2);
+        sketch.add("HOT", 8, 8 * MILLISECOND);
+        sketch.add("WARM", 1, MILLISECOND);
+
+        // Act
+        sketch.decay();
+
+        // Assert
+        assertEquals(4, sketch.estimateCount("HOT"));
+        assertEquals(4 * MILLISECOND, sketch.estimateLockWaitNanos("HOT"));
+        assertEquals(List.of("HOT"), sketch.topK());
+    }
+
+    @Test
+    @DisplayName("Should replace the coldest candidate once another product overtakes it")
+    void topKAdmitsProductThatOvertakesColdestCandidate() {
+        // Arrange
+        HotSkuSketch sketch = new HotSkuSketch(256, 4, 2);
+        sketch.add("FIRST", 5, 0);
+        sketch.add("SECOND", 2, 0);
+
+        // Act
+        sketch.add("THIRD", 1, 0);
+        List<String> beforeOvertaking = sketch.topK();
+        sketch.add("THIRD", 2, 0);
+
+        // Assert
+        assertEquals(List.of("FIRST", "SECOND"), beforeOvertaking);
+        assertEquals(List.of("FIRST", "THIRD"), sketch.topK());
+    }
+
+    @Test
+    @DisplayName("Should not lose counts when products are recorded concurrently")
+    void recordConcurrently() throws InterruptedException {
+        // Arrange
+        HotSkuSketch sketch = new HotSkuSketch(1024, 4, 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    sketch.add("HOT", 1, 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(80_000, sketch.estimateCount("HOT"));
+        assertEquals(80_000, sketch.estimateLockWaitNanos("HOT"));
+        assertEquals(List.of("HOT"), sketch.topK());
+    }
+
+    @Test
+    @DisplayName("Should reject a sketch without cells")
+    void rejectsEmptySketch() {
+        assertThrows(IllegalArgumentException.class, () -> new HotSkuSketch(0, 4, 10));
+    }
+}
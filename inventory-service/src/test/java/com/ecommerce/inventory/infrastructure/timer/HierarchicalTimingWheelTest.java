@@ -0,0 +1,161 @@
+package com.ecommerce.inventory.infrastructure.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+    private static final long TICK = 100L;
+
+    // Helper method to create a small wheel, 3 levels of 8 slots span 512 ticks
+    private HierarchicalTimingWheel<String> createTestWheel() {
+        return new HierarchicalTimingWheel<>(TICK, 3, 3, START);
+    }
+
+    @Test
+    @DisplayName("Should expire a key on the first tick at or after its deadline, never before")
+    void expiresAtDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        wheel.schedule("ref-1", START + 250);
+
+        // Act
+        List<String> beforeDeadline = wheel.expire(START + 299, 10);
+        List<String> atTick = wheel.expire(START + 300, 10);
+
+        // Assert
+        assertTrue(beforeDeadline.isEmpty());
+        assertEquals(List.of("ref-1"), atTick);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should not expire a cancelled key")
+    void cancelledKeyDoesNotExpire() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        wheel.schedule("ref-1", START + 1_000);
+        wheel.schedule("ref-2", START + 1_000);
+
+        // Act
+        boolean cancelled = wheel.cancel("ref-1");
+        boolean cancelledAgain = wheel.cancel("ref-1");
+        List<String> expired = wheel.expire(START + 2_000, 10);
+
+        // Assert
+        assertTrue(cancelled);
+        assertFalse(cancelledAgain);
+        assertEquals(List.of("ref-2"), expired);
+    }
+
+    @Test
+    @DisplayName("Should hand out due keys in batches and keep the rest due")
+    void expiresInBatches() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        for (int i = 0; i < 5; i++) {
+            wheel.schedule("ref-" + i, START + 100 * (i + 1));
+        }
+
+        // Act
+        List<String> firstBatch = wheel.expire(START + 10_000, 2);
+        boolean cancelledWhileDue = wheel.cancel("ref-2");
+        List<String> secondBatch = wheel.expire(START + 10_000, 10);
+
+        // Assert
+        assertEquals(List.of("ref-0", "ref-1"), firstBatch);
+        assertTrue(cancelledWhileDue);
+        assertEquals(List.of("ref-3", "ref-4"), secondBatch);
+    }
+
+    @Test
+    @DisplayName("Should replace the deadline of a key that is scheduled again")
+    void rescheduleReplacesDeadline() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        wheel.schedule("ref-1", START + 200);
+        wheel.schedule("ref-1", START + 5_000);
+
+        // Act
+        List<String> atFirstDeadline = wheel.expire(START + 1_000, 10);
+        List<String> atSecondDeadline = wheel.expire(START + 5_000, 10);
+
+        // Assert
+        assertTrue(atFirstDeadline.isEmpty());
+        assertEquals(List.of("ref-1"), atSecondDeadline);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should expire past deadlines straight away and deadlines beyond the span on time")
+    void pastAndDistantDeadlines() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        wheel.schedule("past", START - 5_000);
+        wheel.schedule("distant", START + 2_000 * TICK);
+
+        // Act
+        List<String> now = wheel.expire(START, 10);
+        List<String> beforeDistant = wheel.expire(START + 1_999 * TICK, 10);
+        List<String> atDistant = wheel.expire(START + 2_000 * TICK, 10);
+
+        // Assert
+        assertEquals(List.of("past"), now);
+        assertTrue(beforeDistant.isEmpty());
+        assertEquals(List.of("distant"), atDistant);
+    }
+
+    @Test
+    @DisplayName("Should expire every key on the first tick after its deadline across all levels")
+    void matchesReferenceModel() {
+        // Arrange
+        HierarchicalTimingWheel<String> wheel = createTestWheel();
+        Random random = new Random(42);
+        Map<String, Long> dueAt = new HashMap<>();
+        long now = START;
+
+        // Act
+        List<String> violations = new ArrayList<>();
+        for (int step = 0; step < 3_000; step++) {
+            String key = "ref-" + step;
+            long deadline = now + random.nextInt(700) * TICK + random.nextInt((int) TICK);
+            wheel.schedule(key, deadline);
+            dueAt.put(key, START + Math.ceilDiv(deadline - START, TICK) * TICK);
+            if (random.nextInt(4) == 0) {
+                String victim = "ref-" + random.nextInt(step + 1);
+                if (wheel.cancel(victim)) {
+                    dueAt.remove(victim);
+                }
+            }
+
+            now += random.nextInt(3) * TICK;
+            for (String expired : wheel.expire(now, Integer.MAX_VALUE)) {
+                Long keyDueAt = dueAt.remove(expired);
+                if (keyDueAt == null || now < keyDueAt) {
+                    violations.add(expired + " expired early or twice at " + now);
+                }
+            }
+            long current = now;
+            dueAt.forEach((pending, keyDueAt) -> {
+                if (keyDueAt <= current) {
+                    violations.add(pending + " not expired at " + current);
+                }
+            });
+        }
+
+        // Assert
+        assertEquals(List.of(), violations);
+        assertEquals(dueAt.size(), wheel.size());
+        assertEquals(dueAt.keySet(), new HashSet<>(wheel.expire(now + 1_000 * TICK, Integer.MAX_VALUE)));
+    }
+}
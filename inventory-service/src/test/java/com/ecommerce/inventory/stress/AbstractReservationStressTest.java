@@ -0,0 +1,217 @@
+package com.ecommerce.inventory.stress;
+
+import com.ecommerce.inventory.application.dto.request.StockValidationRequest;
+import com.ecommerce.inventory.application.dto.respose.StockValidationResponse;
+import com.ecommerce.inventory.application.service.InventoryApplicationService;
+import com.ecommerce.inventory.config.TestConfig;
+import com.ecommerce.inventory.domain.model.Inventory;
+import com.ecommerce.inventory.domain.model.Reservation;
+import com.ecommerce.inventory.domain.repository.ReservationRepository;
+import com.ecommerce.inventory.domain.service.InventoryDomainService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stress harness for the reservation path: {@code threads} threads each fire
+ * {@code reservations} stock validations at a few products through
+ * {@link InventoryApplicationService#validateStock}, and unlock about a third of the granted locks
+ * again with {@link InventoryApplicationService#unlockStock} while the others are still reserving.
+ *
+ * <p>The stock is sized so that the products sell out during the run. Afterwards every product
+ * must satisfy {@code quantity + held reservations == initial stock}, where the held reservations
+ * are both the locks the test still holds and the rows left in the {@code reservation} table:
+ * no stock was sold twice, no unlock was lost or applied twice, and no stock leaked.
+ *
+ * <p>Subclasses pick the concurrency strategy with {@code @TestPropertySource}. Load can be raised
+ * with {@code -Dstress.threads}, {@code -Dstress.reservations} and {@code -Dstress.products}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Tag("stress")
+@Slf4j
+abstract class AbstractReservationStressTest {
+
+    private static final int MAX_QUANTITY = 3;
+    private static final int MAX_UNLOCK_ATTEMPTS = 20;
+
+    final int threads = Integer.getInteger("stress.threads", 8);
+    final int reservationsPerThread = Integer.getInteger("stress.reservations", 40);
+    final int productCount = Integer.getInteger("stress.products", 3);
+
+    @Autowired
+    InventoryApplicationService inventoryApplicationService;
+
+    @Autowired
+    InventoryDomainService inventoryDomainService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    private List<String> productCodes;
+    private int initialStock;
+
+    /**
+     * Name of the strategy in the report.
+     */
+    abstract String strategy();
+
+    /**
+     * Codes of the products under test, unique per run unless the strategy needs them up front.
+     */
+    List<String> productCodes(int count) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add("STRESS-" + run + "-" + i);
+        }
+        return codes;
+    }
+
+    @BeforeEach
+    void setUp() {
+        productCodes = productCodes(productCount);
+        // Demand is about four times the stock, so every product runs out while locks are released again
+        initialStock = Math.max(1, threads * reservationsPerThread * (MAX_QUANTITY + 1) / 2 / productCount / 4);
+        productCodes.forEach(productCode -> inventoryDomainService.addInventoryItem(Inventory.builder()
+                .productCode(productCode)
+                .productName("Stress Product " + productCode)
+                .quantity(initialStock)
+                .build()));
+    }
+
+    @Test
+    @DisplayName("Concurrent reservations and unlocks neither oversell nor lose stock")
+    void concurrentReservationsNeitherOversellNorLoseStock() throws Exception {
+        // Arrange
+        Map<String, Lock> heldLocks = new ConcurrentHashMap<>();
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong unlocked = new AtomicLong();
+        AtomicLong lostUnlocks = new AtomicLong();
+        long[][] latencies = new long[threads][reservationsPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            long[] threadLatencies = latencies[t];
+            workers.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < reservationsPerThread; i++) {
+                    String productCode = productCodes.get(random.nextInt(productCodes.size()));
+                    int quantity = 1 + random.nextInt(MAX_QUANTITY);
+
+                    long begin = System.nanoTime();
+                    StockValidationResponse response = inventoryApplicationService.validateStock(
+                            StockValidationRequest.builder().productCode(productCode).quantity(quantity).build());
+                    threadLatencies[i] = System.nanoTime() - begin;
+
+                    if (!response.locked()) {
+                        rejected.incrementAndGet();
+                        continue;
+                    }
+                    reserved.incrementAndGet();
+                    heldLocks.put(response.lockReferenceId(), new Lock(productCode, quantity));
+
+                    if (random.nextInt(3) == 0) {
+                        if (unlock(response.lockReferenceId())) {
+                            heldLocks.remove(response.lockReferenceId());
+                            unlocked.incrementAndGet();
+                        } else {
+                            lostUnlocks.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        report(reserved.get(), rejected.get(), unlocked.get(), elapsedNanos, latencies);
+
+        // Assert
+        assertEquals(0, lostUnlocks.get(), "Unlocks that never succeeded");
+        assertTrue(reserved.get() > 0, "No reservation was granted");
+        assertTrue(rejected.get() > 0, "Stock never ran out, the run proves nothing about overselling");
+
+        Map<String, Integer> heldByTest = new HashMap<>();
+        heldLocks.values().forEach(lock -> heldByTest.merge(lock.productCode(), lock.quantity(), Integer::sum));
+        Map<String, Integer> heldInTable = new HashMap<>();
+        for (Reservation reservation : reservationRepository.findAll()) {
+            if (productCodes.contains(reservation.getProductCode())) {
+                heldInTable.merge(reservation.getProductCode(), reservation.getQuantity(), Integer::sum);
+            }
+        }
+
+        for (String productCode : productCodes) {
+            int quantity = inventoryDomainService.getInventoryItemByProductCode(productCode).orElseThrow().getQuantity();
+            int held = heldByTest.getOrDefault(productCode, 0);
+
+            assertTrue(quantity >= 0, "Oversold " + productCode + ": quantity " + quantity);
+            assertEquals(held, heldInTable.getOrDefault(productCode, 0),
+                    "Reservation table out of sync for " + productCode);
+            assertEquals(initialStock, quantity + held,
+                    "Stock of " + productCode + " was lost or created: quantity " + quantity + ", held " + held);
+        }
+    }
+
+    /**
+     * Unlocks a reservation, retrying while the unlock reports that the lines were put back.
+     */
+    private boolean unlock(String lockReferenceId) throws InterruptedException {
+        for (int attempt = 0; attempt < MAX_UNLOCK_ATTEMPTS; attempt++) {
+            if (inventoryApplicationService.unlockStock(lockReferenceId)) {
+                return true;
+            }
+            Thread.sleep(ThreadLocalRandom.current().nextInt(1, 10));
+        }
+        return false;
+    }
+
+    private void report(long reserved, long rejected, long unlocked, long elapsedNanos, long[][] latencies) {
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        long p99Nanos = all[Math.max(0, (int) Math.ceil(all.length * 0.99) - 1)];
+        log.info("STRESS | strategy={} | threads={} | products={} | reserved={} | rejected={} | unlocked={} | reservations/sec={} | p99-ms={}",
+                strategy(), threads, productCount, reserved, rejected, unlocked,
+                String.format("%.0f", reserved / (elapsedNanos / 1_000_000_000.0)),
+                String.format("%.2f", p99Nanos / 1_000_000.0));
+    }
+
+    private record Lock(String productCode, int quantity) {
+    }
+}
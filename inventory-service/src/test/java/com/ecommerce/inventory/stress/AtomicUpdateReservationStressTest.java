@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run of the atomic-update strategy: stock is taken with a guarded {@code UPDATE} and the row is read back.
+ */
+@TestPropertySource(properties = "inventory.reservation.concurrency.strategy=atomic-update")
+class AtomicUpdateReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "atomic-update";
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run with concurrent requests for a product coalesced into one row-lock transaction.
+ */
+@TestPropertySource(properties = "inventory.reservation.coalescing.enabled=true")
+class CoalescingReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "coalescing";
+    }
+}
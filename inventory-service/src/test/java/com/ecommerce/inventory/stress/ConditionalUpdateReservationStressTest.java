@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run of the lock-free strategy: stock is taken with a single guarded {@code UPDATE}.
+ */
+@TestPropertySource(properties = "inventory.reservation.mode=conditional-update")
+class ConditionalUpdateReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "conditional-update";
+    }
+}
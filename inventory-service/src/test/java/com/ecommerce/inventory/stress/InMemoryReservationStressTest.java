@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run of the in-memory engine, which keeps stock on the heap and writes it back in batches.
+ */
+@TestPropertySource(properties = "inventory.reservation.engine=in-memory")
+class InMemoryReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "in-memory";
+    }
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run of the optimistic strategy: no row lock, a save that loses the {@code @Version} check
+ * is retried after a backoff.
+ */
+@TestPropertySource(properties = "inventory.reservation.concurrency.strategy=optimistic")
+class OptimisticRetryReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "optimistic";
+    }
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress run of the read-committed-row-lock strategy: the product row is locked in a READ COMMITTED transaction.
+ */
+@TestPropertySource(properties = "inventory.reservation.concurrency.strategy=read-committed-row-lock")
+class ReadCommittedRowLockReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "read-committed-row-lock";
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.inventory.stress;
+
+/**
+ * Stress run of the default pessimistic strategy: the product row is locked for the whole
+ * reservation in a SERIALIZABLE transaction.
+ */
+class RowLockReservationStressTest extends AbstractReservationStressTest {
+
+    @Override
+    String strategy() {
+        return "row-lock";
+    }
+}
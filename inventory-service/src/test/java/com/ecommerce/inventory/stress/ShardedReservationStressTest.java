@@ -0,0 +1,28 @@
+package com.ecommerce.inventory.stress;
+
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+/**
+ * Stress run with the stock of every product split across shard rows. Hot products are configured
+ * at startup, so this run uses fixed product codes.
+ */
+@TestPropertySource(properties = {
+        "inventory.reservation.sharding.hot-skus=STRESS-HOT-0,STRESS-HOT-1,STRESS-HOT-2",
+        "inventory.reservation.sharding.shards=4"
+})
+class ShardedReservationStressTest extends AbstractReservationStressTest {
+
+    private static final List<String> HOT_SKUS = List.of("STRESS-HOT-0", "STRESS-HOT-1", "STRESS-HOT-2");
+
+    @Override
+    String strategy() {
+        return "sharded";
+    }
+
+    @Override
+    List<String> productCodes(int count) {
+        return HOT_SKUS.subList(0, Math.min(count, HOT_SKUS.size()));
+    }
+}
@@ -0,0 +1,10 @@
+-- Test data for inventory
+
+-- Insert sample inventory items for testing, products that already exist keep their stock like on a restart
+INSERT IGNORE INTO inventory (product_code, product_name, quantity, description)
+VALUES
+  ('PROD-001', 'Smartphone XYZ', 100, 'Latest smartphone model with advanced features'),
+  ('PROD-002', 'Laptop Pro Max', 50, 'High performance laptop for professionals'),
+  ('PROD-003', 'Wireless Earbuds', 200, 'Premium wireless earbuds with noise cancellation'),
+  ('PROD-004', 'Gaming Console XP', 30, 'Next-gen gaming console with 4K support'),
+  ('PROD-005', 'Smart Watch Series 3', 75, 'Fitness and health tracking smart watch');
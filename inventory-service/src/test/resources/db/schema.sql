@@ -0,0 +1,57 @@
+-- Inventory Service Test Database Schema for H2
+
+-- Only the replication heartbeat is dropped. The stock, the reservations held against it and the journal checkpoint
+-- share one lifecycle and are never dropped: recreating the stock alone would release restored reservations and
+-- replay the journal onto freshly seeded rows
+DROP TABLE IF EXISTS replication_heartbeat;
+
+-- Create inventory table with H2 compatible syntax
+CREATE TABLE IF NOT EXISTS inventory (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_code VARCHAR(50) NOT NULL UNIQUE,
+    product_name VARCHAR(100) NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    description VARCHAR(1000),
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes separately for H2 compatibility
+CREATE INDEX IF NOT EXISTS idx_product_code ON inventory(product_code);
+CREATE INDEX IF NOT EXISTS idx_inventory_quantity ON inventory(quantity);
+
+-- Create reservation table, kept across restarts so reservations are restored on startup
+CREATE TABLE IF NOT EXISTS reservation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    lock_reference_id VARCHAR(36) NOT NULL,
+    product_code VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reservation_lock_reference_id ON reservation(lock_reference_id);
+CREATE INDEX IF NOT EXISTS idx_reservation_expires_at ON reservation(expires_at);
+
+-- Create inventory shard table
+CREATE TABLE IF NOT EXISTS inventory_shard (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_code VARCHAR(50) NOT NULL,
+    shard_no INT NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_inventory_shard UNIQUE (product_code, shard_no)
+);
+
+-- Create stock journal checkpoint table, kept across restarts like the journal segments
+CREATE TABLE IF NOT EXISTS stock_journal_checkpoint (
+    journal_name VARCHAR(50) PRIMARY KEY,
+    flushed_position BIGINT NOT NULL
+);
+
+-- Create replication heartbeat table, written on the primary and read on the replica to measure replication lag
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
@@ -0,0 +1,62 @@
+package com.ecommerce.payment.application.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Record representing the products without available stock, as reported by the inventory service.
+ * A response that is not modified carries no products: the snapshot with the same version is still current.
+ */
+public record SoldOutProductsResponse(
+        Instant asOf,
+        List<String> productCodes,
+        String version,
+        boolean notModified,
+        String errorMessage
+) {
+    // Records already provide equals, hashCode, toString, and constructor
+
+    /**
+     * Builder pattern for the record
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Instant asOf;
+        private List<String> productCodes = List.of();
+        private String version;
+        private boolean notModified;
+        private String errorMessage;
+
+        public Builder asOf(Instant asOf) {
+            this.asOf = asOf;
+            return this;
+        }
+
+        public Builder productCodes(List<String> productCodes) {
+            this.productCodes = productCodes;
+            return this;
+        }
+
+        public Builder version(String version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder notModified(boolean notModified) {
+            this.notModified = notModified;
+            return this;
+        }
+
+        public Builder errorMessage(String errorMessage) {
+            this.errorMessage = errorMessage;
+            return this;
+        }
+
+        public SoldOutProductsResponse build() {
+            return new SoldOutProductsResponse(asOf, productCodes, version, notModified, errorMessage);
+        }
+    }
+}
@@ -2,10 +2,12 @@ package com.ecommerce.payment.application.dto;
 
 /**
  * Record representing a stock validation request.
+ * The inventory service applies requests with the same idempotency key once.
  */
 public record StockValidationRequest(
         String productCode,
-        int quantity
+        int quantity,
+        String idempotencyKey
 ) {
     // Records already provide equals, hashCode, toString, and constructor
 
@@ -19,6 +21,7 @@ public record StockValidationRequest(
     public static class Builder {
         private String productCode;
         private int quantity;
+        private String idempotencyKey;
 
         public Builder productCode(String productCode) {
             this.productCode = productCode;
@@ -30,8 +33,13 @@ public record StockValidationRequest(
             return this;
         }
 
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
         public StockValidationRequest build() {
-            return new StockValidationRequest(productCode, quantity);
+            return new StockValidationRequest(productCode, quantity, idempotencyKey);
         }
     }
 } 
\ No newline at end of file
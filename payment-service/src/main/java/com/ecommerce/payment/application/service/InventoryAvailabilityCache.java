@@ -0,0 +1,153 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
+import com.ecommerce.payment.infrastructure.client.InventoryClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Local snapshot of the products that are sold out in the inventory service.
+ *
+ * <p>The snapshot is refreshed from the inventory service every
+ * {@code payment.inventory.availability.refresh-interval-ms}. A product is only reported as
+ * sold out while the snapshot is younger than {@code payment.inventory.availability.max-staleness}:
+ * once the inventory service cannot be reached for longer than that, every product is treated as
+ * unknown and validated remotely again. A restocked product is therefore rejected for at most
+ * the maximum staleness, and sooner if a remote validation reports it in stock in the meantime.
+ *
+ * <p>Every refresh sends the version of the snapshot held. While the sold out products are unchanged
+ * the inventory service answers with a 304 and no body, which only renews the age of the snapshot.
+ */
+@Service
+// The poll authenticates with the service token, so it is only made when a token URI is configured
+@ConditionalOnExpression("${payment.inventory.availability.enabled:true} and !'${service.inventory.auth.token-uri:}'.isBlank()")
+@Slf4j
+public class InventoryAvailabilityCache {
+
+    private final InventoryClient inventoryClient;
+    private final Duration maxStaleness;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final Counter avoidedCalls;
+
+    @Autowired
+    public InventoryAvailabilityCache(
+            InventoryClient inventoryClient,
+            MeterRegistry meterRegistry,
+            @Value("${payment.inventory.availability.max-staleness:5s}") Duration maxStaleness) {
+        this(inventoryClient, meterRegistry, maxStaleness, Clock.systemUTC());
+    }
+
+    InventoryAvailabilityCache(InventoryClient inventoryClient, MeterRegistry meterRegistry,
+                               Duration maxStaleness, Clock clock) {
+        this.inventoryClient = inventoryClient;
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+        this.avoidedCalls = Counter.builder("payment.inventory.calls.avoided")
+                .description("Stock validations skipped because the product is known to be sold out")
+                .register(meterRegistry);
+        Gauge.builder("payment.inventory.availability.sold.out", snapshot, s -> s.get().soldOut().size())
+                .description("Products known to be sold out in the current snapshot")
+                .register(meterRegistry);
+        Gauge.builder("payment.inventory.availability.age", this,
+                        cache -> cache.snapshot.get().asOf() == null ? Double.NaN : cache.age().toMillis())
+                .description("Age of the sold out snapshot")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Replaces the snapshot with the sold out products reported by the inventory service.
+     * The age of the snapshot is counted from the moment the request was sent, so neither a slow
+     * response nor clock skew between the services can make it look fresher than it is.
+     */
+    @Scheduled(fixedDelayString = "${payment.inventory.availability.refresh-interval-ms:1000}")
+    public void refresh() {
+        Instant requestedAt = clock.instant();
+        inventoryClient.getSoldOutProducts(snapshot.get().version())
+                .filter(response -> response.notModified() || response.productCodes() != null)
+                .ifPresentOrElse(response -> apply(response, requestedAt),
+                        () -> log.warn("Could not refresh sold out products, snapshot age: {}", age()));
+    }
+
+    /**
+     * Returns true if the product was sold out in a snapshot no older than the maximum staleness.
+     */
+    public boolean isKnownSoldOut(String productCode) {
+        Snapshot current = snapshot.get();
+        return current.soldOut().contains(productCode) && !isStale(current);
+    }
+
+    /**
+     * Drops a product from the snapshot after a remote validation found it in stock.
+     */
+    public void markInStock(String productCode) {
+        snapshot.getAndUpdate(current -> current.soldOut().contains(productCode)
+                ? current.without(productCode)
+                : current);
+    }
+
+    /**
+     * Records a stock validation that was answered from the snapshot.
+     */
+    public void recordAvoidedCall() {
+        avoidedCalls.increment();
+    }
+
+    Duration age() {
+        Instant asOf = snapshot.get().asOf();
+        return asOf == null ? Duration.ZERO : Duration.between(asOf, clock.instant());
+    }
+
+    private void apply(SoldOutProductsResponse response, Instant requestedAt) {
+        if (response.notModified()) {
+            // Same products as the snapshot held, which is now known to be current as of this request
+            snapshot.getAndUpdate(current -> Objects.equals(current.version(), response.version())
+                    ? current.confirmedAt(requestedAt)
+                    : current);
+            log.debug("Sold out products not modified: version={}", response.version());
+            return;
+        }
+        snapshot.set(new Snapshot(Set.copyOf(response.productCodes()), requestedAt, response.version()));
+        log.debug("Refreshed sold out products: count={}, asOf={}", response.productCodes().size(), response.asOf());
+    }
+
+    private boolean isStale(Snapshot current) {
+        return current.asOf() == null
+                || Duration.between(current.asOf(), clock.instant()).compareTo(maxStaleness) > 0;
+    }
+
+    private record Snapshot(Set<String> soldOut, Instant asOf, String version) {
+
+        static final Snapshot EMPTY = new Snapshot(Set.of(), null, null);
+
+        /**
+         * Drops a product. The version is dropped as well, so the next refresh fetches the full list
+         * instead of confirming one that no longer matches the products held.
+         */
+        Snapshot without(String productCode) {
+            Set<String> remaining = new HashSet<>(soldOut);
+            remaining.remove(productCode);
+            return new Snapshot(Set.copyOf(remaining), asOf, null);
+        }
+
+        Snapshot confirmedAt(Instant requestedAt) {
+            return new Snapshot(soldOut, requestedAt, version);
+        }
+    }
+}
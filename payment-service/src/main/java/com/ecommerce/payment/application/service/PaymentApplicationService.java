@@ -17,7 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,21 +30,46 @@ public class PaymentApplicationService {
     private final PaymentDomainService paymentDomainService;
     private final InventoryClient inventoryClient;
     private final KafkaTemplate<String, PaymentResponse> kafkaTemplate;
+    private final Optional<InventoryAvailabilityCache> availabilityCache;
+    private final StockCommitRelay stockCommitRelay;
 
+    /**
+     * Not transactional on purpose: every write is its own short transaction in the domain
+     * service, so no database connection is held while waiting for the inventory service.
+     */
     @CircuitBreaker(name = "inventory", fallbackMethod = "processPaymentWithoutInventoryCheck")
-    @Transactional
     public PaymentResponse processPayment(PaymentRequest request) {
         String correlationId = LoggingUtils.setCorrelationId();
         log.info("Processing payment for order: {}", request.orderId());
         String authToken = extractAuthToken();
 
-        // 1. Validate and lock stock in a single operation
+        // 1. Validate and lock stock in a single operation, unless the product is known to be sold out.
+        // The idempotency key is derived from the order, so a resent payment for the same order
+        // gets the first lock back instead of reserving again.
         StockValidationRequest validationRequest = StockValidationRequest.builder()
                 .productCode(request.productCode())
                 .quantity(request.quantity())
+                .idempotencyKey(request.orderId() + ":" + request.productCode())
                 .build();
 
-        StockValidationResponse validationResponse = inventoryClient.validateStock(validationRequest, authToken);
+        StockValidationResponse validationResponse = availabilityCache
+                .filter(cache -> cache.isKnownSoldOut(request.productCode()))
+                .map(cache -> {
+                    log.info("Product {} is known to be sold out, skipping stock validation", request.productCode());
+                    cache.recordAvoidedCall();
+                    return StockValidationResponse.builder()
+                            .productCode(request.productCode())
+                            .inStock(false)
+                            .locked(false)
+                            .requestedQuantity(request.quantity())
+                            .availableQuantity(0)
+                            .build();
+                })
+                .orElseGet(() -> inventoryClient.validateStock(validationRequest, authToken));
+
+        if (validationResponse.inStock()) {
+            availabilityCache.ifPresent(cache -> cache.markInStock(request.productCode()));
+        }
 
         // Create payment entity
         Payment payment = Payment.builder()
@@ -98,6 +124,9 @@ public class PaymentApplicationService {
             payment.setStockLockReferenceId(validationResponse.lockReferenceId());
             payment = paymentDomainService.processPayment(payment);
 
+            // 3. Keep the locked stock as sold, a commit that cannot be sent now is retried in the background
+            stockCommitRelay.commit(payment, authToken);
+
             // Log successful transaction
             LoggingUtils.logTransaction(
                     payment.getTransactionId(),
@@ -107,14 +136,14 @@ public class PaymentApplicationService {
                     "Payment successful"
             );
 
-            // 3. Publish payment success event
+            // 4. Publish payment success event
             PaymentResponse response = mapToResponse(payment);
             kafkaTemplate.send(PAYMENT_TOPIC, response);
 
             LoggingUtils.clearCorrelationId();
             return response;
         } catch (Exception e) {
-            // 4. If payment processing fails, unlock stock
+            // 5. If payment processing fails, unlock stock
             log.error("Payment processing failed, unlocking stock: {}", validationResponse.lockReferenceId(), e);
             inventoryClient.unlockStock(validationResponse.lockReferenceId(), authToken);
 
@@ -0,0 +1,91 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.domain.model.Payment;
+import com.ecommerce.payment.domain.service.PaymentDomainService;
+import com.ecommerce.payment.infrastructure.client.InventoryClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tells the inventory service to keep the locked stock of successful payments as sold.
+ *
+ * <p>A successful payment is stored with {@code stockCommitted = false} before the commit is
+ * sent, so the payment table doubles as an outbox: the commit is attempted straight away, and
+ * payments the inventory service could not be told about are retried every
+ * {@code payment.inventory.commit.retry-interval-ms} once they are older than
+ * {@code payment.inventory.commit.retry-after}. A lock that is not committed before
+ * {@code inventory.reservation.ttl} passes is put back on sale by the inventory service.
+ */
+@Service
+@Slf4j
+public class StockCommitRelay {
+
+    private final PaymentDomainService paymentDomainService;
+    private final InventoryClient inventoryClient;
+    private final Duration retryAfter;
+    private final int batchSize;
+
+    public StockCommitRelay(
+            PaymentDomainService paymentDomainService,
+            InventoryClient inventoryClient,
+            @Value("${payment.inventory.commit.retry-after:10s}") Duration retryAfter,
+            @Value("${payment.inventory.commit.batch-size:100}") int batchSize) {
+        this.paymentDomainService = paymentDomainService;
+        this.inventoryClient = inventoryClient;
+        this.retryAfter = retryAfter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Commits the stock lock of a successful payment.
+     * Failures are logged and left to the retry, so the caller never sees an exception.
+     *
+     * @return true if the payment no longer needs to be committed
+     */
+    public boolean commit(Payment payment, String authToken) {
+        try {
+            return inventoryClient.commitStock(payment.getStockLockReferenceId(), authToken)
+                    .map(committed -> {
+                        if (!committed) {
+                            log.error("Stock lock {} of payment {} was already released before it could be committed",
+                                    payment.getStockLockReferenceId(), payment.getTransactionId());
+                        }
+                        paymentDomainService.markStockCommitted(payment);
+                        return true;
+                    })
+                    .orElseGet(() -> {
+                        log.warn("Could not commit stock lock {} of payment {}, it will be retried",
+                                payment.getStockLockReferenceId(), payment.getTransactionId());
+                        return false;
+                    });
+        } catch (Exception e) {
+            log.error("Error committing stock lock {} of payment {}: {}",
+                    payment.getStockLockReferenceId(), payment.getTransactionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retries the commits that did not reach the inventory service.
+     *
+     * @return The number of payments committed
+     */
+    @Scheduled(fixedDelayString = "${payment.inventory.commit.retry-interval-ms:5000}")
+    public int retryUncommittedStockLocks() {
+        List<Payment> uncommitted =
+                paymentDomainService.getUncommittedStockLocks(LocalDateTime.now().minus(retryAfter), batchSize);
+        int committed = (int) uncommitted.stream()
+                .filter(payment -> commit(payment, null))
+                .count();
+        if (!uncommitted.isEmpty()) {
+            log.info("Retried {} stock commits, {} succeeded", uncommitted.size(), committed);
+        }
+        return committed;
+    }
+}
@@ -53,6 +53,9 @@ public class Payment {
     // Reference to locked stock in inventory service
     private String stockLockReferenceId;
 
+    // Whether the inventory service was told to keep the locked stock as sold
+    private boolean stockCommitted;
+
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
 } 
\ No newline at end of file
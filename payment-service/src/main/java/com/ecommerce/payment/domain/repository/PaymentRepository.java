@@ -1,12 +1,34 @@
 package com.ecommerce.payment.domain.repository;
 
 import com.ecommerce.payment.domain.model.Payment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByTransactionId(String transactionId);
-}
\ No newline at end of file
+
+    /**
+     * Find successful payments whose stock lock was not committed in the inventory service yet.
+     *
+     * @param before   Only payments processed at or before this time are returned
+     * @param pageable The maximum number of payments to return
+     * @return The payments, oldest first
+     */
+    @Query("SELECT p FROM Payment p WHERE p.status = com.ecommerce.payment.domain.model.PaymentStatus.SUCCESS " +
+            "AND p.stockCommitted = false AND p.stockLockReferenceId IS NOT NULL AND p.timestamp <= :before " +
+            "ORDER BY p.id")
+    List<Payment> findUncommittedStockLocks(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.stockCommitted = true WHERE p.id = :id")
+    int markStockCommitted(@Param("id") Long id);
+}
@@ -2,9 +2,22 @@ package com.ecommerce.payment.domain.service;
 
 import com.ecommerce.payment.domain.model.Payment;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface PaymentDomainService {
 
     Payment processPayment(Payment payment);
 
     Payment getPaymentByTransactionId(String transactionId);
+
+    /**
+     * Successful payments processed at or before the given time whose stock lock is not committed yet
+     */
+    List<Payment> getUncommittedStockLocks(LocalDateTime before, int limit);
+
+    /**
+     * Record that the stock lock of a payment no longer needs to be committed
+     */
+    void markStockCommitted(Payment payment);
 }
\ No newline at end of file
@@ -5,10 +5,12 @@ import com.ecommerce.payment.domain.model.Payment;
 import com.ecommerce.payment.domain.repository.PaymentRepository;
 import com.ecommerce.payment.domain.service.PaymentDomainService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -38,4 +40,17 @@ public class PaymentDomainServiceImpl implements PaymentDomainService {
                 .orElseThrow(() -> new PaymentNotFoundException(transactionId, "Payment not found"));
     }
 
-}
\ No newline at end of file
+    // Not read-only, so the lookup is never routed to a replica that has not seen the commit yet
+    @Override
+    @Transactional
+    public List<Payment> getUncommittedStockLocks(LocalDateTime before, int limit) {
+        return paymentRepository.findUncommittedStockLocks(before, PageRequest.of(0, limit));
+    }
+
+    @Override
+    @Transactional
+    public void markStockCommitted(Payment payment) {
+        paymentRepository.markStockCommitted(payment.getId());
+        payment.setStockCommitted(true);
+    }
+}
@@ -1,8 +1,11 @@
 package com.ecommerce.payment.infrastructure.client;
 
 import com.ecommerce.payment.application.dto.StockValidationRequest;
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
 import com.ecommerce.payment.application.dto.StockValidationResponse;
 
+import java.util.Optional;
+
 public interface InventoryClient {
 
     /**
@@ -23,4 +26,24 @@ public interface InventoryClient {
      * @return true if unlocked successfully, false otherwise
      */
     boolean unlockStock(String lockReferenceId, String authToken);
-} 
\ No newline at end of file
+
+    /**
+     * Keeps previously locked stock as sold, so it is not released when the lock expires.
+     * Without a user token the call is made with the service's own token.
+     *
+     * @param lockReferenceId The lock reference ID
+     * @param authToken       The authentication token, may be null
+     * @return true if committed, false if the lock was already unlocked, committed or expired,
+     * or empty if the inventory service could not be reached
+     */
+    Optional<Boolean> commitStock(String lockReferenceId, String authToken);
+
+    /**
+     * Fetches the products that currently have no available stock
+     *
+     * @param version The version of the snapshot already held, or null
+     * @return The sold out products, a response marked not modified if they are still those of the given
+     * version, or empty if the inventory service could not be reached
+     */
+    Optional<SoldOutProductsResponse> getSoldOutProducts(String version);
+}
\ No newline at end of file
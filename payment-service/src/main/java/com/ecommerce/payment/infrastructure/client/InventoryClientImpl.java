@@ -1,18 +1,24 @@
 package com.ecommerce.payment.infrastructure.client;
 
 import com.ecommerce.payment.application.dto.StockValidationRequest;
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
 import com.ecommerce.payment.application.dto.StockValidationResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 @Component
 @Slf4j
 public class InventoryClientImpl implements InventoryClient {
 
     private final WebClient.Builder webClientBuilder;
+    private final ServiceTokenProvider serviceTokenProvider;
 
     @Value("${service.inventory.baseUrl:http://inventory-service}")
     private String baseUrl;
@@ -20,8 +26,9 @@ public class InventoryClientImpl implements InventoryClient {
     @Value("${service.inventory.apiPath:/api/inventory}")
     private String apiPath;
 
-    public InventoryClientImpl(WebClient.Builder webClientBuilder) {
+    public InventoryClientImpl(WebClient.Builder webClientBuilder, ServiceTokenProvider serviceTokenProvider) {
         this.webClientBuilder = webClientBuilder;
+        this.serviceTokenProvider = serviceTokenProvider;
     }
 
     @Override
@@ -81,4 +88,64 @@ public class InventoryClientImpl implements InventoryClient {
                 })
                 .block();
     }
-} 
\ No newline at end of file
+
+    @Override
+    public Optional<Boolean> commitStock(String lockReferenceId, String authToken) {
+        log.info("Committing stock with reference ID: {}", lockReferenceId);
+
+        String inventoryUrl = baseUrl + apiPath + "/commit/" + lockReferenceId;
+
+        WebClient.RequestHeadersSpec<?> requestSpec = webClientBuilder.build()
+                .post()
+                .uri(inventoryUrl);
+
+        // Retries run in the background, so they are made with the service's own token
+        Optional<String> bearerToken = Optional.ofNullable(authToken).or(serviceTokenProvider::getToken);
+        if (bearerToken.isPresent()) {
+            requestSpec = requestSpec.header("Authorization", "Bearer " + bearerToken.get());
+        }
+
+        return requestSpec
+                .retrieve()
+                .bodyToMono(Boolean.class)
+                .onErrorResume(error -> {
+                    log.error("Error committing stock: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .blockOptional();
+    }
+
+    @Override
+    public Optional<SoldOutProductsResponse> getSoldOutProducts(String version) {
+        String inventoryUrl = baseUrl + apiPath + "/availability/sold-out";
+
+        // Polled in the background, so the call is made with the service's own token instead of a user token
+        WebClient.RequestHeadersSpec<?> requestSpec = webClientBuilder.build()
+                .get()
+                .uri(inventoryUrl);
+        Optional<String> serviceToken = serviceTokenProvider.getToken();
+        if (serviceToken.isPresent()) {
+            requestSpec = requestSpec.header("Authorization", "Bearer " + serviceToken.get());
+        }
+        // An unchanged snapshot is answered with a 304 and no body
+        if (version != null) {
+            requestSpec = requestSpec.header(HttpHeaders.IF_NONE_MATCH, version);
+        }
+
+        return requestSpec
+                .retrieve()
+                .toEntity(SoldOutProductsResponse.class)
+                .flatMap(entity -> entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? Mono.just(SoldOutProductsResponse.builder()
+                                .version(version)
+                                .notModified(true)
+                                .productCodes(null)
+                                .build())
+                        : Mono.justOrEmpty(entity.getBody()))
+                .onErrorResume(error -> {
+                    log.error("Error fetching sold out products: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .blockOptional();
+    }
+}
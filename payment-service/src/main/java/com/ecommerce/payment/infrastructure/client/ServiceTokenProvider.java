@@ -0,0 +1,190 @@
+package com.ecommerce.payment.infrastructure.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Access token of the payment service itself, for calls to the inventory service that are not
+ * made on behalf of a user, such as the sold out products poll.
+ *
+ * <p>The token is obtained with the OAuth2 client credentials grant from
+ * {@code service.inventory.auth.token-uri} and reused until {@code refresh-skew} before it
+ * expires. A single request is in flight at a time: the caller that starts it waits for it, the
+ * other callers keep using the current token while it is still valid and otherwise wait for the
+ * same request. After a failed request no new one is sent for {@code failure-backoff}, doubling
+ * with every further failure up to {@code max-failure-backoff}. Without a token URI no token is
+ * requested and the calls that need one are not made.
+ */
+@Component
+@Slf4j
+public class ServiceTokenProvider {
+
+    private record Token(String value, Instant expiresAt) {
+    }
+
+    private record Backoff(Instant retryAt, Duration delay) {
+    }
+
+    private final WebClient webClient;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final String audience;
+    private final Duration refreshSkew;
+    private final Duration failureBackoff;
+    private final Duration maxFailureBackoff;
+    private final Clock clock;
+    private final AtomicReference<Token> token = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Token>> inFlight = new AtomicReference<>();
+    private final AtomicReference<Backoff> backoff = new AtomicReference<>();
+
+    @Autowired
+    public ServiceTokenProvider(
+            @Value("${service.inventory.auth.token-uri:}") String tokenUri,
+            @Value("${service.inventory.auth.client-id:}") String clientId,
+            @Value("${service.inventory.auth.client-secret:}") String clientSecret,
+            @Value("${service.inventory.auth.audience:}") String audience,
+            @Value("${service.inventory.auth.refresh-skew:30s}") Duration refreshSkew,
+            @Value("${service.inventory.auth.failure-backoff:1s}") Duration failureBackoff,
+            @Value("${service.inventory.auth.max-failure-backoff:1m}") Duration maxFailureBackoff) {
+        // The token endpoint is outside the service registry, so the load balanced builder is not used
+        this(WebClient.create(), tokenUri, clientId, clientSecret, audience, refreshSkew,
+                failureBackoff, maxFailureBackoff, Clock.systemUTC());
+    }
+
+    ServiceTokenProvider(WebClient webClient, String tokenUri, String clientId, String clientSecret,
+                         String audience, Duration refreshSkew, Duration failureBackoff,
+                         Duration maxFailureBackoff, Clock clock) {
+        this.webClient = webClient;
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.audience = audience;
+        this.refreshSkew = refreshSkew;
+        this.failureBackoff = failureBackoff;
+        this.maxFailureBackoff = maxFailureBackoff;
+        this.clock = clock;
+        if (!isConfigured()) {
+            log.warn("No service token URI configured, the sold out products poll is disabled");
+        }
+    }
+
+    /**
+     * Returns true if a token URI is configured.
+     */
+    public boolean isConfigured() {
+        return tokenUri != null && !tokenUri.isBlank();
+    }
+
+    /**
+     * Returns a valid access token, requesting a new one when the current one is about to expire.
+     *
+     * @return The token, empty if no token URI is configured or the token endpoint failed
+     */
+    public Optional<String> getToken() {
+        if (!isConfigured()) {
+            return Optional.empty();
+        }
+
+        Instant now = clock.instant();
+        Token current = token.get();
+        if (current != null && now.isBefore(current.expiresAt().minus(refreshSkew))) {
+            return Optional.of(current.value());
+        }
+        Optional<String> stillValid = Optional.ofNullable(current)
+                .filter(t -> now.isBefore(t.expiresAt()))
+                .map(Token::value);
+
+        Backoff failed = backoff.get();
+        if (failed != null && now.isBefore(failed.retryAt())) {
+            return stillValid;
+        }
+
+        CompletableFuture<Token> request = new CompletableFuture<>();
+        CompletableFuture<Token> running = inFlight.compareAndExchange(null, request);
+        if (running != null) {
+            // Another caller is requesting a token, only wait for it if there is none to use meanwhile
+            return stillValid.isPresent() ? stillValid : Optional.ofNullable(running.join()).map(Token::value);
+        }
+
+        try {
+            // A request that finished since the token was read may already have replaced it
+            Token latest = token.get();
+            if (latest != current) {
+                request.complete(latest);
+                return Optional.of(latest.value());
+            }
+            Token requested = requestToken();
+            if (requested != null) {
+                token.set(requested);
+                backoff.set(null);
+            } else {
+                backoff.set(nextBackoff(failed));
+            }
+            request.complete(requested);
+            return requested != null ? Optional.of(requested.value()) : stillValid;
+        } finally {
+            // Completed here as well in case the request threw, so no waiting caller is left blocked
+            request.complete(null);
+            inFlight.set(null);
+        }
+    }
+
+    private Backoff nextBackoff(Backoff failed) {
+        Duration delay = failed == null ? failureBackoff : failed.delay().multipliedBy(2);
+        if (delay.compareTo(maxFailureBackoff) > 0) {
+            delay = maxFailureBackoff;
+        }
+        log.warn("Not requesting a service access token again for {}", delay);
+        return new Backoff(clock.instant().plus(delay), delay);
+    }
+
+    private Token requestToken() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+        if (audience != null && !audience.isBlank()) {
+            form.add("audience", audience);
+        }
+
+        Instant requestedAt = clock.instant();
+        try {
+            Map<String, Object> response = webClient.post()
+                    .uri(tokenUri)
+                    .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                    .body(BodyInserters.fromFormData(form))
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                    })
+                    .block();
+            if (response == null || !(response.get("access_token") instanceof String accessToken)) {
+                log.error("Token endpoint returned no access token");
+                return null;
+            }
+
+            // Counted from the request, so a slow response cannot make the token look fresher than it is
+            long expiresIn = response.get("expires_in") instanceof Number seconds ? seconds.longValue() : 0;
+            return new Token(accessToken, requestedAt.plusSeconds(expiresIn));
+        } catch (Exception e) {
+            log.error("Error requesting service access token: {}", e.getMessage());
+            return null;
+        }
+    }
+}
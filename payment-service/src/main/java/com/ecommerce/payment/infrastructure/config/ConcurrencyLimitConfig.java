@@ -0,0 +1,49 @@
+package com.ecommerce.payment.infrastructure.config;
+
+import com.ecommerce.payment.infrastructure.limiter.AdaptiveConcurrencyLimiter;
+import com.ecommerce.payment.infrastructure.limiter.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Sheds payment requests above an adaptive concurrency limit instead of a fixed bulkhead size:
+ * the limit grows while payments stay fast and shrinks as soon as they slow down, and a
+ * payment over the limit gets a 503 with {@code Retry-After} straight away. Payment lookups are
+ * not limited.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "payment.concurrency-limit.payment", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter paymentConcurrencyLimiter(
+            @Value("${payment.concurrency-limit.payment.initial-limit:20}") int initialLimit,
+            @Value("${payment.concurrency-limit.payment.min-limit:4}") int minLimit,
+            @Value("${payment.concurrency-limit.payment.max-limit:200}") int maxLimit,
+            @Value("${payment.concurrency-limit.payment.latency-threshold:1s}") Duration latencyThreshold,
+            @Value("${payment.concurrency-limit.payment.backoff-ratio:0.9}") double backoffRatio,
+            MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("payment", initialLimit, minLimit, maxLimit,
+                latencyThreshold, backoffRatio, meterRegistry);
+    }
+
+    @Bean
+    public WebMvcConfigurer paymentConcurrencyLimit(
+            AdaptiveConcurrencyLimiter paymentConcurrencyLimiter,
+            @Value("${payment.concurrency-limit.payment.retry-after:1s}") Duration retryAfter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ConcurrencyLimitInterceptor(paymentConcurrencyLimiter, retryAfter))
+                        .addPathPatterns("/api/payment");
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.payment.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables background jobs such as the refresh of the sold out products snapshot.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,13 +1,24 @@
 package com.ecommerce.payment.infrastructure.config.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+
 /**
  * Configuration for JWT decoding.
+ * Signing keys are served from a {@link PrefetchingJwkSource}, which loads the JWK set at startup
+ * and keeps it fresh in the background.
  */
 @Configuration
 public class JwtDecoderConfig {
@@ -15,13 +26,40 @@ public class JwtDecoderConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
     private String jwkSetUri;
 
+    @Value("${security.jwt.jwks.refresh-interval:5m}")
+    private Duration refreshInterval;
+
+    @Value("${security.jwt.jwks.min-refresh-interval:30s}")
+    private Duration minRefreshInterval;
+
+    @Value("${security.jwt.jwks.timeout:5s}")
+    private Duration timeout;
+
+    /**
+     * Creates the local copy of the JWK set and starts fetching it.
+     *
+     * @return a prefetching JWK source, closed with the application context
+     * @throws MalformedURLException if the JWK set URI is not a valid URL
+     */
+    @Bean
+    public PrefetchingJwkSource jwkSource() throws MalformedURLException {
+        return new PrefetchingJwkSource(URI.create(jwkSetUri).toURL(), refreshInterval, minRefreshInterval,
+                timeout, Clock.systemUTC());
+    }
+
     /**
      * Creates and configures the JWT decoder used to validate tokens.
+     * Claims are validated by the decoder's default validators, as with {@code NimbusJwtDecoder.withJwkSetUri}.
      *
+     * @param jwkSource the source of the signing keys
      * @return a configured JwtDecoder instance
      */
     @Bean
-    public JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+    public JwtDecoder jwtDecoder(PrefetchingJwkSource jwkSource) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+        return new NimbusJwtDecoder(jwtProcessor);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.payment.infrastructure.config.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWK source that serves keys from a local copy of the JWK set, so request threads never wait on
+ * the network for key material.
+ *
+ * <p>The set is fetched as soon as the source is created and then refreshed in the background every
+ * {@code refreshInterval}. If a refresh fails, the last fetched keys stay in use. A token signed
+ * with a key that is not in the local copy, for example right after a key rotation, triggers a
+ * refresh in the background. At most one refresh runs at a time, and forced refreshes are at least
+ * {@code minRefreshInterval} apart, so tokens with made-up key ids cannot flood the JWKS endpoint.
+ * The request that triggered the refresh is rejected; requests after the refresh find the new key.
+ */
+@Slf4j
+public class PrefetchingJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    /**
+     * Largest JWK set accepted, the same limit Nimbus applies to remote JWK sets.
+     */
+    private static final int SIZE_LIMIT_BYTES = 51_200;
+
+    private final URL jwkSetUrl;
+    private final Duration minRefreshInterval;
+    private final int timeoutMillis;
+    private final Clock clock;
+    private final ScheduledExecutorService refresher;
+
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile Instant lastRefreshStarted = Instant.MIN;
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+
+    public PrefetchingJwkSource(URL jwkSetUrl, Duration refreshInterval, Duration minRefreshInterval,
+                                Duration timeout, Clock clock) {
+        this.jwkSetUrl = jwkSetUrl;
+        this.minRefreshInterval = minRefreshInterval;
+        this.timeoutMillis = (int) timeout.toMillis();
+        this.clock = clock;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet);
+        if (keys.isEmpty()) {
+            refreshAsync();
+        }
+        return keys;
+    }
+
+    /**
+     * Starts a background refresh unless one is running or the last one started less than
+     * {@code minRefreshInterval} ago.
+     *
+     * @return The running refresh, or null if none was started
+     */
+    CompletableFuture<JWKSet> refreshAsync() {
+        CompletableFuture<JWKSet> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        if (lastRefreshStarted.plus(minRefreshInterval).isAfter(clock.instant())) {
+            return null;
+        }
+
+        CompletableFuture<JWKSet> refresh = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, refresh)) {
+            return inFlight.get();
+        }
+        log.info("Refreshing JWK set from {} for an unknown key", jwkSetUrl);
+        refresher.execute(() -> {
+            try {
+                refresh.complete(fetch());
+            } catch (Exception e) {
+                refresh.completeExceptionally(e);
+            } finally {
+                inFlight.set(null);
+            }
+        });
+        return refresh;
+    }
+
+    /**
+     * The keys currently in use.
+     */
+    JWKSet currentJwkSet() {
+        return jwkSet;
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+
+    private void refresh() {
+        try {
+            fetch();
+        } catch (Exception e) {
+            log.warn("Could not refresh JWK set from {}, keeping {} cached keys: {}",
+                    jwkSetUrl, jwkSet.getKeys().size(), e.getMessage());
+        }
+    }
+
+    private JWKSet fetch() throws Exception {
+        lastRefreshStarted = clock.instant();
+        JWKSet fetched = JWKSet.load(jwkSetUrl, timeoutMillis, timeoutMillis, SIZE_LIMIT_BYTES);
+        jwkSet = fetched;
+        log.debug("Loaded {} keys from {}", fetched.getKeys().size(), jwkSetUrl);
+        return fetched;
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.payment.infrastructure.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of verified bearer tokens and the authentication built from them.
+ *
+ * <p>Decoding a token verifies its RSA signature, which dominates the cost of an authenticated
+ * request, while clients reuse the same token for minutes. Entries are keyed by the SHA-256 digest
+ * of the token, so no token is kept in memory, and expire when the token does, or after
+ * {@code max-ttl} if that comes first. Tokens without an expiry are never cached, and neither are
+ * tokens that failed verification.
+ *
+ * <p>Hits, misses, evictions and the size are published as the {@code cache.*} metrics of the
+ * {@code jwt.verified} cache.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String CACHE_NAME = "jwt.verified";
+
+    /**
+     * An authentication and the expiry of the token it was built from.
+     */
+    public record VerifiedToken(AbstractAuthenticationToken authentication, Instant expiresAt) {
+    }
+
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(
+            MeterRegistry meterRegistry,
+            @Value("${security.jwt.cache.enabled:true}") boolean enabled,
+            @Value("${security.jwt.cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.jwt.cache.max-ttl:5m}") Duration maxTtl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached authentication of a token, or verifies the token with {@code verifier}
+     * and caches the result.
+     *
+     * @param token    The raw bearer token
+     * @param verifier Verifies the token, throws if it is invalid and may return null
+     * @return The authentication, or null if the verifier returned none
+     */
+    public AbstractAuthenticationToken get(String token, Function<String, VerifiedToken> verifier) {
+        VerifiedToken verified = enabled
+                ? cache.get(digest(token), key -> verifier.apply(token))
+                : verifier.apply(token);
+        return verified == null ? null : verified.authentication();
+    }
+
+    long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires an entry when its token expires, but after at most {@code maxTtl}.
+     */
+    private record UntilTokenExpiry(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0;
+            }
+            Duration untilExpiry = Duration.between(Instant.now(), value.expiresAt());
+            if (untilExpiry.isNegative()) {
+                return 0;
+            }
+            return Math.min(untilExpiry.toNanos(), maxTtl.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -3,11 +3,13 @@ package com.ecommerce.payment.infrastructure.exception;
 import com.ecommerce.payment.domain.exception.PaymentNotFoundException;
 import com.ecommerce.payment.domain.exception.PaymentProcessingException;
 import com.ecommerce.payment.domain.exception.model.ErrorResponse;
+import com.ecommerce.payment.infrastructure.limiter.ConcurrencyLimitExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.KafkaException;
@@ -329,6 +331,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle ConcurrencyLimitExceededException. Shed requests are counted in metrics and
+     * logged at debug level only, since they come in bursts exactly when the service is busy.
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceededException(
+            ConcurrencyLimitExceededException ex, HttpServletRequest request) {
+        log.debug("Request shed: {}", ex.getMessage());
+
+        ErrorResponse response = ErrorResponse.builder()
+                .errorCode(SERVICE_UNAVAILABLE)
+                .message("Too many concurrent requests, retry later")
+                .detailedMessage(ex.getMessage())
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .path(request.getRequestURI())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response);
+    }
+
     /**
      * Handle all other exceptions not explicitly handled.
      */
@@ -0,0 +1,152 @@
+package com.ecommerce.payment.infrastructure.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limit of concurrently processed requests that adapts to the observed latency with additive
+ * increase and multiplicative decrease (AIMD).
+ *
+ * <p>A request that completes within the latency threshold while at least half of the limit was
+ * in use raises the limit by {@code 1 / limit}, so the limit grows by up to one per limit-sized
+ * window of requests. A request slower than the threshold, or one that failed with a server error,
+ * multiplies the limit by the backoff ratio. Only requests admitted since the last decrease can
+ * decrease it again, so a burst of slow requests that were all in flight together lowers the
+ * limit once rather than once per request. A request over the limit is rejected straight away
+ * instead of queued.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoTime;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter rejected;
+    private volatile double limit;
+    private volatile long epoch;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio, MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               Duration latencyThreshold, double backoffRatio, MeterRegistry meterRegistry,
+                               LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings for " + name
+                    + ": min-limit=" + minLimit + ", max-limit=" + maxLimit + ", backoff-ratio=" + backoffRatio);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoTime = nanoTime;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.rejected = Counter.builder("payment.concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("payment.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("payment.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Admits a request if fewer requests than the limit are in flight. The returned permit must
+     * be released once the request completes.
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoTime.getAsLong(), current + 1, epoch));
+            }
+        }
+    }
+
+    private void onRelease(Permit permit, boolean failed) {
+        inFlight.decrementAndGet();
+        boolean slow = nanoTime.getAsLong() - permit.startNanos > latencyThresholdNanos;
+        lock.lock();
+        try {
+            if (slow || failed) {
+                if (permit.epoch == epoch) {
+                    double previous = limit;
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    epoch++;
+                    log.debug("Concurrency limit {} lowered from {} to {}: slow={}, failed={}",
+                            name, (int) previous, getLimit(), slow, failed);
+                }
+            } else if (permit.inFlightAtStart * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An admitted request. Releasing it more than once has no effect.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final long epoch;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, int inFlightAtStart, long epoch) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+            this.epoch = epoch;
+        }
+
+        /**
+         * Returns the permit and adapts the limit to the latency and outcome of the request.
+         *
+         * @param failed true if the request failed in a way that signals overload, such as a server error
+         */
+        public void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(this, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.payment.infrastructure.limiter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request is shed because its concurrency limit is reached.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(String limiter, int limit, Duration retryAfter) {
+        super("Concurrency limit " + limiter + " of " + limit + " requests reached");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
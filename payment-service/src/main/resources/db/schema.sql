@@ -1,6 +1,7 @@
 -- Payment Service Database Schema
 
 -- Drop tables if they exist
+DROP TABLE IF EXISTS replication_heartbeat;
 DROP TABLE IF EXISTS payment;
 
 -- Create payment table
@@ -16,6 +17,8 @@ CREATE TABLE IF NOT EXISTS payment (
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     failure_reason VARCHAR(255),
     stock_lock_reference_id VARCHAR(100),
+    -- Set once the inventory service was told to keep the locked stock as sold
+    stock_committed BOOLEAN NOT NULL DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -23,5 +26,12 @@ CREATE TABLE IF NOT EXISTS payment (
     INDEX idx_order_id (order_id),
     INDEX idx_product_code (product_code),
     INDEX idx_status (status),
-    INDEX idx_stock_lock_reference_id (stock_lock_reference_id)
-); 
\ No newline at end of file
+    INDEX idx_stock_lock_reference_id (stock_lock_reference_id),
+    INDEX idx_status_stock_committed (status, stock_committed)
+);
+
+-- Create replication heartbeat table, written on the primary and read on the replica to measure replication lag
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
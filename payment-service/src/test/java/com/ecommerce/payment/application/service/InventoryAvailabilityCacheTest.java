@@ -0,0 +1,162 @@
+package com.ecommerce.payment.application.service;
+
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
+import com.ecommerce.payment.infrastructure.client.InventoryClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryAvailabilityCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private InventoryClient inventoryClient;
+
+    @Mock
+    private Clock clock;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private InventoryAvailabilityCache availabilityCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        availabilityCache = new InventoryAvailabilityCache(inventoryClient, meterRegistry, Duration.ofSeconds(5), clock);
+    }
+
+    // Helper method to create test sold out snapshots
+    private Optional<SoldOutProductsResponse> createSoldOutResponse(String... productCodes) {
+        return Optional.of(SoldOutProductsResponse.builder()
+                .asOf(NOW)
+                .productCodes(List.of(productCodes))
+                .version("\"v-" + productCodes.length + "\"")
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should report products from a fresh snapshot as sold out")
+    void freshSnapshotIsUsed() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(1));
+        when(inventoryClient.getSoldOutProducts(any())).thenReturn(createSoldOutResponse("PROD-001"));
+
+        // Act
+        availabilityCache.refresh();
+
+        // Assert
+        assertTrue(availabilityCache.isKnownSoldOut("PROD-001"));
+        assertFalse(availabilityCache.isKnownSoldOut("PROD-002"));
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot older than the maximum staleness")
+    void staleSnapshotIsIgnored() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(6));
+        when(inventoryClient.getSoldOutProducts(any())).thenReturn(createSoldOutResponse("PROD-001"));
+
+        // Act
+        availabilityCache.refresh();
+
+        // Assert
+        assertFalse(availabilityCache.isKnownSoldOut("PROD-001"));
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when the inventory service cannot be reached")
+    void failedRefreshKeepsSnapshotUntilStale() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(2), NOW.plusSeconds(3), NOW.plusSeconds(3), NOW.plusSeconds(6));
+        when(inventoryClient.getSoldOutProducts(any())).thenReturn(createSoldOutResponse("PROD-001"), Optional.empty());
+
+        // Act
+        availabilityCache.refresh();
+        availabilityCache.refresh();
+
+        // Assert
+        assertTrue(availabilityCache.isKnownSoldOut("PROD-001"));
+        assertFalse(availabilityCache.isKnownSoldOut("PROD-001"));
+    }
+
+    @Test
+    @DisplayName("Should send the version held and renew the snapshot when it was not modified")
+    void notModifiedRenewsSnapshot() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(4), NOW.plusSeconds(8));
+        when(inventoryClient.getSoldOutProducts(null)).thenReturn(createSoldOutResponse("PROD-001"));
+        when(inventoryClient.getSoldOutProducts("\"v-1\"")).thenReturn(Optional.of(SoldOutProductsResponse.builder()
+                .version("\"v-1\"")
+                .notModified(true)
+                .productCodes(null)
+                .build()));
+
+        // Act
+        availabilityCache.refresh();
+        availabilityCache.refresh();
+
+        // Assert
+        assertTrue(availabilityCache.isKnownSoldOut("PROD-001"));
+        verify(inventoryClient).getSoldOutProducts(null);
+        verify(inventoryClient).getSoldOutProducts("\"v-1\"");
+    }
+
+    @Test
+    @DisplayName("Should fetch the full list again after a product was dropped from the snapshot")
+    void markInStockDropsVersion() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        when(inventoryClient.getSoldOutProducts(any())).thenReturn(createSoldOutResponse("PROD-001", "PROD-002"));
+        availabilityCache.refresh();
+
+        // Act
+        availabilityCache.markInStock("PROD-001");
+        availabilityCache.refresh();
+
+        // Assert
+        verify(inventoryClient, times(2)).getSoldOutProducts(null);
+    }
+
+    @Test
+    @DisplayName("Should drop a product once a validation finds it in stock")
+    void markInStockDropsProduct() {
+        // Arrange
+        when(clock.instant()).thenReturn(NOW);
+        when(inventoryClient.getSoldOutProducts(any())).thenReturn(createSoldOutResponse("PROD-001", "PROD-002"));
+        availabilityCache.refresh();
+
+        // Act
+        availabilityCache.markInStock("PROD-001");
+
+        // Assert
+        assertFalse(availabilityCache.isKnownSoldOut("PROD-001"));
+        assertTrue(availabilityCache.isKnownSoldOut("PROD-002"));
+    }
+
+    @Test
+    @DisplayName("Should count validations answered from the snapshot")
+    void avoidedCallsAreCounted() {
+        // Act
+        availabilityCache.recordAvoidedCall();
+        availabilityCache.recordAvoidedCall();
+
+        // Assert
+        assertEquals(2.0, meterRegistry.get("payment.inventory.calls.avoided").counter().count());
+    }
+}
@@ -0,0 +1,200 @@
+package com.ecommerce.payment.benchmark;
+
+import com.ecommerce.payment.application.dto.PaymentRequest;
+import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.dto.StockValidationRequest;
+import com.ecommerce.payment.application.dto.StockValidationResponse;
+import com.ecommerce.payment.application.service.PaymentApplicationService;
+import com.ecommerce.payment.config.TestConfig;
+import com.ecommerce.payment.domain.model.PaymentMode;
+import com.ecommerce.payment.domain.model.PaymentStatus;
+import com.ecommerce.payment.infrastructure.client.InventoryClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the platform-thread and the virtual-thread execution modes with a fixed number of
+ * payments in flight at once. The inventory service is replaced by a stub that blocks for
+ * {@code -Dbenchmark.inventory.latency-ms}, like the blocking {@code WebClient} call does.
+ *
+ * <p>The platform mode runs the payments on a pool sized like the default Tomcat worker pool
+ * ({@code -Dbenchmark.platform.threads}); the virtual mode starts one virtual thread per payment.
+ * Run with {@code mvn test -Pbenchmark -Dbenchmark.payments=2000}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration",
+        "spring.threads.virtual.enabled=true",
+        "spring.jpa.show-sql=false",
+        "payment.inventory.availability.enabled=false",
+        "logging.level.com.ecommerce.payment=WARN"
+})
+@Import(TestConfig.class)
+@Tag("benchmark")
+@Slf4j
+class PaymentConcurrencyBenchmarkTest {
+
+    private final int payments = Integer.getInteger("benchmark.payments", 2000);
+    private final int warmUpRounds = Integer.getInteger("benchmark.warm-up.rounds", 3);
+    private final int platformThreads = Integer.getInteger("benchmark.platform.threads", 200);
+    private final long inventoryLatencyMillis = Long.getLong("benchmark.inventory.latency-ms", 50);
+
+    @Autowired
+    private PaymentApplicationService paymentApplicationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private InventoryClient inventoryClient;
+
+    @MockBean
+    private KafkaTemplate<String, PaymentResponse> kafkaTemplate;
+
+    @BeforeEach
+    void setUp() {
+        CompletableFuture<SendResult<String, PaymentResponse>> sent =
+                CompletableFuture.completedFuture(Mockito.mock(SendResult.class));
+        when(kafkaTemplate.send(anyString(), any(PaymentResponse.class))).thenReturn(sent);
+
+        doAnswer(invocation -> {
+            StockValidationRequest request = invocation.getArgument(0);
+            Thread.sleep(inventoryLatencyMillis);
+            return StockValidationResponse.builder()
+                    .productCode(request.productCode())
+                    .inStock(true)
+                    .locked(true)
+                    .lockReferenceId("bench-lock")
+                    .requestedQuantity(request.quantity())
+                    .availableQuantity(Integer.MAX_VALUE)
+                    .build();
+        }).when(inventoryClient).validateStock(any(StockValidationRequest.class), any());
+    }
+
+    @Test
+    @DisplayName("Payments on a bounded pool of platform threads")
+    void platformThreads() throws Exception {
+        Result result = run(() -> Executors.newFixedThreadPool(platformThreads));
+        report("platform(" + platformThreads + ")", result);
+
+        assertAlmostAllSucceeded(result);
+    }
+
+    @Test
+    @DisplayName("Payments on one virtual thread each")
+    void virtualThreads() throws Exception {
+        Result result = run(Executors::newVirtualThreadPerTaskExecutor);
+        report("virtual", result);
+
+        assertAlmostAllSucceeded(result);
+    }
+
+    private Result run(Supplier<ExecutorService> executors) throws Exception {
+        // Warm up the JIT, the connection pool and the proxies before measuring
+        for (int round = 0; round < warmUpRounds; round++) {
+            run(executors.get(), "warm-up-" + round + "-");
+        }
+        return run(executors.get(), "bench-order-");
+    }
+
+    private Result run(ExecutorService executor, String orderIdPrefix) throws Exception {
+        double pinnedBefore = pinnedCount();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> latencies = new ArrayList<>(payments);
+        for (int i = 0; i < payments; i++) {
+            PaymentRequest request = createTestPaymentRequest(orderIdPrefix + i);
+            latencies.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                try {
+                    PaymentResponse response = paymentApplicationService.processPayment(request);
+                    return response.status() == PaymentStatus.SUCCESS ? System.nanoTime() - begin : -1L;
+                } catch (RuntimeException e) {
+                    return -1L;
+                }
+            }));
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        long[] nanos = new long[payments];
+        int succeeded = 0;
+        for (int i = 0; i < payments; i++) {
+            nanos[i] = latencies.get(i).get(120, TimeUnit.SECONDS);
+            if (nanos[i] >= 0) {
+                succeeded++;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+
+        Arrays.sort(nanos);
+        long p99Nanos = nanos[Math.max(0, (int) Math.ceil(payments * 0.99) - 1)];
+        return new Result(succeeded, elapsedNanos, p99Nanos, (long) (pinnedCount() - pinnedBefore));
+    }
+
+    private void assertAlmostAllSucceeded(Result result) {
+        // The embedded H2 database occasionally rejects concurrent identity inserts, MariaDB does not
+        assertTrue(payments - result.succeeded() <= payments / 100,
+                "Too many failed payments: " + (payments - result.succeeded()));
+    }
+
+    private double pinnedCount() {
+        var counter = meterRegistry.find("jvm.threads.virtual.pinned").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void report(String mode, Result result) {
+        log.info("BENCHMARK | mode={} | in-flight={} | inventory-latency-ms={} | failed={} | payments/sec={} | p99-ms={} | pinned={}",
+                mode, payments, inventoryLatencyMillis, payments - result.succeeded(),
+                String.format("%.0f", result.succeeded() / (result.elapsedNanos() / 1_000_000_000.0)),
+                String.format("%.1f", result.p99Nanos() / 1_000_000.0), result.pinned());
+    }
+
+    // Helper method to create test payment request
+    private PaymentRequest createTestPaymentRequest(String orderId) {
+        return PaymentRequest.builder()
+                .orderId(orderId)
+                .productCode("PROD-001")
+                .quantity(1)
+                .amount(new BigDecimal("10.00"))
+                .paymentMode(PaymentMode.CREDIT_CARD)
+                .build();
+    }
+
+    private record Result(int succeeded, long elapsedNanos, long p99Nanos, long pinned) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.payment.infrastructure.client;
+
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the inventory client against a local stub of the inventory service.
+ */
+class InventoryClientImplTest {
+
+    private MockWebServer inventoryServer;
+    private InventoryClientImpl inventoryClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        inventoryServer = new MockWebServer();
+        inventoryServer.start();
+        ServiceTokenProvider serviceTokenProvider = mock(ServiceTokenProvider.class);
+        when(serviceTokenProvider.getToken()).thenReturn(Optional.of("service-token"));
+        inventoryClient = new InventoryClientImpl(WebClient.builder(), serviceTokenProvider);
+        ReflectionTestUtils.setField(inventoryClient, "baseUrl", inventoryServer.url("/").toString().replaceAll("/$", ""));
+        ReflectionTestUtils.setField(inventoryClient, "apiPath", "/api/inventory");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        inventoryServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should send the version held and report an unchanged sold out list as not modified")
+    void soldOutProductsNotModified() throws InterruptedException {
+        // Arrange
+        inventoryServer.enqueue(new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setHeader("ETag", "\"v1\"")
+                .setBody("{\"asOf\":\"2024-01-01T00:00:00Z\",\"productCodes\":[\"PROD-001\"],\"version\":\"\\\"v1\\\"\"}"));
+        inventoryServer.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        // Act
+        Optional<SoldOutProductsResponse> full = inventoryClient.getSoldOutProducts(null);
+        Optional<SoldOutProductsResponse> unchanged = inventoryClient.getSoldOutProducts("\"v1\"");
+
+        // Assert
+        assertEquals(List.of("PROD-001"), full.orElseThrow().productCodes());
+        assertEquals("\"v1\"", full.orElseThrow().version());
+        assertTrue(unchanged.orElseThrow().notModified());
+        RecordedRequest first = inventoryServer.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest second = inventoryServer.takeRequest(1, TimeUnit.SECONDS);
+        assertNull(first.getHeader("If-None-Match"));
+        assertEquals("\"v1\"", second.getHeader("If-None-Match"));
+        assertEquals("Bearer service-token", second.getHeader("Authorization"));
+    }
+}
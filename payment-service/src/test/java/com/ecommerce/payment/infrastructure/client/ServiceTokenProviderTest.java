@@ -0,0 +1,151 @@
+package com.ecommerce.payment.infrastructure.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the client credentials token provider against a local token endpoint stub.
+ */
+class ServiceTokenProviderTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private MockWebServer tokenServer;
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tokenServer = new MockWebServer();
+        tokenServer.start();
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tokenServer.shutdown();
+    }
+
+    // Helper method to create a provider for the stub token endpoint
+    private ServiceTokenProvider createTestProvider(String tokenUri) {
+        return new ServiceTokenProvider(WebClient.create(), tokenUri, "payment-service", "secret",
+                "inventory-api", Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofSeconds(3), clock);
+    }
+
+    // Helper method to create a token endpoint response
+    private MockResponse tokenResponse(String accessToken, long expiresIn) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"access_token\":\"" + accessToken + "\",\"token_type\":\"Bearer\",\"expires_in\":" + expiresIn + "}");
+    }
+
+    @Test
+    @DisplayName("Should request a token with the client credentials grant and reuse it until it is about to expire")
+    void tokenIsReusedUntilExpiry() throws InterruptedException {
+        // Arrange
+        ServiceTokenProvider provider = createTestProvider(tokenServer.url("/oauth/token").toString());
+        tokenServer.enqueue(tokenResponse("token-1", 300));
+        tokenServer.enqueue(tokenResponse("token-2", 300));
+
+        // Act
+        Optional<String> first = provider.getToken();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(269));
+        Optional<String> reused = provider.getToken();
+        when(clock.instant()).thenReturn(NOW.plusSeconds(270));
+        Optional<String> refreshed = provider.getToken();
+
+        // Assert
+        assertEquals(Optional.of("token-1"), first);
+        assertEquals(Optional.of("token-1"), reused);
+        assertEquals(Optional.of("token-2"), refreshed);
+        assertEquals(2, tokenServer.getRequestCount());
+        RecordedRequest request = tokenServer.takeRequest(1, TimeUnit.SECONDS);
+        String body = request.getBody().readUtf8();
+        assertTrue(body.contains("grant_type=client_credentials"));
+        assertTrue(body.contains("client_id=payment-service"));
+        assertTrue(body.contains("audience=inventory-api"));
+    }
+
+    @Test
+    @DisplayName("Should return no token when the token endpoint fails or none is configured")
+    void noTokenWithoutEndpoint() {
+        // Arrange
+        ServiceTokenProvider failing = createTestProvider(tokenServer.url("/oauth/token").toString());
+        tokenServer.enqueue(new MockResponse().setResponseCode(500));
+
+        // Act & Assert
+        assertTrue(failing.getToken().isEmpty());
+        assertTrue(createTestProvider("").getToken().isEmpty());
+        assertFalse(createTestProvider("").isConfigured());
+        assertEquals(1, tokenServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should back off after failed token requests, doubling the delay up to the maximum")
+    void failedRequestsBackOff() {
+        // Arrange
+        ServiceTokenProvider provider = createTestProvider(tokenServer.url("/oauth/token").toString());
+        tokenServer.enqueue(new MockResponse().setResponseCode(500));
+        tokenServer.enqueue(new MockResponse().setResponseCode(500));
+        tokenServer.enqueue(tokenResponse("token-1", 300));
+
+        // Act & Assert
+        assertTrue(provider.getToken().isEmpty());
+        assertTrue(provider.getToken().isEmpty());
+        assertEquals(1, tokenServer.getRequestCount());
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(1));
+        assertTrue(provider.getToken().isEmpty());
+        when(clock.instant()).thenReturn(NOW.plusSeconds(2));
+        assertTrue(provider.getToken().isEmpty());
+        assertEquals(2, tokenServer.getRequestCount());
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(3));
+        assertEquals(Optional.of("token-1"), provider.getToken());
+        assertEquals(3, tokenServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should send a single token request for concurrent callers")
+    void concurrentCallersShareOneRequest() throws Exception {
+        // Arrange
+        ServiceTokenProvider provider = createTestProvider(tokenServer.url("/oauth/token").toString());
+        tokenServer.enqueue(tokenResponse("token-1", 300).setHeadersDelay(200, TimeUnit.MILLISECONDS));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Optional<String>>> tokens;
+        try {
+            tokens = executor.invokeAll(Collections.nCopies(8, provider::getToken));
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        for (Future<Optional<String>> token : tokens) {
+            assertEquals(Optional.of("token-1"), token.get());
+        }
+        assertEquals(1, tokenServer.getRequestCount());
+    }
+}
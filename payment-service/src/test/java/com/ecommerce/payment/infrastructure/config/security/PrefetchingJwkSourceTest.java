@@ -0,0 +1,173 @@
+package com.ecommerce.payment.infrastructure.config.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the prefetching JWK source against a local JWKS stub.
+ */
+class PrefetchingJwkSourceTest {
+
+    private static RSAKey currentKey;
+    private static RSAKey rotatedKey;
+
+    private MockWebServer jwksServer;
+    private PrefetchingJwkSource jwkSource;
+
+    @BeforeAll
+    static void generateKeys() throws JOSEException {
+        currentKey = new RSAKeyGenerator(2048).keyID("key-1").generate();
+        rotatedKey = new RSAKeyGenerator(2048).keyID("key-2").generate();
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jwksServer = new MockWebServer();
+        jwksServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (jwkSource != null) {
+            jwkSource.close();
+        }
+        jwksServer.shutdown();
+    }
+
+    // Helper method to create a JWKS response with the public parts of the given keys
+    private MockResponse jwksResponse(RSAKey... keys) {
+        JWKSet jwkSet = new JWKSet(Arrays.<JWK>asList(keys));
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(jwkSet.toString(true));
+    }
+
+    // Helper method to create a token signed with the given key
+    private String createTestToken(RSAKey key) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .subject("user-1")
+                        .expirationTime(Date.from(Instant.now().plusSeconds(300)))
+                        .build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private JwtDecoder startDecoder(Duration minRefreshInterval) throws InterruptedException {
+        jwkSource = new PrefetchingJwkSource(jwksServer.url("/jwks.json").url(), Duration.ofHours(1),
+                minRefreshInterval, Duration.ofSeconds(2), Clock.systemUTC());
+        assertNotNull(jwksServer.takeRequest(5, TimeUnit.SECONDS), "JWK set was not prefetched");
+        awaitKeys(1);
+        return new JwtDecoderConfig().jwtDecoder(jwkSource);
+    }
+
+    private void awaitKeys(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (jwkSource.currentJwkSet().getKeys().size() != count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, jwkSource.currentJwkSet().getKeys().size());
+    }
+
+    @Test
+    @DisplayName("Should fetch the JWK set at startup and decode tokens without further requests")
+    void prefetchesJwkSetAtStartup() throws Exception {
+        // Arrange
+        jwksServer.enqueue(jwksResponse(currentKey));
+        JwtDecoder decoder = startDecoder(Duration.ofSeconds(30));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertEquals("user-1", decoder.decode(createTestToken(currentKey)).getSubject());
+        }
+
+        // Assert
+        assertEquals(1, jwksServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should refresh once in the background for an unknown key id and then accept the rotated key")
+    void unknownKeyIdTriggersSingleFlightRefresh() throws Exception {
+        // Arrange
+        jwksServer.enqueue(jwksResponse(currentKey));
+        JwtDecoder decoder = startDecoder(Duration.ZERO);
+        jwksServer.enqueue(jwksResponse(currentKey, rotatedKey).setBodyDelay(1, TimeUnit.SECONDS));
+        String rotatedToken = createTestToken(rotatedKey);
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            assertThrows(JwtException.class, () -> decoder.decode(rotatedToken));
+        }
+        long rejectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        awaitKeys(2);
+
+        // Assert
+        assertTrue(rejectMillis < 1000, "Request threads waited on the JWKS endpoint for " + rejectMillis + " ms");
+        assertEquals("user-1", decoder.decode(rotatedToken).getSubject());
+        assertEquals(2, jwksServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should not refresh again for unknown key ids within the minimum refresh interval")
+    void unknownKeyIdRefreshesAreRateLimited() throws Exception {
+        // Arrange
+        jwksServer.enqueue(jwksResponse(currentKey));
+        JwtDecoder decoder = startDecoder(Duration.ofMinutes(1));
+        String rotatedToken = createTestToken(rotatedKey);
+
+        // Act
+        assertThrows(JwtException.class, () -> decoder.decode(rotatedToken));
+        CompletableFuture<JWKSet> refresh = jwkSource.refreshAsync();
+
+        // Assert
+        assertNull(refresh);
+        assertEquals(1, jwksServer.getRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached keys when a refresh fails")
+    void failedRefreshKeepsCachedKeys() throws Exception {
+        // Arrange
+        jwksServer.enqueue(jwksResponse(currentKey));
+        JwtDecoder decoder = startDecoder(Duration.ZERO);
+        jwksServer.enqueue(new MockResponse().setResponseCode(503));
+
+        // Act
+        CompletableFuture<JWKSet> refresh = jwkSource.refreshAsync();
+
+        // Assert
+        assertNotNull(refresh);
+        assertThrows(Exception.class, () -> refresh.get(5, TimeUnit.SECONDS));
+        assertEquals("user-1", decoder.decode(createTestToken(currentKey)).getSubject());
+        assertEquals(2, jwksServer.getRequestCount());
+    }
+}
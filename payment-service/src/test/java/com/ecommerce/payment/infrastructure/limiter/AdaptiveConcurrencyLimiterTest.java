@@ -0,0 +1,146 @@
+package com.ecommerce.payment.infrastructure.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration LATENCY_THRESHOLD = Duration.ofMillis(100);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    // Helper method to create a test limiter on the controlled clock
+    private AdaptiveConcurrencyLimiter createTestLimiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("payment", initialLimit, 2, 50, LATENCY_THRESHOLD, 0.5,
+                meterRegistry, nanoTime::get);
+    }
+
+    // Helper method to admit as many requests as possible
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire(); permit.isPresent();
+             permit = limiter.tryAcquire()) {
+            permits.add(permit.get());
+        }
+        return permits;
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("limiter", "payment").gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the limit straight away and count them")
+    void rejectsOverLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(4);
+
+        // Act
+        List<AdaptiveConcurrencyLimiter.Permit> permits = acquireAll(limiter);
+        permits.get(0).release(false);
+        Optional<AdaptiveConcurrencyLimiter.Permit> afterRelease = limiter.tryAcquire();
+
+        // Assert
+        assertEquals(4, permits.size());
+        assertTrue(afterRelease.isPresent());
+        assertEquals(4, gauge("payment.concurrency.inflight"));
+        assertEquals(1, meterRegistry.get("payment.concurrency.rejected").tag("limiter", "payment").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should grow the limit by up to one per window of fast requests while it is in use")
+    void growsWhileFast() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(4);
+
+        // Act
+        for (int window = 0; window < 10; window++) {
+            acquireAll(limiter).forEach(permit -> permit.release(false));
+        }
+
+        // Assert
+        assertEquals(9, limiter.getLimit());
+        assertEquals(9, gauge("payment.concurrency.limit"));
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while most of it is unused")
+    void doesNotGrowWhenIdle() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(10);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire().orElseThrow().release(false);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should lower the limit once for a burst of slow requests that were in flight together")
+    void slowBurstLowersLimitOnce() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(16);
+        List<AdaptiveConcurrencyLimiter.Permit> burst = acquireAll(limiter);
+        nanoTime.addAndGet(LATENCY_THRESHOLD.toNanos() + 1);
+
+        // Act
+        burst.forEach(permit -> permit.release(false));
+        int afterBurst = limiter.getLimit();
+        AdaptiveConcurrencyLimiter.Permit next = limiter.tryAcquire().orElseThrow();
+        nanoTime.addAndGet(LATENCY_THRESHOLD.toNanos() + 1);
+        next.release(false);
+
+        // Assert
+        assertEquals(8, afterBurst);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should lower the limit on a failed request but never below the minimum")
+    void failuresLowerLimitToMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(16);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire().orElseThrow().release(true);
+        }
+
+        // Assert
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should ignore a permit released twice")
+    void doubleReleaseIsIgnored() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = createTestLimiter(4);
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire().orElseThrow();
+
+        // Act
+        permit.release(false);
+        permit.release(false);
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+    }
+}
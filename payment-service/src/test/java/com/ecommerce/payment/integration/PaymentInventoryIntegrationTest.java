@@ -2,9 +2,12 @@ package com.ecommerce.payment.integration;
 
 import com.ecommerce.payment.application.dto.PaymentRequest;
 import com.ecommerce.payment.application.dto.PaymentResponse;
+import com.ecommerce.payment.application.dto.SoldOutProductsResponse;
 import com.ecommerce.payment.application.dto.StockValidationRequest;
 import com.ecommerce.payment.application.dto.StockValidationResponse;
+import com.ecommerce.payment.application.service.InventoryAvailabilityCache;
 import com.ecommerce.payment.application.service.PaymentApplicationService;
+import com.ecommerce.payment.application.service.StockCommitRelay;
 import com.ecommerce.payment.config.TestConfig;
 import com.ecommerce.payment.domain.model.PaymentMode;
 import com.ecommerce.payment.domain.model.PaymentStatus;
@@ -28,6 +31,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,7 +45,10 @@ import static org.mockito.Mockito.*;
 @TestPropertySource(properties = {
         "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration",
         "eureka.client.enabled=false",
-        "spring.cloud.config.enabled=false"
+        "spring.cloud.config.enabled=false",
+        "payment.inventory.commit.retry-after=0s",
+        "payment.inventory.commit.retry-interval-ms=3600000",
+        "service.inventory.auth.token-uri=http://localhost/oauth/token"
 })
 @Import(TestConfig.class)
 @Tag("integration")
@@ -48,6 +57,12 @@ class PaymentInventoryIntegrationTest {
     @Autowired
     private PaymentApplicationService paymentApplicationService;
 
+    @Autowired
+    private InventoryAvailabilityCache availabilityCache;
+
+    @Autowired
+    private StockCommitRelay stockCommitRelay;
+
     @MockBean
     private InventoryClient inventoryClient;
 
@@ -103,6 +118,7 @@ class PaymentInventoryIntegrationTest {
         // Use doReturn() instead of when() to avoid issues with matchers
         doReturn(stockValidationResponse)
                 .when(inventoryClient).validateStock(any(StockValidationRequest.class), any());
+        doReturn(Optional.of(true)).when(inventoryClient).commitStock(eq("integration-lock-ref-123"), any());
 
         // Act
         PaymentResponse response = paymentApplicationService.processPayment(request);
@@ -113,11 +129,54 @@ class PaymentInventoryIntegrationTest {
         assertEquals(PaymentStatus.SUCCESS, response.status());
         assertEquals("integration-lock-ref-123", response.stockLockReferenceId());
         assertNotNull(response.transactionId());
+        verify(inventoryClient).validateStock(
+                argThat(validation -> "integration-order-123:PROD-001".equals(validation.idempotencyKey())), any());
+
+        // Verify the locked stock was kept as sold and not retried
+        verify(inventoryClient).commitStock(eq("integration-lock-ref-123"), any());
+        stockCommitRelay.retryUncommittedStockLocks();
+        verify(inventoryClient, times(1)).commitStock(eq("integration-lock-ref-123"), any());
 
         // Verify KafkaTemplate was called
         verify(kafkaTemplate).send(eq("payment-events"), any(PaymentResponse.class));
     }
 
+    @Test
+    @DisplayName("Stock commit should be retried in the background when inventory cannot be reached")
+    void stockCommitRetriedWhenInventoryUnreachable() {
+        // Arrange
+        PaymentRequest request = PaymentRequest.builder()
+                .orderId("integration-order-commit")
+                .productCode("PROD-001")
+                .quantity(1)
+                .amount(new BigDecimal("50.00"))
+                .paymentMode(PaymentMode.CREDIT_CARD)
+                .build();
+
+        doReturn(StockValidationResponse.builder()
+                .productCode("PROD-001")
+                .inStock(true)
+                .locked(true)
+                .lockReferenceId("integration-lock-ref-commit")
+                .requestedQuantity(1)
+                .availableQuantity(10)
+                .build())
+                .when(inventoryClient).validateStock(any(StockValidationRequest.class), any());
+        when(inventoryClient.commitStock(eq("integration-lock-ref-commit"), any()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(true));
+
+        // Act
+        PaymentResponse response = paymentApplicationService.processPayment(request);
+        stockCommitRelay.retryUncommittedStockLocks();
+        stockCommitRelay.retryUncommittedStockLocks();
+
+        // Assert
+        assertEquals(PaymentStatus.SUCCESS, response.status());
+        // Verify one retry succeeded and the committed payment was not retried again
+        verify(inventoryClient, times(2)).commitStock(eq("integration-lock-ref-commit"), any());
+    }
+
     @Test
     @DisplayName("Payment should fail when inventory reports insufficient stock")
     void paymentFailsWhenInsufficientStock() {
@@ -155,6 +214,36 @@ class PaymentInventoryIntegrationTest {
         verify(kafkaTemplate, never()).send(anyString(), any(PaymentResponse.class));
     }
 
+    @Test
+    @DisplayName("Payment should fail without a stock validation when the product is known to be sold out")
+    void paymentFailsFastWhenProductSoldOut() {
+        // Arrange
+        PaymentRequest request = PaymentRequest.builder()
+                .orderId("integration-order-789")
+                .productCode("PROD-003")
+                .quantity(1)
+                .amount(new BigDecimal("50.00"))
+                .paymentMode(PaymentMode.CREDIT_CARD)
+                .build();
+
+        doReturn(Optional.of(SoldOutProductsResponse.builder()
+                .asOf(Instant.now())
+                .productCodes(List.of("PROD-003"))
+                .build()))
+                .when(inventoryClient).getSoldOutProducts(any());
+        availabilityCache.refresh();
+
+        // Act
+        PaymentResponse response = paymentApplicationService.processPayment(request);
+
+        // Assert
+        assertNotNull(response);
+        assertEquals(PaymentStatus.FAILED, response.status());
+        assertTrue(response.failureReason().contains("Insufficient stock"));
+
+        // Verify the inventory service was not asked to validate stock
+        verify(inventoryClient, never()).validateStock(any(StockValidationRequest.class), any());
+    }
 
     @Test
     @DisplayName("Payment should be processed with fallback when inventory service is down")
@@ -1,6 +1,7 @@
 -- Payment Service Test Database Schema for H2
 
 -- Drop tables if they exist
+DROP TABLE IF EXISTS replication_heartbeat;
 DROP TABLE IF EXISTS payments;
 
 -- Create payment table with H2 compatible syntax
@@ -16,6 +17,8 @@ CREATE TABLE IF NOT EXISTS payments (
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     failure_reason VARCHAR(255),
     stock_lock_reference_id VARCHAR(100),
+    -- Set once the inventory service was told to keep the locked stock as sold
+    stock_committed BOOLEAN NOT NULL DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -25,4 +28,11 @@ CREATE INDEX IF NOT EXISTS idx_transaction_id ON payments(transaction_id);
 CREATE INDEX IF NOT EXISTS idx_order_id ON payments(order_id);
 CREATE INDEX IF NOT EXISTS idx_product_code ON payments(product_code);
 CREATE INDEX IF NOT EXISTS idx_status ON payments(status);
-CREATE INDEX IF NOT EXISTS idx_stock_lock_reference_id ON payments(stock_lock_reference_id); 
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_stock_lock_reference_id ON payments(stock_lock_reference_id);
+CREATE INDEX IF NOT EXISTS idx_status_stock_committed ON payments(status, stock_committed);
+
+-- Create replication heartbeat table, written on the primary and read on the replica to measure replication lag
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);